@@ -0,0 +1,98 @@
+package com.turmab.helpdesk.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.config.JacksonConfig;
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.Cliente;
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Benchmark JMH da conversão das entidades em DTOs e da serialização dos DTOs em JSON,
+ * com o {@code ObjectMapper} montado como na aplicação ({@link JacksonConfig}).
+ *
+ * @author Gustavo Barros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoBenchmark {
+
+	private Tecnico tecnico;
+	private Cliente cliente;
+	private Chamado chamado;
+
+	private TecnicoDTO tecnicoDTO;
+	private ClienteDTO clienteDTO;
+	private ChamadoDTO chamadoDTO;
+
+	private ObjectMapper mapper;
+
+	@Setup
+	public void prepara() {
+		tecnico = new Tecnico(1, "Valdir Cezar", "550.482.150-95", "valdir@mail.com", "$2a$10$hash");
+		cliente = new Cliente(2, "Linus Torvalds", "903.347.070-56", "torvalds@mail.com", "$2a$10$hash");
+		chamado = new Chamado(1, Prioridade.MEDIA, Status.ANDAMENTO, "Impressora travando",
+				"A impressora do segundo andar trava ao imprimir frente e verso.", tecnico, cliente);
+
+		tecnicoDTO = new TecnicoDTO(tecnico);
+		clienteDTO = new ClienteDTO(cliente);
+		chamadoDTO = new ChamadoDTO(chamado);
+
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		new JacksonConfig().filtroPadrao().customize(builder);
+		mapper = builder.build();
+	}
+
+	@Benchmark
+	public ChamadoDTO chamadoDTO() {
+		return new ChamadoDTO(chamado);
+	}
+
+	@Benchmark
+	public TecnicoDTO tecnicoDTO() {
+		return new TecnicoDTO(tecnico);
+	}
+
+	@Benchmark
+	public ClienteDTO clienteDTO() {
+		return new ClienteDTO(cliente);
+	}
+
+	@Benchmark
+	public byte[] chamadoJson() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(chamadoDTO);
+	}
+
+	@Benchmark
+	public byte[] tecnicoJson() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(tecnicoDTO);
+	}
+
+	@Benchmark
+	public byte[] clienteJson() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(clienteDTO);
+	}
+}
@@ -0,0 +1,65 @@
+package com.turmab.helpdesk.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.turmab.helpdesk.domain.enums.Perfil;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Benchmark JMH da conversão de códigos em enums ({@code toEnum}), para o primeiro e o
+ * último código de cada enum.
+ *
+ * @author Gustavo Barros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumBenchmark {
+
+	/** Posição do código: {@code primeiro} ou {@code ultimo}. */
+	@Param({ "primeiro", "ultimo" })
+	public String posicao;
+
+	private Integer status;
+	private Integer prioridade;
+	private Integer perfil;
+
+	@Setup
+	public void prepara() {
+		boolean primeiro = "primeiro".equals(posicao);
+		status = (primeiro ? Status.values()[0] : Status.values()[Status.values().length - 1]).getCodigo();
+		prioridade = (primeiro ? Prioridade.values()[0] : Prioridade.values()[Prioridade.values().length - 1]).getCodigo();
+		perfil = (primeiro ? Perfil.values()[0] : Perfil.values()[Perfil.values().length - 1]).getCodigo();
+	}
+
+	@Benchmark
+	public Status status() {
+		return Status.toEnum(status);
+	}
+
+	@Benchmark
+	public Prioridade prioridade() {
+		return Prioridade.toEnum(prioridade);
+	}
+
+	@Benchmark
+	public Perfil perfil() {
+		return Perfil.toEnum(perfil);
+	}
+}
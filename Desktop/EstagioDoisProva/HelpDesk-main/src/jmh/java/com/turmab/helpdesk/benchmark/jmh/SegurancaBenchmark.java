@@ -0,0 +1,90 @@
+package com.turmab.helpdesk.benchmark.jmh;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.enums.Perfil;
+import com.turmab.helpdesk.security.JWTUtil;
+import com.turmab.helpdesk.security.UserSS;
+
+/**
+ * Benchmark JMH do caminho de autenticação: perfis da pessoa, montagem do {@link UserSS},
+ * geração e validação do JWT e conferência da senha com BCrypt (custo padrão, 10).
+ *
+ * <p>A conferência do BCrypt leva dezenas de milissegundos; por isso o seu tempo é
+ * informado em milissegundos e os demais em nanossegundos.</p>
+ *
+ * @author Gustavo Barros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegurancaBenchmark {
+
+	private Tecnico tecnico;
+	private Set<Perfil> perfis;
+
+	private JWTUtil jwtUtil;
+	private String token;
+
+	private BCryptPasswordEncoder encoder;
+	private String hash;
+
+	@Setup
+	public void prepara() {
+		tecnico = new Tecnico(1, "Valdir Cezar", "550.482.150-95", "valdir@mail.com", "$2a$10$hash");
+		tecnico.addPerfil(Perfil.ADMIN);
+		perfis = tecnico.getPerfis();
+
+		jwtUtil = new JWTUtil();
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+		ReflectionTestUtils.setField(jwtUtil, "secret", "segredo-do-benchmark-com-tamanho-suficiente-para-hs512");
+		token = jwtUtil.generateToken(tecnico.getEmail());
+
+		encoder = new BCryptPasswordEncoder();
+		hash = encoder.encode("123");
+	}
+
+	@Benchmark
+	public Set<Perfil> getPerfis() {
+		return tecnico.getPerfis();
+	}
+
+	@Benchmark
+	public UserSS userSS() {
+		return new UserSS(tecnico.getId(), tecnico.getEmail(), tecnico.getSenha(), perfis);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(tecnico.getEmail());
+	}
+
+	@Benchmark
+	public boolean tokenValido() {
+		return jwtUtil.tokenValido(token);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public boolean bcryptMatches() {
+		return encoder.matches("123", hash);
+	}
+}
@@ -1,10 +1,12 @@
 package com.turmab.helpdesk.StartupMessage;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 /**
- * Componente que exibe uma mensagem no console quando a aplicação Spring Boot é iniciada.
+ * Componente que registra uma mensagem no log quando a aplicação Spring Boot é iniciada.
  * Implementa a interface CommandLineRunner, que permite executar código após o
  * contexto da aplicação ser carregado.
  * 
@@ -13,16 +15,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class StartupMessage implements CommandLineRunner {
 
+	private static final Logger LOG = LoggerFactory.getLogger(StartupMessage.class);
+
 	/**
      * Método executado automaticamente ao iniciar a aplicação.
-     * Exibe uma mensagem de sucesso no console.
+     * Registra uma mensagem de sucesso no log.
      *
      * @param args Argumentos de linha de comando (não utilizados)
      */
     @Override
     public void run(String... args) {
-        System.out.println("\n*********************************************");
-        System.out.println("* APLICAÇÃO HELPDESK INICIADA COM SUCESSO!  *");
-        System.out.println("*********************************************\n");
+        LOG.info("APLICAÇÃO HELPDESK INICIADA COM SUCESSO!");
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.turmab.helpdesk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuração que habilita a execução de tarefas agendadas
+ * ({@code @Scheduled}), como o arquivamento de chamados encerrados.
+ * 
+ * @author: Gustavo Barros
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+
+}
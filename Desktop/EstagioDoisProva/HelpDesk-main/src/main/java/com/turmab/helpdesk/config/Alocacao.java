@@ -0,0 +1,162 @@
+package com.turmab.helpdesk.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import com.turmab.helpdesk.domain.dtos.AlocacaoDTO;
+
+/**
+ * Bytes alocados no heap por requisição, por endpoint e por caminho de código.
+ *
+ * <p>A medida é a diferença do contador de bytes alocados pela thread
+ * ({@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}) entre o início e o fim
+ * do trecho, e inclui tudo o que foi chamado dentro dele. {@link AlocacaoFilter} mede
+ * todas as requisições, por endpoint; {@link AlocacaoConfig} mede os métodos dos
+ * controladores, serviços e repositórios apenas nas requisições sorteadas, marcadas com
+ * {@link #iniciaCaminhos()}.</p>
+ *
+ * <p>Cada nome acumula o total de bytes e um histograma do HdrHistogram (2 dígitos
+ * significativos). São mantidos no máximo {@value #MAXIMO_NOMES} nomes de cada tipo; os
+ * excedentes são somados em {@value #OUTROS}.</p>
+ *
+ * @author Gustavo Barros
+ */
+public final class Alocacao {
+
+	/** Quantidade máxima de endpoints ou de caminhos acumulados. */
+	public static final int MAXIMO_NOMES = 1000;
+
+	/** Nome que acumula os endpoints ou caminhos além de {@link #MAXIMO_NOMES}. */
+	public static final String OUTROS = "outros";
+
+	private static final int DIGITOS = 2;
+
+	private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+	private static final Map<String, Acumulado> ENDPOINTS = new ConcurrentHashMap<>();
+	private static final Map<String, Acumulado> CAMINHOS = new ConcurrentHashMap<>();
+
+	private static final ThreadLocal<Boolean> MEDINDO_CAMINHOS = new ThreadLocal<>();
+
+	private Alocacao() {
+	}
+
+	/**
+	 * Indica se a JVM mede os bytes alocados por thread.
+	 *
+	 * @return {@code true} se a medida estiver disponível e ligada
+	 */
+	public static boolean suportada() {
+		return THREADS != null && THREADS.isThreadAllocatedMemoryEnabled();
+	}
+
+	/**
+	 * Bytes alocados pela thread atual desde que ela começou.
+	 *
+	 * @return o contador, ou -1 se a medida não estiver disponível
+	 */
+	static long alocados() {
+		return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	/** Passa a medir os caminhos de código da requisição na thread atual. */
+	static void iniciaCaminhos() {
+		MEDINDO_CAMINHOS.set(Boolean.TRUE);
+	}
+
+	/** Para de medir os caminhos de código na thread atual. */
+	static void terminaCaminhos() {
+		MEDINDO_CAMINHOS.remove();
+	}
+
+	/** @return {@code true} se a requisição na thread atual mede os caminhos de código */
+	static boolean medindoCaminhos() {
+		return MEDINDO_CAMINHOS.get() != null;
+	}
+
+	/** Acumula os bytes alocados por uma requisição a um endpoint. */
+	static void registraEndpoint(String endpoint, long bytes) {
+		registra(ENDPOINTS, endpoint, bytes);
+	}
+
+	/** Acumula os bytes alocados por uma chamada a um caminho de código. */
+	static void registraCaminho(String caminho, long bytes) {
+		registra(CAMINHOS, caminho, bytes);
+	}
+
+	private static void registra(Map<String, Acumulado> acumulados, String nome, long bytes) {
+		if (bytes < 0) {
+			return;
+		}
+		Acumulado acumulado = acumulados.get(nome);
+		if (acumulado == null) {
+			acumulado = acumulados.computeIfAbsent(acumulados.size() < MAXIMO_NOMES ? nome : OUTROS,
+					x -> new Acumulado());
+		}
+		acumulado.total.add(bytes);
+		acumulado.histograma.recordValue(bytes);
+	}
+
+	/**
+	 * Endpoints que mais alocaram, do maior para o menor total.
+	 *
+	 * @param limite quantidade máxima de itens
+	 * @return o ranking
+	 */
+	public static List<AlocacaoDTO> rankingEndpoints(int limite) {
+		return ranking(ENDPOINTS, limite);
+	}
+
+	/**
+	 * Caminhos de código que mais alocaram nas requisições medidas, do maior para o menor
+	 * total. Como cada caminho inclui os que chamou, os totais não se somam.
+	 *
+	 * @param limite quantidade máxima de itens
+	 * @return o ranking
+	 */
+	public static List<AlocacaoDTO> rankingCaminhos(int limite) {
+		return ranking(CAMINHOS, limite);
+	}
+
+	private static List<AlocacaoDTO> ranking(Map<String, Acumulado> acumulados, int limite) {
+		return acumulados.entrySet().stream()
+				.map(e -> e.getValue().dto(e.getKey()))
+				.sorted(Comparator.comparing(AlocacaoDTO::getTotalBytes).reversed())
+				.limit(limite)
+				.collect(Collectors.toList());
+	}
+
+	/** Descarta o que foi acumulado. */
+	public static void zera() {
+		ENDPOINTS.clear();
+		CAMINHOS.clear();
+	}
+
+	private static com.sun.management.ThreadMXBean threads() {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return threads.isThreadAllocatedMemorySupported() ? threads : null;
+	}
+
+	/** Total e histograma dos bytes de um endpoint ou caminho. */
+	private static final class Acumulado {
+
+		private final LongAdder total = new LongAdder();
+		private final ConcurrentHistogram histograma = new ConcurrentHistogram(DIGITOS);
+
+		private AlocacaoDTO dto(String nome) {
+			ConcurrentHistogram copia = histograma.copy();
+			return new AlocacaoDTO(nome, copia.getTotalCount(), total.sum(), copia.getValueAtPercentile(50),
+					copia.getValueAtPercentile(90), copia.getValueAtPercentile(99), copia.getMaxValue());
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.turmab.helpdesk.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Classe de configuração que mede os bytes alocados em cada chamada a métodos dos
+ * controladores, serviços e repositórios ({@link Alocacao}), nas requisições sorteadas
+ * por {@link AlocacaoFilter}.
+ *
+ * <p>Os controladores e serviços são interceptados pelo criador automático de proxies e
+ * os repositórios pelo proxy do Spring Data, como em {@link RastreamentoConfig}. Nas
+ * demais requisições, o custo é uma consulta a um {@code ThreadLocal}.</p>
+ *
+ * @author: Gustavo Barros
+ */
+@Configuration
+public class AlocacaoConfig {
+
+	/**
+	 * Advisor que intercepta os controladores e serviços.
+	 *
+	 * @return o advisor, aplicado pelo criador automático de proxies do Spring
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor alocacaoAdvisor() {
+		ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+				.union(new AnnotationMatchingPointcut(RestController.class, true))
+				.intersection(x -> x.getName().startsWith("com.turmab.helpdesk."));
+		return new DefaultPointcutAdvisor(pointcut, mede(null));
+	}
+
+	/**
+	 * Acrescenta, no início da cadeia de cada proxy de repositório, o interceptador que
+	 * mede a alocação.
+	 *
+	 * @return o pós-processador dos beans de repositório
+	 */
+	@Bean
+	public static BeanPostProcessor repositoriosComAlocacao() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Repository && bean instanceof Advised) {
+					Advised proxy = (Advised) bean;
+					proxy.addAdvice(0, mede(RastreamentoConfig.nome(proxy)));
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Interceptador que acumula os bytes alocados em cada chamada.
+	 *
+	 * @param classe nome da classe no caminho, ou {@code null} para usar o da classe que declara o método
+	 */
+	private static MethodInterceptor mede(String classe) {
+		return invocacao -> {
+			if (!Alocacao.medindoCaminhos()) {
+				return invocacao.proceed();
+			}
+			long inicio = Alocacao.alocados();
+			try {
+				return invocacao.proceed();
+			} finally {
+				long bytes = Alocacao.alocados() - inicio;
+				Alocacao.registraCaminho((classe != null ? classe : invocacao.getMethod().getDeclaringClass().getSimpleName())
+						+ "." + invocacao.getMethod().getName(), bytes);
+			}
+		};
+	}
+}
@@ -0,0 +1,100 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filtro que mede os bytes alocados por cada requisição e os acumula por endpoint
+ * ({@link Alocacao}).
+ *
+ * <p>O endpoint é o método HTTP com o padrão da rota ({@code GET /chamados/{id}}), para
+ * que IDs diferentes contem como o mesmo endpoint. Medir uma requisição custa duas
+ * leituras do contador da thread. Uma fração das requisições
+ * ({@code helpdesk.alocacao.amostragem-caminhos}, padrão 0.05) também mede os
+ * controladores, serviços e repositórios chamados ({@link AlocacaoConfig}).</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.alocacao.habilitado}: liga a medida (padrão {@code true});</li>
+ *   <li>{@code helpdesk.alocacao.amostragem-caminhos}: fração das requisições com os caminhos de código medidos, de 0 a 1.</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AlocacaoFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AlocacaoFilter.class);
+
+	@Value("${helpdesk.alocacao.habilitado:true}")
+	private boolean habilitado;
+
+	@Value("${helpdesk.alocacao.amostragem-caminhos:0.05}")
+	private double amostragemCaminhos;
+
+	/** Valida as propriedades e confere se a JVM mede a alocação por thread. */
+	@PostConstruct
+	public void inicializa() {
+		if (amostragemCaminhos < 0 || amostragemCaminhos > 1) {
+			throw new IllegalStateException(
+					"helpdesk.alocacao.amostragem-caminhos deve estar entre 0 e 1: " + amostragemCaminhos);
+		}
+		if (habilitado && !Alocacao.suportada()) {
+			LOG.warn("A JVM não mede os bytes alocados por thread; a contabilidade de alocação fica desligada");
+			habilitado = false;
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !habilitado;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean caminhos = amostragemCaminhos > 0 && ThreadLocalRandom.current().nextDouble() < amostragemCaminhos;
+		if (caminhos) {
+			Alocacao.iniciaCaminhos();
+		}
+		long inicio = Alocacao.alocados();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			long bytes = Alocacao.alocados() - inicio;
+			if (caminhos) {
+				Alocacao.terminaCaminhos();
+			}
+			Alocacao.registraEndpoint(request.getMethod() + " " + rota(request, response), bytes);
+		}
+	}
+
+	/**
+	 * Padrão da rota do Spring MVC; sem ele, o caminho das requisições atendidas com
+	 * sucesso pelos filtros (como {@code /login}). Os erros sem rota (404, 403 de URLs
+	 * desconhecidas) ficam todos em {@code (sem rota)}, para não gerar um nome por URL.
+	 */
+	private static String rota(HttpServletRequest request, HttpServletResponse response) {
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (padrao != null) {
+			return padrao.toString();
+		}
+		return response.getStatus() < HttpServletResponse.SC_BAD_REQUEST ? request.getRequestURI() : "(sem rota)";
+	}
+}
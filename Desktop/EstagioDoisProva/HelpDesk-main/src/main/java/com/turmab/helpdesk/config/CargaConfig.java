@@ -0,0 +1,40 @@
+package com.turmab.helpdesk.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.turmab.helpdesk.service.DBService;
+
+/**
+ * Classe de configuração do perfil {@code carga}, usado pelo teste de carga HTTP
+ * ({@code CargaHttp}, em {@code src/test}).
+ *
+ * <p>O banco é um H2 em arquivo, no modo MySQL, cujo nome inclui os parâmetros da
+ * geração ({@code application-carga.properties}). Se estiver vazio, é populado por
+ * {@link DBService} antes de a aplicação começar a atender; as execuções seguintes com
+ * os mesmos {@code helpdesk.dados.*} reaproveitam o arquivo.</p>
+ *
+ * @author Gustavo Barros
+ */
+@Configuration
+@Profile("carga")
+public class CargaConfig {
+
+	/** Serviço responsável por popular o banco de dados */
+	@Autowired
+	private DBService dbService;
+
+	/**
+	 * Popula o banco, se estiver vazio, antes de a aplicação ficar pronta (e antes da
+	 * indexação e do cubo, que rodam em {@code ApplicationReadyEvent}).
+	 *
+	 * @return a tarefa executada na inicialização
+	 */
+	@Bean
+	public CommandLineRunner populaCarga() {
+		return args -> dbService.instanciaDB();
+	}
+}
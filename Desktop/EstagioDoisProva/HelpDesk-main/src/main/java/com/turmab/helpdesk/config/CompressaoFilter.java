@@ -0,0 +1,425 @@
+package com.turmab.helpdesk.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import com.turmab.helpdesk.domain.dtos.CompressaoDTO;
+
+/**
+ * Filtro que comprime as respostas com gzip quando o cliente aceita
+ * ({@code Accept-Encoding: gzip}).
+ *
+ * <p>Só são comprimidas respostas de tipos compressíveis e com pelo menos
+ * {@code helpdesk.compressao.tamanho-minimo} bytes. O corpo é acumulado até esse limite;
+ * se a resposta terminar antes, é enviada sem compressão e com {@code Content-Length}.
+ * Acima do limite, a compressão é feita em fluxo, sem guardar a resposta inteira.
+ * Respostas parciais ({@code 206}), já codificadas, de eventos ({@code text/event-stream})
+ * ou servidas por sendfile (anexos, que não escrevem corpo) não são alteradas.</p>
+ *
+ * <p>Respostas com ETag forte (a versão dos chamados, técnicos e clientes e o hash dos
+ * anexos) também não são comprimidas, como no {@code noCompressionStrongETag} do Tomcat:
+ * a ETag forte identifica uma sequência exata de bytes, e a mesma ETag nas duas
+ * representações quebraria {@code If-Match}, {@code If-None-Match} e {@code Range}.
+ * ETags fracas ({@code W/"..."}) não impedem a compressão.</p>
+ *
+ * <p>A compressão do Tomcat ({@code server.compression}) não é usada porque não expõe os
+ * bytes antes e depois nem o tempo gasto comprimindo, e porque decide só pelo
+ * {@code Content-Length} declarado: respostas JSON, que não o declaram, seriam comprimidas
+ * mesmo com poucos bytes. Aqui o corpo é acumulado até o limite antes de decidir.</p>
+ *
+ * <p>Em requisições assíncronas, a resposta é concluída no último despacho, quando o
+ * processamento assíncrono não continua. Se a aplicação registrar um {@link WriteListener}
+ * (escrita não bloqueante) antes de escrever, o corpo segue sem compressão direto para a
+ * resposta original.</p>
+ *
+ * <p>Os bytes antes e depois da compressão e o tempo de CPU gasto comprimindo são
+ * acumulados e consultados em {@code GET /compressao}.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.compressao.habilitada}: liga a compressão (padrão {@code true});</li>
+ *   <li>{@code helpdesk.compressao.tamanho-minimo}: menor corpo comprimido, em bytes (padrão 2048);</li>
+ *   <li>{@code helpdesk.compressao.nivel}: nível do deflate, de 1 a 9 (padrão 6);</li>
+ *   <li>{@code helpdesk.compressao.tipos}: tipos compressíveis (padrão JSON, Smile, CBOR, XML e texto).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class CompressaoFilter extends OncePerRequestFilter {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	@Value("${helpdesk.compressao.habilitada:true}")
+	private boolean habilitada;
+
+	@Value("${helpdesk.compressao.tamanho-minimo:2048}")
+	private int tamanhoMinimo;
+
+	@Value("${helpdesk.compressao.nivel:6}")
+	private int nivel;
+
+	@Value("${helpdesk.compressao.tipos:application/json,application/*+json,application/x-jackson-smile,application/cbor,application/xml,text/*}")
+	private List<MediaType> tipos;
+
+	private final LongAdder comprimidas = new LongAdder();
+	private final LongAdder abaixoDoLimite = new LongAdder();
+	private final LongAdder bytesOriginais = new LongAdder();
+	private final LongAdder bytesComprimidos = new LongAdder();
+	private final LongAdder tempoCpu = new LongAdder();
+
+	private boolean medeCpu;
+
+	/**
+	 * Valida o nível e verifica se a JVM permite medir o tempo de CPU por thread; senão,
+	 * é usado o tempo decorrido.
+	 */
+	@PostConstruct
+	public void inicializa() {
+		if (nivel < 1 || nivel > 9) {
+			throw new IllegalStateException("helpdesk.compressao.nivel deve estar entre 1 e 9: " + nivel);
+		}
+		medeCpu = THREADS.isCurrentThreadCpuTimeSupported();
+		if (medeCpu && !THREADS.isThreadCpuTimeEnabled()) {
+			THREADS.setThreadCpuTimeEnabled(true);
+		}
+	}
+
+	/**
+	 * Retorna os contadores acumulados desde o início da aplicação.
+	 *
+	 * @return um {@link CompressaoDTO} com os contadores
+	 */
+	public CompressaoDTO estatisticas() {
+		return new CompressaoDTO(comprimidas.sum(), abaixoDoLimite.sum(), bytesOriginais.sum(),
+				bytesComprimidos.sum(), tempoCpu.sum() / 1_000_000, medeCpu);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String aceitas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return !habilitada || aceitas == null || !aceitas.toLowerCase().contains("gzip")
+				|| "HEAD".equals(request.getMethod());
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		// no despacho assíncrono, a resposta já é a embrulhada no despacho inicial
+		Resposta existente = WebUtils.getNativeResponse(response, Resposta.class);
+		Resposta resposta = (existente != null) ? existente : new Resposta(response);
+		try {
+			filterChain.doFilter(request, (existente != null) ? response : resposta);
+		} finally {
+			if (!request.isAsyncStarted()) {
+				resposta.termina();
+			}
+		}
+	}
+
+	private boolean compressivel(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		try {
+			MediaType tipo = MediaType.parseMediaType(contentType);
+			// eventos são enviados aos poucos e não podem esperar o limite
+			return !MediaType.TEXT_EVENT_STREAM.includes(tipo) && tipos.stream().anyMatch(x -> x.includes(tipo));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Resposta que decide, na primeira escrita do corpo, se ele será comprimido.
+	 */
+	private class Resposta extends HttpServletResponseWrapper {
+
+		private final HttpServletResponse original;
+		private long tamanhoDeclarado = -1;
+		private Corpo corpo;
+		private PrintWriter writer;
+
+		Resposta(HttpServletResponse original) {
+			super(original);
+			this.original = original;
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			setContentLengthLong(len);
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			if (corpo != null && corpo.decidido && !corpo.comprimindo && corpo.bufferizado == null) {
+				original.setContentLengthLong(len);
+			} else {
+				tamanhoDeclarado = len;
+			}
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+				setContentLengthLong(Long.parseLong(value));
+			} else {
+				super.setHeader(name, value);
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (corpo == null) {
+				corpo = new Corpo();
+			}
+			return corpo;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) {
+				String charset = getCharacterEncoding();
+				writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+						Charset.forName((charset != null) ? charset : "ISO-8859-1")));
+			}
+			return writer;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (corpo != null && corpo.bufferizado == null) {
+				corpo.flush();
+			}
+			if (corpo == null || corpo.bufferizado == null) {
+				original.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (corpo != null && corpo.bufferizado != null) {
+				corpo.bufferizado.reset();
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			tamanhoDeclarado = -1;
+			if (corpo != null && corpo.bufferizado != null) {
+				corpo.bufferizado = null;
+				corpo.decidido = false;
+			}
+		}
+
+		/** Conclui o corpo: envia o que ficou acumulado ou fecha o gzip. */
+		void termina() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (corpo != null) {
+				corpo.termina();
+			} else if (tamanhoDeclarado >= 0) {
+				original.setContentLengthLong(tamanhoDeclarado);
+			}
+		}
+
+		/**
+		 * Corpo da resposta. Enquanto {@code bufferizado} não é nulo, os bytes são
+		 * acumulados; depois, vão direto para a resposta original, comprimidos ou não.
+		 */
+		private class Corpo extends ServletOutputStream {
+
+			private boolean decidido;
+			private boolean comprimindo;
+			private ByteArrayOutputStream bufferizado;
+			private ServletOutputStream destino;
+			private GZIPOutputStream gzip;
+			private long originais;
+			private final Contador saida = new Contador();
+
+			private void decide() throws IOException {
+				decidido = true;
+				String etag = getHeader(HttpHeaders.ETAG);
+				boolean elegivel = compressivel(getContentType()) && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+						&& getStatus() != HttpServletResponse.SC_PARTIAL_CONTENT
+						&& (etag == null || etag.startsWith("W/"));
+				if (elegivel) {
+					original.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+				}
+				if (!elegivel || (tamanhoDeclarado >= 0 && tamanhoDeclarado < tamanhoMinimo)) {
+					passaAdiante();
+					return;
+				}
+				bufferizado = new ByteArrayOutputStream(tamanhoMinimo);
+			}
+
+			private void passaAdiante() throws IOException {
+				if (tamanhoDeclarado >= 0) {
+					original.setContentLengthLong(tamanhoDeclarado);
+				}
+				destino = original.getOutputStream();
+			}
+
+			private void iniciaCompressao() throws IOException {
+				comprimindo = true;
+				original.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+				destino = original.getOutputStream();
+				saida.destino = destino;
+				long inicio = agora();
+				gzip = new GZIPOutputStream(saida, 8192) {
+					{
+						def.setLevel(nivel);
+					}
+				};
+				byte[] acumulado = bufferizado.toByteArray();
+				bufferizado = null;
+				gzip.write(acumulado);
+				originais += acumulado.length;
+				tempoCpu.add(agora() - inicio);
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				if (len == 0) {
+					return;
+				}
+				if (!decidido) {
+					decide();
+				}
+				if (bufferizado != null) {
+					bufferizado.write(b, off, len);
+					if (bufferizado.size() >= tamanhoMinimo) {
+						iniciaCompressao();
+					}
+				} else if (comprimindo) {
+					long inicio = agora();
+					gzip.write(b, off, len);
+					originais += len;
+					tempoCpu.add(agora() - inicio);
+				} else {
+					destino.write(b, off, len);
+				}
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (destino != null && !comprimindo) {
+					destino.flush();
+				}
+			}
+
+			void termina() throws IOException {
+				if (bufferizado != null) {
+					// corpo menor que o limite: enviado sem compressão
+					abaixoDoLimite.increment();
+					original.setContentLength(bufferizado.size());
+					original.getOutputStream().write(bufferizado.toByteArray());
+					bufferizado = null;
+				} else if (comprimindo) {
+					long inicio = agora();
+					gzip.finish();
+					tempoCpu.add(agora() - inicio);
+					comprimidas.increment();
+					bytesOriginais.add(originais);
+					bytesComprimidos.add(saida.bytes);
+					comprimindo = false;
+				} else if (!decidido && tamanhoDeclarado >= 0) {
+					original.setContentLengthLong(tamanhoDeclarado);
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				return destino == null || destino.isReady();
+			}
+
+			/**
+			 * Escrita não bloqueante: o corpo segue sem compressão para a resposta original,
+			 * que passa a chamar o {@code listener}.
+			 */
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				if (bufferizado != null || comprimindo) {
+					throw new IllegalStateException("Corpo já iniciado com escrita bloqueante");
+				}
+				if (!decidido) {
+					decidido = true;
+					try {
+						passaAdiante();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				destino.setWriteListener(writeListener);
+			}
+		}
+	}
+
+	private long agora() {
+		return medeCpu ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	/** Conta os bytes comprimidos enviados à resposta original. */
+	private static class Contador extends OutputStream {
+
+		private ServletOutputStream destino;
+		private long bytes;
+
+		@Override
+		public void write(int b) throws IOException {
+			destino.write(b);
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			destino.write(b, off, len);
+			bytes += len;
+		}
+	}
+}
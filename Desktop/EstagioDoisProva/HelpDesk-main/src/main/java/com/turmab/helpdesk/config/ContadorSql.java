@@ -0,0 +1,130 @@
+package com.turmab.helpdesk.config;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate na thread atual.
+ *
+ * <p>É registrado como {@link StatementInspector} do Hibernate e não altera as instruções.
+ * A contagem só acontece entre {@link #inicia()} e {@link #termina()}, chamados a cada
+ * requisição por {@link ContadorSqlFilter} (e a cada teste pela extensão JUnit dos testes).
+ * Contagens podem ser aninhadas: ao terminar, a interna é somada à externa.</p>
+ *
+ * <p>Cada instrução é agrupada pela sua forma: o SQL com as listas de parâmetros
+ * ({@code in (?, ?, ?)}) reduzidas a um só, para que consultas iguais com quantidades
+ * diferentes de IDs contem como a mesma. Muitas repetições da mesma forma numa requisição
+ * indicam um N+1.</p>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+public class ContadorSql implements StatementInspector, HibernatePropertiesCustomizer {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Pattern LISTA_DE_PARAMETROS = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+	private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		Contagem contagem = ATUAL.get();
+		if (contagem != null) {
+			contagem.registra(forma(sql), 1);
+		}
+		return sql;
+	}
+
+	/**
+	 * Forma de uma instrução: o SQL com as listas de parâmetros reduzidas a um só.
+	 *
+	 * @param sql instrução SQL
+	 * @return a forma da instrução
+	 */
+	static String forma(String sql) {
+		return LISTA_DE_PARAMETROS.matcher(sql).replaceAll("(?)");
+	}
+
+	/**
+	 * Inicia uma contagem na thread atual, dentro da que já estiver em andamento.
+	 *
+	 * @return a nova contagem
+	 */
+	public static Contagem inicia() {
+		Contagem contagem = new Contagem(ATUAL.get());
+		ATUAL.set(contagem);
+		return contagem;
+	}
+
+	/**
+	 * Termina a contagem em andamento na thread atual, somando-a à anterior, se houver.
+	 *
+	 * @return a contagem terminada, ou {@code null} se não houver nenhuma
+	 */
+	public static Contagem termina() {
+		Contagem contagem = ATUAL.get();
+		if (contagem == null) {
+			return null;
+		}
+		if (contagem.externa != null) {
+			contagem.porForma.forEach((forma, vezes) -> contagem.externa.registra(forma, vezes));
+			ATUAL.set(contagem.externa);
+		} else {
+			ATUAL.remove();
+		}
+		return contagem;
+	}
+
+	/**
+	 * Instruções executadas entre o início e o fim de uma contagem.
+	 */
+	public static final class Contagem {
+
+		private final Contagem externa;
+		private final Map<String, Integer> porForma = new HashMap<>();
+		private int total;
+
+		private Contagem(Contagem externa) {
+			this.externa = externa;
+		}
+
+		private void registra(String forma, int vezes) {
+			porForma.merge(forma, vezes, Integer::sum);
+			total += vezes;
+		}
+
+		/** @return a quantidade de instruções */
+		public int getTotal() {
+			return total;
+		}
+
+		/** @return a quantidade de execuções de cada forma de instrução */
+		public Map<String, Integer> getPorForma() {
+			return porForma;
+		}
+
+		/** @return a forma mais repetida, ou {@code null} se nenhuma instrução foi executada */
+		public Map.Entry<String, Integer> getMaisRepetida() {
+			return porForma.entrySet().stream().max(Comparator.comparing(Map.Entry::getValue)).orElse(null);
+		}
+
+		/** Descarta o que foi contado até aqui (por exemplo, o preparo de um teste). */
+		public void zera() {
+			porForma.clear();
+			total = 0;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro que conta as instruções SQL de cada requisição ({@link ContadorSql}).
+ *
+ * <p>Se a mesma forma de instrução se repetir mais de
+ * {@code helpdesk.sql.repeticoes-maximas} vezes, um aviso de possível N+1 é registrado no
+ * log com o endpoint e a instrução. Com {@code helpdesk.sql.cabecalho} (ligado nos
+ * perfis {@code dev} e {@code test}), a contagem é devolvida no cabeçalho
+ * {@code X-SQL-Count}; como cabeçalhos não podem ser alterados depois que a resposta
+ * começa a ser enviada, ele traz as instruções executadas até esse momento.</p>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ContadorSqlFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContadorSqlFilter.class);
+
+	/** Cabeçalho com a quantidade de instruções SQL da requisição. */
+	public static final String CABECALHO = "X-SQL-Count";
+
+	@Value("${helpdesk.sql.cabecalho:false}")
+	private boolean cabecalho;
+
+	@Value("${helpdesk.sql.repeticoes-maximas:10}")
+	private int repeticoesMaximas;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ContadorSql.Contagem contagem = ContadorSql.inicia();
+		try {
+			if (cabecalho) {
+				Resposta resposta = new Resposta(response, contagem);
+				filterChain.doFilter(request, resposta);
+				resposta.onResponseCommitted();
+			} else {
+				filterChain.doFilter(request, response);
+			}
+		} finally {
+			ContadorSql.termina();
+		}
+
+		Map.Entry<String, Integer> maisRepetida = contagem.getMaisRepetida();
+		if (maisRepetida != null && maisRepetida.getValue() > repeticoesMaximas) {
+			LOG.warn("Possível N+1 em {} {}: {} execuções de [{}] ({} instruções na requisição)", request.getMethod(),
+					request.getRequestURI(), maisRepetida.getValue(), maisRepetida.getKey(), contagem.getTotal());
+		}
+	}
+
+	/** Resposta que grava o cabeçalho com a contagem imediatamente antes de ser enviada. */
+	private static class Resposta extends OnCommittedResponseWrapper {
+
+		private final ContadorSql.Contagem contagem;
+
+		Resposta(HttpServletResponse response, ContadorSql.Contagem contagem) {
+			super(response);
+			this.contagem = contagem;
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			if (!isDisableOnResponseCommitted() && !isCommitted()) {
+				setHeader(CABECALHO, String.valueOf(contagem.getTotal()));
+			}
+			disableOnResponseCommitted();
+		}
+	}
+}
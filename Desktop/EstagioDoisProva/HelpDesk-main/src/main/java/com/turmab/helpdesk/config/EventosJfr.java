@@ -0,0 +1,188 @@
+package com.turmab.helpdesk.config;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.ChamadoArquivado;
+import com.turmab.helpdesk.domain.Pessoa;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos do Java Flight Recorder emitidos pela aplicação, na categoria "HelpDesk".
+ *
+ * <p>Cada evento tem a duração da operação (início e fim registrados pelo JFR) e os IDs
+ * das entidades envolvidas. Os eventos não guardam a pilha de chamadas, para que o custo
+ * numa gravação contínua ({@link GravacaoJfr}) seja apenas o de criar o objeto. Fora de
+ * uma gravação, {@link Event#isEnabled()} é {@code false} e nada é registrado.</p>
+ *
+ * @author Gustavo Barros
+ */
+public final class EventosJfr {
+
+	/** Quantidade máxima de IDs registrados em um evento. */
+	public static final int MAXIMO_IDS = 20;
+
+	private EventosJfr() {
+	}
+
+	/** Chamada a um método, com os IDs das entidades recebidas e retornadas. */
+	abstract static class Chamada extends Event {
+
+		@Label("Classe")
+		String classe;
+
+		@Label("Método")
+		String metodo;
+
+		@Label("IDs")
+		@Description("IDs das entidades recebidas e retornadas")
+		String ids;
+
+		@Label("Erro")
+		String erro;
+
+		/**
+		 * Termina o evento e o registra, se a gravação o aceitar; os IDs só são extraídos
+		 * nesse caso.
+		 *
+		 * @param classe     nome da classe
+		 * @param metodo     nome do método
+		 * @param argumentos argumentos da chamada
+		 * @param retorno    retorno da chamada, ou {@code null}
+		 * @param erro       exceção lançada, ou {@code null}
+		 */
+		void registra(String classe, String metodo, Object[] argumentos, Object retorno, Throwable erro) {
+			end();
+			if (shouldCommit()) {
+				this.classe = classe;
+				this.metodo = metodo;
+				this.ids = ids(argumentos, retorno);
+				this.erro = erro != null ? erro.getClass().getSimpleName() : null;
+				commit();
+			}
+		}
+	}
+
+	/** Chamada a um método de serviço ({@code ChamadoService}, {@code TecnicoService} etc.). */
+	@Name("helpdesk.Servico")
+	@Label("Chamada de serviço")
+	@Category("HelpDesk")
+	@StackTrace(false)
+	public static class Servico extends Chamada {
+	}
+
+	/** Chamada a um método de repositório. */
+	@Name("helpdesk.Repositorio")
+	@Label("Chamada de repositório")
+	@Category("HelpDesk")
+	@StackTrace(false)
+	public static class Repositorio extends Chamada {
+	}
+
+	/** Verificação da assinatura e leitura das claims de um token JWT. */
+	@Name("helpdesk.VerificacaoJwt")
+	@Label("Verificação de JWT")
+	@Category("HelpDesk")
+	@StackTrace(false)
+	public static class VerificacaoJwt extends Event {
+
+		@Label("Usuário")
+		String usuario;
+
+		@Label("Válido")
+		boolean valido;
+
+		/**
+		 * Termina o evento e o registra, se a gravação o aceitar.
+		 *
+		 * @param usuario e-mail do token, ou {@code null} se for inválido
+		 */
+		public void registra(String usuario) {
+			end();
+			if (shouldCommit()) {
+				this.usuario = usuario;
+				this.valido = usuario != null;
+				commit();
+			}
+		}
+	}
+
+	/** Geração ou conferência de um hash BCrypt de senha. */
+	@Name("helpdesk.HashBCrypt")
+	@Label("Hash BCrypt")
+	@Category("HelpDesk")
+	@StackTrace(false)
+	public static class HashBCrypt extends Event {
+
+		@Label("Operação")
+		@Description("encode ou matches")
+		String operacao;
+
+		@Label("Confere")
+		@Description("Resultado de matches")
+		boolean confere;
+
+		/**
+		 * Termina o evento e o registra, se a gravação o aceitar.
+		 *
+		 * @param operacao {@code encode} ou {@code matches}
+		 * @param confere  resultado da conferência ({@code true} em {@code encode})
+		 */
+		public void registra(String operacao, boolean confere) {
+			end();
+			if (shouldCommit()) {
+				this.operacao = operacao;
+				this.confere = confere;
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * IDs das entidades nos argumentos e no retorno de um método: números inteiros,
+	 * chamados e pessoas, inclusive dentro de coleções e {@link Optional}.
+	 *
+	 * @param argumentos argumentos do método
+	 * @param retorno    retorno do método, ou {@code null}
+	 * @return os IDs separados por vírgula, no máximo {@value #MAXIMO_IDS}
+	 */
+	static String ids(Object[] argumentos, Object retorno) {
+		Set<Object> ids = new LinkedHashSet<>();
+		for (Object argumento : argumentos) {
+			adiciona(ids, argumento, true);
+		}
+		adiciona(ids, retorno, true);
+		return ids.isEmpty() ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+	}
+
+	private static void adiciona(Set<Object> ids, Object valor, boolean entraEmColecao) {
+		if (ids.size() >= MAXIMO_IDS || valor == null) {
+			return;
+		}
+		if (valor instanceof Integer || valor instanceof Long) {
+			ids.add(valor);
+		} else if (valor instanceof Chamado) {
+			ids.add(((Chamado) valor).getId());
+		} else if (valor instanceof ChamadoArquivado) {
+			ids.add(((ChamadoArquivado) valor).getId());
+		} else if (valor instanceof Pessoa) {
+			ids.add(((Pessoa) valor).getId());
+		} else if (valor instanceof Optional) {
+			adiciona(ids, ((Optional<?>) valor).orElse(null), entraEmColecao);
+		} else if (valor instanceof Collection && entraEmColecao) {
+			for (Object item : (Collection<?>) valor) {
+				adiciona(ids, item, false);
+			}
+		}
+	}
+}
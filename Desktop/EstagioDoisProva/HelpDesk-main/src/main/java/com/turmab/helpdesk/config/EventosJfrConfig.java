@@ -0,0 +1,92 @@
+package com.turmab.helpdesk.config;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Classe de configuração que emite um evento do JFR ({@link EventosJfr}) para cada
+ * chamada a métodos dos serviços e dos repositórios da aplicação.
+ *
+ * <p>Os serviços são interceptados pelo criador automático de proxies e os repositórios
+ * pelo proxy do Spring Data, como em {@link RastreamentoConfig}. Sem uma gravação do JFR
+ * em andamento, o custo é criar o evento e consultar {@code isEnabled()}.</p>
+ *
+ * @author: Gustavo Barros
+ */
+@Configuration
+public class EventosJfrConfig {
+
+	/**
+	 * Advisor que intercepta os serviços.
+	 *
+	 * @return o advisor, aplicado pelo criador automático de proxies do Spring
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor eventosJfrAdvisor() {
+		ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+				.intersection(x -> x.getName().startsWith("com.turmab.helpdesk."));
+		return new DefaultPointcutAdvisor(pointcut, registra(EventosJfr.Servico::new, null));
+	}
+
+	/**
+	 * Acrescenta, no início da cadeia de cada proxy de repositório, o interceptador que
+	 * emite os eventos.
+	 *
+	 * @return o pós-processador dos beans de repositório
+	 */
+	@Bean
+	public static BeanPostProcessor repositoriosComEventosJfr() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Repository && bean instanceof Advised) {
+					Advised proxy = (Advised) bean;
+					proxy.addAdvice(0, registra(EventosJfr.Repositorio::new, RastreamentoConfig.nome(proxy)));
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Interceptador que emite um evento para cada chamada.
+	 *
+	 * @param evento fábrica do evento
+	 * @param classe nome da classe nos eventos, ou {@code null} para usar o da classe que declara o método
+	 */
+	private static MethodInterceptor registra(Supplier<EventosJfr.Chamada> evento, String classe) {
+		return invocacao -> {
+			EventosJfr.Chamada chamada = evento.get();
+			if (!chamada.isEnabled()) {
+				return invocacao.proceed();
+			}
+			chamada.begin();
+			Object retorno = null;
+			Throwable erro = null;
+			try {
+				retorno = invocacao.proceed();
+				return retorno;
+			} catch (Throwable e) {
+				erro = e;
+				throw e;
+			} finally {
+				chamada.registra(classe != null ? classe : invocacao.getMethod().getDeclaringClass().getSimpleName(),
+						invocacao.getMethod().getName(), invocacao.getArguments(), retorno, erro);
+			}
+		};
+	}
+}
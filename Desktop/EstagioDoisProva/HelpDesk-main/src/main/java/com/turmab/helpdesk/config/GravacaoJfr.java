@@ -0,0 +1,151 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.turmab.helpdesk.domain.dtos.GravacaoJfrDTO;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+
+/**
+ * Gravação contínua do Java Flight Recorder, ligada pelo perfil {@code jfr}.
+ *
+ * <p>Usa a configuração {@code default} do JDK (custo em torno de 1%), mais os eventos da
+ * aplicação ({@link EventosJfr}), e mantém em disco só os últimos
+ * {@code helpdesk.jfr.minutos} minutos, limitados a {@code helpdesk.jfr.tamanho-maximo-mb}.
+ * {@link #despeja(int)} copia para {@code helpdesk.jfr.diretorio} um arquivo {@code .jfr}
+ * com os últimos minutos pedidos, sem interromper a gravação. O nome do arquivo leva o
+ * horário e um sufixo aleatório, para que dois despejos no mesmo segundo não se sobrescrevam.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.jfr.continuo}: liga a gravação (padrão {@code false});</li>
+ *   <li>{@code helpdesk.jfr.configuracao}: configuração do JDK, {@code default} ou {@code profile};</li>
+ *   <li>{@code helpdesk.jfr.minutos}: idade máxima dos dados mantidos (padrão 30);</li>
+ *   <li>{@code helpdesk.jfr.tamanho-maximo-mb}: tamanho máximo dos dados mantidos (padrão 250);</li>
+ *   <li>{@code helpdesk.jfr.diretorio}: diretório dos arquivos despejados (padrão {@code data/jfr}).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+public class GravacaoJfr {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GravacaoJfr.class);
+
+	private static final DateTimeFormatter NOME_ARQUIVO = DateTimeFormatter.ofPattern("'helpdesk-'yyyyMMdd-HHmmss")
+			.withZone(ZoneId.systemDefault());
+
+	@Value("${helpdesk.jfr.continuo:false}")
+	private boolean continuo;
+
+	@Value("${helpdesk.jfr.configuracao:default}")
+	private String configuracao;
+
+	@Value("${helpdesk.jfr.minutos:30}")
+	private int minutos;
+
+	@Value("${helpdesk.jfr.tamanho-maximo-mb:250}")
+	private long tamanhoMaximoMb;
+
+	@Value("${helpdesk.jfr.diretorio:data/jfr}")
+	private String diretorio;
+
+	private Recording gravacao;
+
+	/** Inicia a gravação, se estiver ligada. */
+	@PostConstruct
+	public void inicia() throws IOException, ParseException {
+		if (!continuo) {
+			return;
+		}
+		gravacao = new Recording(Configuration.getConfiguration(configuracao));
+		gravacao.setName("helpdesk");
+		gravacao.setToDisk(true);
+		gravacao.setMaxAge(Duration.ofMinutes(minutos));
+		gravacao.setMaxSize(tamanhoMaximoMb * 1024 * 1024);
+		gravacao.start();
+		LOG.info("Gravação contínua do JFR iniciada ({}, últimos {} minutos)", configuracao, minutos);
+	}
+
+	/** Encerra a gravação. */
+	@PreDestroy
+	public void encerra() {
+		if (gravacao != null) {
+			gravacao.close();
+		}
+	}
+
+	/**
+	 * Grava em disco os últimos minutos da gravação contínua.
+	 *
+	 * @param ultimos quantidade de minutos, de 1 a {@code helpdesk.jfr.minutos}
+	 * @return o nome do arquivo gravado e o intervalo coberto
+	 * @throws DataIntegrityViolationException se a gravação estiver desligada ou a quantidade
+	 *                                         de minutos for inválida
+	 */
+	public GravacaoJfrDTO despeja(int ultimos) {
+		if (gravacao == null) {
+			throw new DataIntegrityViolationException("Gravação contínua do JFR desligada (helpdesk.jfr.continuo)");
+		}
+		if (ultimos < 1 || ultimos > minutos) {
+			throw new DataIntegrityViolationException("Minutos devem estar entre 1 e " + minutos + ": " + ultimos);
+		}
+		Instant fim = Instant.now();
+		Instant inicio = fim.minus(Duration.ofMinutes(ultimos));
+		Map<String, String> opcoes = new HashMap<>();
+		opcoes.put("startTime", inicio.toString());
+		opcoes.put("endTime", fim.toString());
+		opcoes.put("blockSize", String.valueOf(1024 * 1024));
+
+		// A cópia fecha o trecho em andamento, para que os eventos mais recentes entrem no arquivo
+		FlightRecorderMXBean jfr = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+		try {
+			long copia = jfr.cloneRecording(gravacao.getId(), true);
+			try {
+				String nome = NOME_ARQUIVO.format(fim) + "-" + UUID.randomUUID().toString().substring(0, 8) + ".jfr";
+				Path arquivo = Paths.get(diretorio).resolve(nome);
+				Files.createDirectories(arquivo.getParent());
+				long fluxo = jfr.openStream(copia, opcoes);
+				try (OutputStream saida = Files.newOutputStream(arquivo, StandardOpenOption.CREATE_NEW)) {
+					for (byte[] bloco = jfr.readStream(fluxo); bloco != null; bloco = jfr.readStream(fluxo)) {
+						saida.write(bloco);
+					}
+				} finally {
+					jfr.closeStream(fluxo);
+				}
+				LOG.info("Últimos {} minutos do JFR gravados em {}", ultimos, arquivo);
+				return new GravacaoJfrDTO(nome, Files.size(arquivo), inicio, fim);
+			} finally {
+				jfr.closeRecording(copia);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Classe de configuração do Jackson.
+ *
+ * <p>Os DTOs que aceitam {@code ?fields=} são anotados com {@code @JsonFilter("campos")}.
+ * Sem o parâmetro, nenhum filtro é informado na resposta e o filtro padrão
+ * registrado aqui serializa todos os campos.</p>
+ *
+ * <p>Além de JSON, a API responde (e aceita no corpo) Smile ({@code application/x-jackson-smile})
+ * e CBOR ({@code application/cbor}), escolhidos pelo cabeçalho {@code Accept} (ou
+ * {@code Content-Type}). Os conversores binários usam o mesmo {@code ObjectMapper}
+ * configurado pelo Spring Boot, então os DTOs, os formatos de data e o corpo dos erros
+ * são os mesmos do JSON.</p>
+ *
+ * <p>Nas requisições rastreadas ({@link Rastreamento}), a escrita do corpo JSON tem um
+ * span próprio, separado do tempo do controlador.</p>
+ *
+ * @author: Gustavo Barros
+ */
+@Configuration
+public class JacksonConfig {
+
+	/**
+	 * Registra o filtro padrão que serializa todos os campos.
+	 *
+	 * @return o customizador do {@code ObjectMapper} da aplicação
+	 */
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer filtroPadrao() {
+		return builder -> builder.filters(new SimpleFilterProvider()
+				.setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+	}
+
+	/**
+	 * Conversor HTTP para JSON, o mesmo criado pelo Spring Boot, com um span em cada escrita.
+	 *
+	 * @param objectMapper {@code ObjectMapper} configurado pelo Spring Boot
+	 * @return o conversor registrado no Spring MVC
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+		return new MappingJackson2HttpMessageConverter(objectMapper) {
+			@Override
+			protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+				Rastreamento.Span span = Rastreamento.inicia("Jackson.write");
+				try {
+					super.writeInternal(object, type, outputMessage);
+				} finally {
+					Rastreamento.termina(span);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Conversor HTTP para Smile, com a mesma configuração do JSON.
+	 *
+	 * @param builder construtor do {@code ObjectMapper} configurado pelo Spring Boot
+	 * @return o conversor registrado no Spring MVC
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+
+	/**
+	 * Conversor HTTP para CBOR, com a mesma configuração do JSON.
+	 *
+	 * @param builder construtor do {@code ObjectMapper} configurado pelo Spring Boot
+	 * @return o conversor registrado no Spring MVC
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+}
@@ -0,0 +1,138 @@
+package com.turmab.helpdesk.config;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Log estruturado das instruções SQL executadas, no lugar do {@code spring.jpa.show-sql}.
+ *
+ * <p>O {@link DataSource} da aplicação é envolvido por um proxy (datasource-proxy) que
+ * mede cada execução no JDBC, com os parâmetros já associados. Duas saídas:</p>
+ * <ul>
+ *   <li>logger {@code helpdesk.sql.lentas}: toda instrução que levar
+ *       {@code helpdesk.sql.lenta-ms} ou mais (padrão 500), em {@code WARN}, com a duração
+ *       e os parâmetros;</li>
+ *   <li>logger {@code helpdesk.sql}: amostra das demais, em {@code INFO}. De cada forma de
+ *       instrução ({@link ContadorSql#forma(String)}) são registradas a 1ª execução e
+ *       depois uma a cada {@code helpdesk.sql.log.a-cada} (padrão 0, desligado; 1 registra
+ *       todas). Assim, as instruções raras sempre aparecem e as muito frequentes não
+ *       inundam o log.</li>
+ * </ul>
+ *
+ * <p>Os campos ({@code duracaoMs}, {@code sql}, {@code parametros}, {@code execucoes})
+ * vão como campos próprios no JSON do {@code logback-spring.xml}, que grava o log de
+ * forma assíncrona. Valores de parâmetros longos são truncados em
+ * {@value #TAMANHO_MAXIMO_VALOR} caracteres e, de um lote, só os
+ * {@value #MAXIMO_ITENS_LOTE} primeiros itens são registrados.</p>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+public class LogSql implements QueryExecutionListener, BeanPostProcessor {
+
+	private static final Logger LOG = LoggerFactory.getLogger("helpdesk.sql");
+	private static final Logger LOG_LENTAS = LoggerFactory.getLogger("helpdesk.sql.lentas");
+
+	/** Tamanho máximo de um valor de parâmetro no log. */
+	public static final int TAMANHO_MAXIMO_VALOR = 200;
+
+	/** Quantidade máxima de itens de um lote com os parâmetros no log. */
+	public static final int MAXIMO_ITENS_LOTE = 10;
+
+	/** Quantidade máxima de formas contadas para a amostragem; ao passar, a contagem recomeça. */
+	private static final int MAXIMO_FORMAS = 10_000;
+
+	@Value("${helpdesk.sql.lenta-ms:500}")
+	private long lentaMs;
+
+	@Value("${helpdesk.sql.log.a-cada:0}")
+	private long aCada;
+
+	private final Map<String, AtomicLong> execucoes = new ConcurrentHashMap<>();
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+			return ProxyDataSourceBuilder.create((DataSource) bean).name(beanName).listener(this).build();
+		}
+		return bean;
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		long duracaoMs = execInfo.getElapsedTime();
+		for (QueryInfo query : queryInfoList) {
+			if (duracaoMs >= lentaMs) {
+				LOG_LENTAS.warn("Instrução SQL lenta: {} {} {}", keyValue("duracaoMs", duracaoMs),
+						keyValue("sql", query.getQuery()), keyValue("parametros", parametros(query)));
+			} else if (aCada > 0 && LOG.isInfoEnabled()) {
+				long vezes = contaExecucao(ContadorSql.forma(query.getQuery()));
+				if ((vezes - 1) % aCada == 0) {
+					LOG.info("{} {} {} {}", keyValue("duracaoMs", duracaoMs), keyValue("sql", query.getQuery()),
+							keyValue("parametros", parametros(query)), keyValue("execucoes", vezes));
+				}
+			}
+		}
+	}
+
+	private long contaExecucao(String forma) {
+		if (execucoes.size() >= MAXIMO_FORMAS) {
+			execucoes.clear();
+		}
+		return execucoes.computeIfAbsent(forma, x -> new AtomicLong()).incrementAndGet();
+	}
+
+	/** Valores associados à instrução, na ordem dos parâmetros; um grupo por item de lote. */
+	private static List<List<String>> parametros(QueryInfo query) {
+		List<List<String>> lotes = new ArrayList<>();
+		for (List<ParameterSetOperation> operacoes : query.getParametersList()) {
+			if (lotes.size() == MAXIMO_ITENS_LOTE) {
+				break;
+			}
+			// Índices comparados como texto, primeiro pelo tamanho: "2" antes de "10"
+			List<ParameterSetOperation> ordenadas = new ArrayList<>(operacoes);
+			ordenadas.sort(Comparator.comparing(x -> String.valueOf(x.getArgs()[0]),
+					Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder())));
+			List<String> valores = new ArrayList<>();
+			for (ParameterSetOperation operacao : ordenadas) {
+				valores.add(valor(operacao));
+			}
+			lotes.add(valores);
+		}
+		return lotes;
+	}
+
+	private static String valor(ParameterSetOperation operacao) {
+		if (ParameterSetOperation.isSetNullParameterOperation(operacao)) {
+			return null;
+		}
+		Object[] args = operacao.getArgs();
+		String valor = args.length > 1 ? String.valueOf(args[1]) : "";
+		return valor.length() > TAMANHO_MAXIMO_VALOR ? valor.substring(0, TAMANHO_MAXIMO_VALOR) + "..." : valor;
+	}
+}
@@ -0,0 +1,90 @@
+package com.turmab.helpdesk.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Classe de configuração das métricas expostas pelo Actuator em
+ * {@code /actuator/prometheus}.
+ *
+ * <p>O Spring Boot já registra a latência de cada endpoint ({@code http.server.requests}),
+ * as estatísticas do Hibernate ({@code hibernate.*}) e a ocupação do pool de conexões
+ * ({@code hikaricp.connections.*}); os histogramas e percentis são configurados no
+ * {@code application.properties}. Esta classe acrescenta um timer para cada método dos
+ * repositórios ({@code spring.data.repository.invocations}, com as tags
+ * {@code repository}, {@code method}, {@code state} e {@code exception}).</p>
+ *
+ * @author: Gustavo Barros
+ */
+@Configuration
+public class MetricasConfig {
+
+	/** Nome do timer das chamadas aos repositórios. */
+	public static final String REPOSITORIOS = "spring.data.repository.invocations";
+
+	/**
+	 * Acrescenta, no início da cadeia de cada proxy de repositório, um interceptador que
+	 * mede a duração de cada chamada.
+	 *
+	 * @param registro registro de métricas, obtido só na primeira chamada
+	 * @return o pós-processador dos beans de repositório
+	 */
+	@Bean
+	public static BeanPostProcessor repositoriosMedidos(ObjectProvider<MeterRegistry> registro) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Repository && bean instanceof Advised) {
+					Advised proxy = (Advised) bean;
+					proxy.addAdvice(0, mede(registro, nome(proxy)));
+				}
+				return bean;
+			}
+		};
+	}
+
+	/** Nome simples da interface de repositório declarada na aplicação. */
+	private static String nome(Advised proxy) {
+		for (Class<?> interfaceProxy : proxy.getProxiedInterfaces()) {
+			if (Repository.class.isAssignableFrom(interfaceProxy)
+					&& !interfaceProxy.getName().startsWith("org.springframework.")) {
+				return interfaceProxy.getSimpleName();
+			}
+		}
+		return "desconhecido";
+	}
+
+	private static MethodInterceptor mede(ObjectProvider<MeterRegistry> registro, String repositorio) {
+		return invocacao -> {
+			MeterRegistry meterRegistry = registro.getIfAvailable();
+			if (meterRegistry == null) {
+				return invocacao.proceed();
+			}
+			Timer.Sample inicio = Timer.start(meterRegistry);
+			String estado = "SUCCESS";
+			String excecao = "none";
+			try {
+				return invocacao.proceed();
+			} catch (Throwable e) {
+				estado = "ERROR";
+				excecao = e.getClass().getSimpleName();
+				throw e;
+			} finally {
+				inicio.stop(Timer.builder(REPOSITORIOS)
+						.tag("repository", repositorio)
+						.tag("method", invocacao.getMethod().getName())
+						.tag("state", estado)
+						.tag("exception", excecao)
+						.register(meterRegistry));
+			}
+		};
+	}
+}
@@ -0,0 +1,198 @@
+package com.turmab.helpdesk.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spans da requisição em andamento na thread atual, no modelo do W3C Trace Context.
+ *
+ * <p>A raiz é criada por {@link RastreamentoFilter} apenas nas requisições amostradas;
+ * nas demais, {@link #inicia(String)} retorna {@code null} sem registrar nada, e
+ * {@link #termina(Span)} aceita esse {@code null}. Cada span começa como filho do span
+ * atual e, ao terminar, devolve o posto ao pai. Um rastro guarda no máximo
+ * {@value #MAXIMO_SPANS} spans; os excedentes são descartados.</p>
+ *
+ * @author Gustavo Barros
+ */
+public final class Rastreamento {
+
+	/** Quantidade máxima de spans de um rastro. */
+	public static final int MAXIMO_SPANS = 1000;
+
+	private static final ThreadLocal<Span> ATUAL = new ThreadLocal<>();
+
+	private Rastreamento() {
+	}
+
+	/**
+	 * Indica se a thread atual está em uma requisição amostrada.
+	 *
+	 * @return {@code true} se houver um span em andamento
+	 */
+	public static boolean ativo() {
+		return ATUAL.get() != null;
+	}
+
+	/**
+	 * Inicia o span raiz de um rastro na thread atual.
+	 *
+	 * @param traceId   ID do rastro (32 dígitos hexadecimais)
+	 * @param paiRemoto ID do span de quem chamou, recebido em {@code traceparent}, ou {@code null}
+	 * @param nome      nome do span
+	 * @return o span raiz
+	 */
+	static Span iniciaRaiz(String traceId, String paiRemoto, String nome) {
+		Rastro rastro = new Rastro(traceId, System.currentTimeMillis(), System.nanoTime());
+		Span raiz = new Span(rastro, null, paiRemoto, nome);
+		ATUAL.set(raiz);
+		return raiz;
+	}
+
+	/**
+	 * Inicia um span filho do span atual.
+	 *
+	 * @param nome nome do span
+	 * @return o span iniciado, ou {@code null} se a requisição não for amostrada
+	 */
+	public static Span inicia(String nome) {
+		Span pai = ATUAL.get();
+		if (pai == null || pai.rastro.spans.size() >= MAXIMO_SPANS) {
+			return null;
+		}
+		Span span = new Span(pai.rastro, pai, pai.id, nome);
+		ATUAL.set(span);
+		return span;
+	}
+
+	/**
+	 * Termina um span e torna o seu pai o span atual.
+	 *
+	 * @param span span a terminar (ignorado se for {@code null})
+	 */
+	public static void termina(Span span) {
+		if (span == null) {
+			return;
+		}
+		span.duracaoNanos = System.nanoTime() - span.inicioNanos;
+		if (span.pai != null) {
+			ATUAL.set(span.pai);
+		} else {
+			ATUAL.remove();
+		}
+	}
+
+	/** Gera um ID aleatório com a quantidade informada de dígitos hexadecimais. */
+	static String novoId(int digitos) {
+		StringBuilder id = new StringBuilder(digitos);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (id.length() < digitos) {
+			String parte = Long.toHexString(random.nextLong());
+			for (int i = parte.length(); i < 16; i++) {
+				id.append('0');
+			}
+			id.append(parte);
+		}
+		return id.substring(0, digitos);
+	}
+
+	/**
+	 * Rastro de uma requisição: os spans na ordem em que começaram.
+	 */
+	public static final class Rastro {
+
+		private final String traceId;
+		private final long inicioEpochMs;
+		private final long inicioNanos;
+		private final List<Span> spans = new ArrayList<>();
+
+		private Rastro(String traceId, long inicioEpochMs, long inicioNanos) {
+			this.traceId = traceId;
+			this.inicioEpochMs = inicioEpochMs;
+			this.inicioNanos = inicioNanos;
+		}
+
+		public String getTraceId() {
+			return traceId;
+		}
+
+		public long getInicioEpochMs() {
+			return inicioEpochMs;
+		}
+
+		/** @return os spans; o primeiro é a raiz */
+		public List<Span> getSpans() {
+			return Collections.unmodifiableList(spans);
+		}
+	}
+
+	/**
+	 * Trecho medido de uma requisição.
+	 */
+	public static final class Span {
+
+		private final Rastro rastro;
+		private final Span pai;
+		private final String id = novoId(16);
+		private final String paiId;
+		private final long inicioNanos = System.nanoTime();
+		private final Map<String, String> atributos = new LinkedHashMap<>();
+		private String nome;
+		private long duracaoNanos = -1;
+
+		private Span(Rastro rastro, Span pai, String paiId, String nome) {
+			this.rastro = rastro;
+			this.pai = pai;
+			this.paiId = paiId;
+			this.nome = nome;
+			rastro.spans.add(this);
+		}
+
+		/**
+		 * Registra um atributo do span (status HTTP, exceção etc.).
+		 *
+		 * @param nome  nome do atributo
+		 * @param valor valor do atributo
+		 */
+		public void atributo(String nome, String valor) {
+			atributos.put(nome, valor);
+		}
+
+		public Rastro getRastro() {
+			return rastro;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getPaiId() {
+			return paiId;
+		}
+
+		public String getNome() {
+			return nome;
+		}
+
+		void setNome(String nome) {
+			this.nome = nome;
+		}
+
+		/** @return o início em microssegundos, a partir do início do rastro */
+		public long getInicioUs() {
+			return (inicioNanos - rastro.inicioNanos) / 1000;
+		}
+
+		/** @return a duração em microssegundos, ou -1 se o span não terminou */
+		public long getDuracaoUs() {
+			return duracaoNanos < 0 ? -1 : duracaoNanos / 1000;
+		}
+
+		public Map<String, String> getAtributos() {
+			return atributos;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.turmab.helpdesk.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Classe de configuração que cria um span ({@link Rastreamento}) para cada chamada a
+ * métodos dos controladores ({@code @RestController}), dos serviços ({@code @Service}) e
+ * dos repositórios da aplicação.
+ *
+ * <p>Nos controladores e serviços, o interceptador é aplicado pelo mesmo mecanismo de
+ * proxies do {@code @Transactional}; nos repositórios, é acrescentado ao proxy criado pelo
+ * Spring Data, como em {@link MetricasConfig}. Chamadas de um método para outro da mesma
+ * classe não passam pelo proxy e não geram span. Fora de uma requisição amostrada, o custo é uma consulta a um
+ * {@code ThreadLocal}.</p>
+ *
+ * @author: Gustavo Barros
+ */
+@Configuration
+public class RastreamentoConfig {
+
+	private static final String PACOTE = "com.turmab.helpdesk.";
+
+	/** Nome usado nos spans para cada classe interceptada. */
+	private static final Map<Class<?>, String> NOMES = new ConcurrentHashMap<>();
+
+	/**
+	 * Advisor que intercepta os controladores e serviços.
+	 *
+	 * @return o advisor, aplicado pelo criador automático de proxies do Spring
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor rastreamentoAdvisor() {
+		ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true))
+				.union(new AnnotationMatchingPointcut(RestController.class, true))
+				.intersection(x -> x.getName().startsWith(PACOTE));
+		return new DefaultPointcutAdvisor(pointcut, rastreia(null));
+	}
+
+	/**
+	 * Acrescenta, no início da cadeia de cada proxy de repositório, o interceptador que cria
+	 * os spans.
+	 *
+	 * @return o pós-processador dos beans de repositório
+	 */
+	@Bean
+	public static BeanPostProcessor repositoriosRastreados() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Repository && bean instanceof Advised) {
+					Advised proxy = (Advised) bean;
+					proxy.addAdvice(0, rastreia(nome(proxy)));
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Interceptador que cria um span para cada chamada.
+	 *
+	 * @param classe nome da classe nos spans, ou {@code null} para usar o da classe do alvo
+	 */
+	private static MethodInterceptor rastreia(String classe) {
+		return invocacao -> {
+			if (!Rastreamento.ativo() || (classe == null && invocacao.getThis() == null)) {
+				return invocacao.proceed();
+			}
+			Rastreamento.Span span = Rastreamento.inicia((classe != null ? classe
+					: NOMES.computeIfAbsent(invocacao.getThis().getClass(), x -> ClassUtils.getUserClass(x).getSimpleName()))
+					+ "." + invocacao.getMethod().getName());
+			try {
+				return invocacao.proceed();
+			} catch (Throwable e) {
+				if (span != null) {
+					span.atributo("erro", e.getClass().getSimpleName());
+				}
+				throw e;
+			} finally {
+				Rastreamento.termina(span);
+			}
+		};
+	}
+
+	/** Nome simples da interface de repositório declarada na aplicação. */
+	static String nome(Advised proxy) {
+		for (Class<?> interfaceProxy : proxy.getProxiedInterfaces()) {
+			if (Repository.class.isAssignableFrom(interfaceProxy) && interfaceProxy.getName().startsWith(PACOTE)) {
+				return interfaceProxy.getSimpleName();
+			}
+		}
+		return ClassUtils.getUserClass(proxy.getTargetClass()).getSimpleName();
+	}
+}
@@ -0,0 +1,134 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filtro que abre o span raiz de cada requisição amostrada e guarda os rastros
+ * concluídos em um buffer circular, consultado em {@code GET /rastreamento}.
+ *
+ * <p>O contexto é propagado como no W3C Trace Context: se a requisição trouxer um
+ * {@code traceparent} válido, o rastro continua o do chamador e a decisão de amostragem
+ * dele (flag {@code sampled}) é respeitada; senão, um novo rastro é amostrado com a
+ * probabilidade {@code helpdesk.rastreamento.amostragem}. Nas requisições amostradas, a
+ * resposta traz o cabeçalho {@code traceresponse} com o ID do rastro. Requisições não
+ * amostradas custam apenas a decisão e uma consulta a um {@code ThreadLocal} por método
+ * interceptado.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.rastreamento.habilitado}: liga o rastreamento (padrão {@code true});</li>
+ *   <li>{@code helpdesk.rastreamento.amostragem}: fração das requisições amostradas, de 0 a 1 (padrão 0.01);</li>
+ *   <li>{@code helpdesk.rastreamento.capacidade}: quantidade de rastros guardados (padrão 200).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RastreamentoFilter extends OncePerRequestFilter {
+
+	private static final Pattern TRACEPARENT = Pattern.compile("^([0-9a-f]{2})-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})(-.*)?$");
+
+	private static final String ID_INVALIDO_RASTRO = "00000000000000000000000000000000";
+	private static final String ID_INVALIDO_SPAN = "0000000000000000";
+
+	@Value("${helpdesk.rastreamento.habilitado:true}")
+	private boolean habilitado;
+
+	@Value("${helpdesk.rastreamento.amostragem:0.01}")
+	private double amostragem;
+
+	@Value("${helpdesk.rastreamento.capacidade:200}")
+	private int capacidade;
+
+	private Rastreamento.Rastro[] rastros;
+	private long gravados;
+
+	/** Valida as propriedades e cria o buffer. */
+	@PostConstruct
+	public void inicializa() {
+		if (amostragem < 0 || amostragem > 1) {
+			throw new IllegalStateException("helpdesk.rastreamento.amostragem deve estar entre 0 e 1: " + amostragem);
+		}
+		rastros = new Rastreamento.Rastro[Math.max(1, capacidade)];
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !habilitado;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String traceId = null;
+		String paiRemoto = null;
+		boolean amostrado;
+		Matcher traceparent = TRACEPARENT.matcher(String.valueOf(request.getHeader("traceparent")));
+		if (traceparent.matches() && !"ff".equals(traceparent.group(1))
+				&& !ID_INVALIDO_RASTRO.equals(traceparent.group(2)) && !ID_INVALIDO_SPAN.equals(traceparent.group(3))) {
+			traceId = traceparent.group(2);
+			paiRemoto = traceparent.group(3);
+			amostrado = (Integer.parseInt(traceparent.group(4), 16) & 1) == 1;
+		} else {
+			amostrado = amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem;
+		}
+		if (!amostrado) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		Rastreamento.Span raiz = Rastreamento.iniciaRaiz(traceId != null ? traceId : Rastreamento.novoId(32), paiRemoto,
+				request.getMethod() + " " + request.getRequestURI());
+		response.setHeader("traceresponse", "00-" + raiz.getRastro().getTraceId() + "-" + raiz.getId() + "-01");
+		try {
+			filterChain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			raiz.atributo("erro", e.getClass().getSimpleName());
+			throw e;
+		} finally {
+			Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			if (padrao != null) {
+				raiz.setNome(request.getMethod() + " " + padrao);
+			}
+			raiz.atributo("http.status", String.valueOf(response.getStatus()));
+			Rastreamento.termina(raiz);
+			guarda(raiz.getRastro());
+		}
+	}
+
+	private synchronized void guarda(Rastreamento.Rastro rastro) {
+		rastros[(int) (gravados++ % rastros.length)] = rastro;
+	}
+
+	/**
+	 * Retorna os rastros guardados, do mais recente ao mais antigo.
+	 *
+	 * @return os rastros concluídos ainda no buffer
+	 */
+	public synchronized List<Rastreamento.Rastro> recentes() {
+		List<Rastreamento.Rastro> lista = new ArrayList<>();
+		for (long i = gravados - 1; i >= 0 && i >= gravados - rastros.length; i--) {
+			lista.add(rastros[(int) (i % rastros.length)]);
+		}
+		return lista;
+	}
+}
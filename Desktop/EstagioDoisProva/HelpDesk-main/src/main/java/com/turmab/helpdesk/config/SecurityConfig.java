@@ -39,6 +39,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      */
     private static final String[] PUBLIC_MATCHES = { "/h2-console/**" };
 
+    /**
+     * URLs restritas a usuários com perfil ADMIN.
+     * Exemplo: reconstrução do índice de busca, métricas do actuator, rastros das requisições,
+     * despejo da gravação do JFR e ranking de alocação.
+     */
+    private static final String[] ADMIN_MATCHES = { "/chamados/search/reindexar", "/actuator/metrics/**",
+            "/actuator/prometheus", "/rastreamento/**", "/jfr/**", "/alocacao/**" };
+
     /**
      * Ambiente atual da aplicação (profiles ativos, etc).
      * Injetado pelo Spring para permitir condicionais (ex.: liberar frame para H2 em profile "test").
@@ -100,9 +108,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
         /**
          * Define que as rotas em PUBLIC_MATCHES são permitidas sem autenticação,
+         * as rotas em ADMIN_MATCHES exigem o perfil ADMIN
          * e todas as demais requisições exigem autenticação.
+         * As rotas de ADMIN usam mvcMatchers, que casam os caminhos como o Spring MVC
+         * (ex.: com barra no final), para que nenhuma variante chegue ao controlador sem a regra.
          */
-        http.authorizeRequests().antMatchers(PUBLIC_MATCHES).permitAll().anyRequest().authenticated();
+        http.authorizeRequests().antMatchers(PUBLIC_MATCHES).permitAll().mvcMatchers(ADMIN_MATCHES).hasRole("ADMIN")
+                .anyRequest().authenticated();
 
         /**
          * Configura a aplicação para não manter sessão HTTP (STATELESS),
@@ -151,7 +163,19 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         /**
          * Permite explicitamente os métodos HTTP usados pela API REST.
          */
-        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "PATCH", "DELETE", "OPTIONS"));
+
+        /**
+         * Expõe o cabeçalho ETag para que o front-end consiga usá-lo em If-None-Match e If-Match.
+         */
+        configuration.addExposedHeader("ETag");
+
+        /**
+         * Expõe os cabeçalhos usados no download de anexos (intervalos e nome do arquivo).
+         */
+        configuration.addExposedHeader("Accept-Ranges");
+        configuration.addExposedHeader("Content-Range");
+        configuration.addExposedHeader("Content-Disposition");
 
         /**
          * Fonte baseada em URL para registrar as configurações de CORS para todas as rotas.
@@ -176,6 +200,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      * Usar BCrypt é uma boa prática para armazenamento seguro de senhas.
      * </p>
      * 
+     * <p>
+     * Cada hash gerado ou conferido emite um evento do JFR ({@link EventosJfr.HashBCrypt}).
+     * </p>
+     * 
      * @return um {@link BCryptPasswordEncoder} pronto para uso
      */
     @Bean
@@ -183,7 +211,31 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         /**
          * Cria e retorna a instância de BCryptPasswordEncoder.
          */
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                EventosJfr.HashBCrypt evento = new EventosJfr.HashBCrypt();
+                evento.begin();
+                try {
+                    return super.encode(rawPassword);
+                } finally {
+                    evento.registra("encode", true);
+                }
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                EventosJfr.HashBCrypt evento = new EventosJfr.HashBCrypt();
+                evento.begin();
+                boolean confere = false;
+                try {
+                    confere = super.matches(rawPassword, encodedPassword);
+                    return confere;
+                } finally {
+                    evento.registra("matches", confere);
+                }
+            }
+        };
     }
 
 }
\ No newline at end of file
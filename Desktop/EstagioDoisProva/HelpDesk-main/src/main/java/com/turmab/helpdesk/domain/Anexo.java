@@ -0,0 +1,109 @@
+package com.turmab.helpdesk.domain;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * Entidade que guarda os metadados de um arquivo anexado a um chamado.
+ * 
+ * <p>O conteúdo fica em disco local, em um arquivo nomeado pelo hash SHA-256 do próprio
+ * conteúdo; anexos com o mesmo conteúdo compartilham o arquivo. O chamado é referenciado
+ * apenas pelo ID, sem chave estrangeira, para que o anexo continue válido depois que o
+ * chamado for arquivado.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+@Entity
+@Table(indexes = { @Index(name = "idx_anexo_chamado", columnList = "chamadoId"),
+        @Index(name = "idx_anexo_hash", columnList = "hash") })
+public class Anexo {
+
+	/** Identificador único do anexo */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /** ID do chamado ao qual o arquivo foi anexado */
+    @Column(nullable = false)
+    private Integer chamadoId;
+
+    /** Nome original do arquivo */
+    private String nome;
+
+    /** Tipo de conteúdo (MIME) informado no envio */
+    private String tipo;
+
+    /** Tamanho do arquivo em bytes */
+    private Long tamanho;
+
+    /** Hash SHA-256 do conteúdo, em hexadecimal */
+    @Column(length = 64, nullable = false)
+    private String hash;
+
+    /** Instante do envio */
+    private Instant criadoEm = Instant.now();
+
+    /** Construtor padrão */
+    public Anexo() {
+        super();
+    }
+
+    /**
+     * Construtor com os dados do arquivo enviado.
+     * 
+     * @param chamadoId ID do chamado
+     * @param nome Nome original do arquivo
+     * @param tipo Tipo de conteúdo
+     * @param tamanho Tamanho em bytes
+     * @param hash Hash SHA-256 do conteúdo
+     */
+    public Anexo(Integer chamadoId, String nome, String tipo, Long tamanho, String hash) {
+        this.chamadoId = chamadoId;
+        this.nome = nome;
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+        this.hash = hash;
+    }
+
+    /** @return o ID do anexo */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return o ID do chamado */
+    public Integer getChamadoId() {
+        return chamadoId;
+    }
+
+    /** @return o nome original do arquivo */
+    public String getNome() {
+        return nome;
+    }
+
+    /** @return o tipo de conteúdo */
+    public String getTipo() {
+        return tipo;
+    }
+
+    /** @return o tamanho em bytes */
+    public Long getTamanho() {
+        return tamanho;
+    }
+
+    /** @return o hash SHA-256 do conteúdo */
+    public String getHash() {
+        return hash;
+    }
+
+    /** @return o instante do envio */
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+}
@@ -1,15 +1,27 @@
 package com.turmab.helpdesk.domain;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 
+import javax.persistence.Basic;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.turmab.helpdesk.domain.converters.TextoComprimidoConverter;
 import com.turmab.helpdesk.domain.enums.Prioridade;
 import com.turmab.helpdesk.domain.enums.Status;
 
@@ -18,9 +30,22 @@ import com.turmab.helpdesk.domain.enums.Status;
  * Contém informações sobre o chamado, como prioridade, status, título,
  * observações, técnico responsável e cliente solicitante.
  * 
+ * <p>Com {@link DynamicUpdate}, o UPDATE gerado contém apenas as colunas
+ * que realmente foram alteradas.</p>
+ * 
+ * <p>O índice por status e data de fechamento atende o arquivamento de chamados
+ * encerrados (ver {@link ChamadoArquivado}).</p>
+ * 
+ * <p>As observações ficam em uma coluna LOB, comprimidas acima de um tamanho limite
+ * ({@link TextoComprimidoConverter}), e são carregadas sob demanda. O carregamento
+ * tardio de atributos simples depende do enhancement de bytecode do Hibernate,
+ * configurado no {@code pom.xml}.</p>
+ * 
  * @author: Gustavo Barros
  */
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_chamado_status_fechamento", columnList = "status, dataFechamento"))
 public class Chamado {
 
 	/** Identificador único do chamado */
@@ -28,6 +53,10 @@ public class Chamado {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    /** Versão do registro, usada no controle de concorrência otimista e como ETag */
+    @Version
+    private Integer versao;
+
     /** Data de abertura do chamado */
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate dataAbertura = LocalDate.now();
@@ -36,6 +65,12 @@ public class Chamado {
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate dataFechamento;
 
+    /** Instante de abertura do chamado, usado no cálculo do tempo de resolução */
+    private Instant abertoEm = Instant.now();
+
+    /** Instante de fechamento do chamado, usado no cálculo do tempo de resolução */
+    private Instant fechadoEm;
+
     /** Código da prioridade do chamado (usando enum Prioridade) */
     private Integer prioridade;
     
@@ -45,7 +80,10 @@ public class Chamado {
     /** Título do chamado */
     private String titulo;
     
-    /** Observações adicionais sobre o chamado */
+    /** Observações adicionais sobre o chamado (carregadas sob demanda) */
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = TextoComprimidoConverter.class)
     private String observacoes;
 
     /** Técnico responsável pelo chamado */
@@ -95,6 +133,16 @@ public class Chamado {
         this.id = id;
     }
 
+    /** @return a versão do registro */
+    public Integer getVersao() {
+        return versao;
+    }
+
+    /** @param versao define a versão do registro */
+    public void setVersao(Integer versao) {
+        this.versao = versao;
+    }
+
     /** @return a data de abertura do chamado */
     public LocalDate getDataAbertura() {
         return dataAbertura;
@@ -115,6 +163,42 @@ public class Chamado {
         this.dataFechamento = dataFechamento;
     }
 
+    /** @return o instante de abertura do chamado */
+    public Instant getAbertoEm() {
+        return abertoEm;
+    }
+
+    /** @param abertoEm define o instante de abertura do chamado */
+    public void setAbertoEm(Instant abertoEm) {
+        this.abertoEm = abertoEm;
+    }
+
+    /** @return o instante de fechamento do chamado */
+    public Instant getFechadoEm() {
+        return fechadoEm;
+    }
+
+    /** @param fechadoEm define o instante de fechamento do chamado */
+    public void setFechadoEm(Instant fechadoEm) {
+        this.fechadoEm = fechadoEm;
+    }
+
+    /**
+     * Registra o fechamento do chamado, preenchendo a data e o instante de fechamento.
+     * 
+     * @param instante instante do fechamento
+     */
+    public void fecha(Instant instante) {
+        this.fechadoEm = instante;
+        this.dataFechamento = LocalDate.ofInstant(instante, ZoneId.systemDefault());
+    }
+
+    /** Desfaz o fechamento do chamado (reabertura). */
+    public void reabre() {
+        this.fechadoEm = null;
+        this.dataFechamento = null;
+    }
+
     /** @return o código da prioridade */
     public Integer getPrioridade() {
         return prioridade;
@@ -0,0 +1,183 @@
+package com.turmab.helpdesk.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import javax.persistence.Basic;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.turmab.helpdesk.domain.converters.TextoComprimidoConverter;
+
+/**
+ * Entidade que representa um chamado encerrado movido para a tabela de arquivo.
+ * 
+ * <p>Possui as mesmas colunas de {@link Chamado}, mais a data em que foi arquivado.
+ * As linhas são copiadas em lote pelo {@code ArquivamentoService}, preservando o
+ * identificador original, e são somente leitura para a aplicação.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+@Entity
+@Table(name = "chamado_arquivado")
+public class ChamadoArquivado {
+
+	/** Identificador do chamado (o mesmo que possuía na tabela chamado) */
+    @Id
+    private Integer id;
+
+    /** Versão do registro no momento do arquivamento */
+    private Integer versao;
+
+    /** Data de abertura do chamado */
+    private LocalDate dataAbertura;
+
+    /** Data de fechamento do chamado */
+    private LocalDate dataFechamento;
+
+    /** Instante de abertura do chamado */
+    private Instant abertoEm;
+
+    /** Instante de fechamento do chamado */
+    private Instant fechadoEm;
+
+    /** Data em que o chamado foi movido para o arquivo */
+    private LocalDate dataArquivamento;
+
+    /** Código da prioridade do chamado (usando enum Prioridade) */
+    private Integer prioridade;
+
+    /** Código do status do chamado (usando enum Status) */
+    private Integer status;
+
+    /** Título do chamado */
+    private String titulo;
+
+    /** Observações adicionais sobre o chamado (mesmo formato de {@link Chamado}, carregadas sob demanda) */
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = TextoComprimidoConverter.class)
+    private String observacoes;
+
+    /** Técnico responsável pelo chamado */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tecnico_id")
+    private Tecnico tecnico;
+
+    /** Cliente solicitante do chamado */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id")
+    private Cliente cliente;
+
+    /** Construtor padrão */
+    public ChamadoArquivado() {
+        super();
+    }
+
+    /**
+     * Converte o registro arquivado em um {@link Chamado} (não gerenciado), para que
+     * possa ser exposto pelos mesmos DTOs dos chamados ativos.
+     * 
+     * @return um novo {@link Chamado} com os dados do registro arquivado
+     */
+    public Chamado toChamado() {
+        return toChamado(true);
+    }
+
+    /**
+     * Converte o registro arquivado em um {@link Chamado} (não gerenciado), com ou sem
+     * as observações. Sem elas, as observações não são lidas do banco.
+     * 
+     * @param comObservacoes se {@code false}, as observações não são copiadas
+     * @return um novo {@link Chamado} com os dados do registro arquivado
+     */
+    public Chamado toChamado(boolean comObservacoes) {
+        Chamado obj = new Chamado();
+        obj.setId(id);
+        obj.setVersao(versao);
+        obj.setDataAbertura(dataAbertura);
+        obj.setDataFechamento(dataFechamento);
+        obj.setAbertoEm(abertoEm);
+        obj.setFechadoEm(fechadoEm);
+        obj.setPrioridade(prioridade);
+        obj.setStatus(status);
+        obj.setTitulo(titulo);
+        if (comObservacoes) {
+            obj.setObservacoes(observacoes);
+        }
+        obj.setTecnico(tecnico);
+        obj.setCliente(cliente);
+        return obj;
+    }
+
+    /** @return o ID do chamado */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return a versão do registro */
+    public Integer getVersao() {
+        return versao;
+    }
+
+    /** @return a data de abertura do chamado */
+    public LocalDate getDataAbertura() {
+        return dataAbertura;
+    }
+
+    /** @return a data de fechamento do chamado */
+    public LocalDate getDataFechamento() {
+        return dataFechamento;
+    }
+
+    /** @return o instante de abertura do chamado */
+    public Instant getAbertoEm() {
+        return abertoEm;
+    }
+
+    /** @return o instante de fechamento do chamado */
+    public Instant getFechadoEm() {
+        return fechadoEm;
+    }
+
+    /** @return a data de arquivamento do chamado */
+    public LocalDate getDataArquivamento() {
+        return dataArquivamento;
+    }
+
+    /** @return o código da prioridade */
+    public Integer getPrioridade() {
+        return prioridade;
+    }
+
+    /** @return o código do status */
+    public Integer getStatus() {
+        return status;
+    }
+
+    /** @return o título do chamado */
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /** @return as observações do chamado */
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    /** @return o técnico responsável pelo chamado */
+    public Tecnico getTecnico() {
+        return tecnico;
+    }
+
+    /** @return o cliente solicitante do chamado */
+    public Cliente getCliente() {
+        return cliente;
+    }
+}
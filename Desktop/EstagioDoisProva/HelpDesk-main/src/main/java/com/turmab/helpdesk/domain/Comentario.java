@@ -0,0 +1,93 @@
+package com.turmab.helpdesk.domain;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * Entidade que representa um comentário (nota) registrado em um chamado.
+ * 
+ * <p>Comentários são somente de acréscimo: não são alterados nem excluídos. O índice por
+ * chamado e ID atende a leitura paginada por chave ({@code id > after}). Como em
+ * {@link Anexo}, o chamado é referenciado apenas pelo ID, sem chave estrangeira, para
+ * que os comentários continuem válidos depois que o chamado for arquivado.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_comentario_chamado_id", columnList = "chamadoId, id"))
+public class Comentario {
+
+	/** Tamanho máximo do texto de um comentário */
+    public static final int TAMANHO_MAXIMO = 4000;
+
+	/** Identificador único do comentário */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /** ID do chamado comentado */
+    @Column(nullable = false, updatable = false)
+    private Integer chamadoId;
+
+    /** Usuário (e-mail) que registrou o comentário */
+    @Column(updatable = false)
+    private String autor;
+
+    /** Texto do comentário */
+    @Column(length = TAMANHO_MAXIMO, nullable = false, updatable = false)
+    private String texto;
+
+    /** Instante do registro */
+    @Column(updatable = false)
+    private Instant criadoEm = Instant.now();
+
+    /** Construtor padrão */
+    public Comentario() {
+        super();
+    }
+
+    /**
+     * Construtor com os dados do comentário.
+     * 
+     * @param chamadoId ID do chamado
+     * @param autor Usuário que registrou o comentário
+     * @param texto Texto do comentário
+     */
+    public Comentario(Integer chamadoId, String autor, String texto) {
+        this.chamadoId = chamadoId;
+        this.autor = autor;
+        this.texto = texto;
+    }
+
+    /** @return o ID do comentário */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return o ID do chamado */
+    public Integer getChamadoId() {
+        return chamadoId;
+    }
+
+    /** @return o usuário que registrou o comentário */
+    public String getAutor() {
+        return autor;
+    }
+
+    /** @return o texto do comentário */
+    public String getTexto() {
+        return texto;
+    }
+
+    /** @return o instante do registro */
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+}
@@ -14,6 +14,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.enums.Perfil;
@@ -36,6 +37,10 @@ public abstract class Pessoa implements Serializable{
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	protected Integer id;
 	
+	/** Versão do registro, usada no controle de concorrência otimista e como ETag */
+	@Version
+	protected Integer versao;
+	
 	/** Nome da pessoa */
 	protected String nome;
 	
@@ -95,6 +100,16 @@ public abstract class Pessoa implements Serializable{
 		this.id = id;
 	}
 
+	/** @return a versão do registro */
+	public Integer getVersao() {
+		return versao;
+	}
+
+	/** @param versao define a versão do registro */
+	public void setVersao(Integer versao) {
+		this.versao = versao;
+	}
+
 	/** @return o nome da pessoa */
 	public String getNome() {
 		return nome;
@@ -0,0 +1,117 @@
+package com.turmab.helpdesk.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Entidade que guarda o histograma dos tempos de resolução de chamados encerrados
+ * em um dia, para um técnico ou uma prioridade, registrado por uma instância da aplicação.
+ * 
+ * <p>O histograma é serializado no formato compactado do HdrHistogram. Histogramas de
+ * instâncias e dias diferentes podem ser somados sem perda, o que permite calcular
+ * percentis de qualquer período a partir destas linhas.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+@Entity
+@Table(name = "resolucao_snapshot", uniqueConstraints = @UniqueConstraint(
+        name = "uk_resolucao_snapshot", columnNames = { "instancia", "dimensao", "chave", "dia" }))
+public class ResolucaoSnapshot {
+
+	/** Identificador do registro */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /** Instância da aplicação que registrou os fechamentos */
+    private String instancia;
+
+    /** Dimensão do histograma: {@code tecnico} ou {@code prioridade} */
+    private String dimensao;
+
+    /** ID do técnico ou código da prioridade */
+    private Integer chave;
+
+    /** Dia dos fechamentos */
+    private LocalDate dia;
+
+    /** Histograma compactado, com os tempos de resolução em segundos */
+    @Lob
+    private byte[] histograma;
+
+    /** Instante da última gravação */
+    private Instant atualizadoEm;
+
+    /** Construtor padrão */
+    public ResolucaoSnapshot() {
+        super();
+    }
+
+    /**
+     * Construtor com a identificação do histograma.
+     * 
+     * @param instancia Instância da aplicação
+     * @param dimensao Dimensão do histograma
+     * @param chave ID do técnico ou código da prioridade
+     * @param dia Dia dos fechamentos
+     */
+    public ResolucaoSnapshot(String instancia, String dimensao, Integer chave, LocalDate dia) {
+        this.instancia = instancia;
+        this.dimensao = dimensao;
+        this.chave = chave;
+        this.dia = dia;
+    }
+
+    /** @return o ID do registro */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return a instância da aplicação */
+    public String getInstancia() {
+        return instancia;
+    }
+
+    /** @return a dimensão do histograma */
+    public String getDimensao() {
+        return dimensao;
+    }
+
+    /** @return o ID do técnico ou código da prioridade */
+    public Integer getChave() {
+        return chave;
+    }
+
+    /** @return o dia dos fechamentos */
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    /** @return o histograma compactado */
+    public byte[] getHistograma() {
+        return histograma;
+    }
+
+    /** @param histograma define o histograma compactado */
+    public void setHistograma(byte[] histograma) {
+        this.histograma = histograma;
+    }
+
+    /** @return o instante da última gravação */
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    /** @param atualizadoEm define o instante da última gravação */
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
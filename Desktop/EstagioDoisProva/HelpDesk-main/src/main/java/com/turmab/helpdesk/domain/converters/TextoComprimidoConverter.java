@@ -0,0 +1,104 @@
+package com.turmab.helpdesk.domain.converters;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Conversor JPA que grava textos longos comprimidos (deflate) em uma coluna binária.
+ * 
+ * <p>O primeiro byte indica o formato: {@code 0} para o texto UTF-8 sem compressão e
+ * {@code 1} para o texto UTF-8 comprimido. Textos menores que {@link #LIMITE} bytes, ou
+ * que não diminuem ao serem comprimidos, são gravados sem compressão.</p>
+ *
+ * <p>Valores gravados antes da compressão, quando a coluna era texto, não têm esse
+ * cabeçalho: começam direto pelo texto UTF-8. Como um texto não começa pelos caracteres de
+ * controle {@code U+0000} ou {@code U+0001}, um primeiro byte diferente de {@code 0} e
+ * {@code 1} identifica o valor legado, lido inteiro como texto.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+@Converter
+public class TextoComprimidoConverter implements AttributeConverter<String, byte[]> {
+
+	/** Tamanho mínimo, em bytes UTF-8, para que o texto seja comprimido. */
+	public static final int LIMITE = 512;
+
+	private static final byte SEM_COMPRESSAO = 0;
+	private static final byte DEFLATE = 1;
+
+	@Override
+	public byte[] convertToDatabaseColumn(String texto) {
+		if (texto == null) {
+			return null;
+		}
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= LIMITE) {
+			byte[] comprimido = comprime(bytes);
+			if (comprimido.length < bytes.length) {
+				return comprimido;
+			}
+		}
+		byte[] result = new byte[bytes.length + 1];
+		result[0] = SEM_COMPRESSAO;
+		System.arraycopy(bytes, 0, result, 1, bytes.length);
+		return result;
+	}
+
+	@Override
+	public String convertToEntityAttribute(byte[] valor) {
+		if (valor == null) {
+			return null;
+		}
+		if (valor.length > 0 && valor[0] == DEFLATE) {
+			return new String(descomprime(valor), StandardCharsets.UTF_8);
+		}
+		if (valor.length > 0 && valor[0] == SEM_COMPRESSAO) {
+			return new String(valor, 1, valor.length - 1, StandardCharsets.UTF_8);
+		}
+		return new String(valor, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] comprime(byte[] bytes) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+			out.write(DEFLATE);
+			byte[] bloco = new byte[4096];
+			while (!deflater.finished()) {
+				out.write(bloco, 0, deflater.deflate(bloco));
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] descomprime(byte[] valor) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(valor, 1, valor.length - 1);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(valor.length * 3);
+			byte[] bloco = new byte[4096];
+			while (!inflater.finished()) {
+				int n = inflater.inflate(bloco);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Texto comprimido truncado");
+				}
+				out.write(bloco, 0, n);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Texto comprimido inválido", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
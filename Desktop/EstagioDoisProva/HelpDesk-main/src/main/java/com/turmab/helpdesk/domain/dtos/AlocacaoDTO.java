@@ -0,0 +1,89 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) com os bytes alocados no heap por um endpoint ou caminho de
+ * código, acumulados desde a inicialização da aplicação.
+ * 
+ * @author: Gustavo Barros
+ */
+public class AlocacaoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Endpoint ({@code GET /chamados/{id}}) ou caminho de código ({@code ChamadoService.findAll}) */
+    private String nome;
+
+    /** Quantidade de requisições ou chamadas medidas */
+    private Long quantidade;
+
+    /** Total de bytes alocados */
+    private Long totalBytes;
+
+    /** Média de bytes por requisição ou chamada */
+    private Long mediaBytes;
+
+    /** Mediana de bytes por requisição ou chamada */
+    private Long p50;
+
+    /** Percentil 90 de bytes por requisição ou chamada */
+    private Long p90;
+
+    /** Percentil 99 de bytes por requisição ou chamada */
+    private Long p99;
+
+    /** Maior quantidade de bytes em uma requisição ou chamada */
+    private Long maximo;
+
+    /** Construtor padrão */
+    public AlocacaoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor a partir dos contadores; a média é calculada.
+     * 
+     * @param nome Endpoint ou caminho de código
+     * @param quantidade Quantidade de requisições ou chamadas
+     * @param totalBytes Total de bytes alocados
+     * @param p50 Mediana
+     * @param p90 Percentil 90
+     * @param p99 Percentil 99
+     * @param maximo Maior valor
+     */
+    public AlocacaoDTO(String nome, long quantidade, long totalBytes, long p50, long p90, long p99, long maximo) {
+        this.nome = nome;
+        this.quantidade = quantidade;
+        this.totalBytes = totalBytes;
+        this.mediaBytes = (quantidade > 0) ? totalBytes / quantidade : null;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.maximo = maximo;
+    }
+
+    /** Getters e Setters */
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public Long getQuantidade() { return quantidade; }
+    public void setQuantidade(Long quantidade) { this.quantidade = quantidade; }
+
+    public Long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(Long totalBytes) { this.totalBytes = totalBytes; }
+
+    public Long getMediaBytes() { return mediaBytes; }
+    public void setMediaBytes(Long mediaBytes) { this.mediaBytes = mediaBytes; }
+
+    public Long getP50() { return p50; }
+    public void setP50(Long p50) { this.p50 = p50; }
+
+    public Long getP90() { return p90; }
+    public void setP90(Long p90) { this.p90 = p90; }
+
+    public Long getP99() { return p99; }
+    public void setP99(Long p99) { this.p99 = p99; }
+
+    public Long getMaximo() { return maximo; }
+    public void setMaximo(Long maximo) { this.maximo = maximo; }
+}
@@ -0,0 +1,78 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.turmab.helpdesk.domain.Anexo;
+
+/**
+ * Data Transfer Object (DTO) com os metadados de um anexo de chamado.
+ * 
+ * @author: Gustavo Barros
+ */
+public class AnexoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Identificador do anexo */
+    private Integer id;
+
+    /** ID do chamado */
+    private Integer chamado;
+
+    /** Nome original do arquivo */
+    private String nome;
+
+    /** Tipo de conteúdo */
+    private String tipo;
+
+    /** Tamanho em bytes */
+    private Long tamanho;
+
+    /** Hash SHA-256 do conteúdo */
+    private String hash;
+
+    /** Instante do envio */
+    private Instant criadoEm;
+
+    /** Construtor padrão */
+    public AnexoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor que converte um {@link Anexo} em DTO.
+     * 
+     * @param obj Anexo a ser convertido
+     */
+    public AnexoDTO(Anexo obj) {
+        this.id = obj.getId();
+        this.chamado = obj.getChamadoId();
+        this.nome = obj.getNome();
+        this.tipo = obj.getTipo();
+        this.tamanho = obj.getTamanho();
+        this.hash = obj.getHash();
+        this.criadoEm = obj.getCriadoEm();
+    }
+
+    /** Getters e Setters */
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Integer getChamado() { return chamado; }
+    public void setChamado(Integer chamado) { this.chamado = chamado; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public String getTipo() { return tipo; }
+    public void setTipo(String tipo) { this.tipo = tipo; }
+
+    public Long getTamanho() { return tamanho; }
+    public void setTamanho(Long tamanho) { this.tamanho = tamanho; }
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public Instant getCriadoEm() { return criadoEm; }
+    public void setCriadoEm(Instant criadoEm) { this.criadoEm = criadoEm; }
+}
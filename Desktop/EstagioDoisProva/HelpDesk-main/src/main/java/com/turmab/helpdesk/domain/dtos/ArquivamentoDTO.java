@@ -0,0 +1,87 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Data Transfer Object (DTO) com a situação do arquivamento de chamados encerrados.
+ * Informa quanto já foi movido para o arquivo e quanto ainda está pendente.
+ * 
+ * @author: Gustavo Barros
+ */
+public class ArquivamentoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Idade mínima, em dias desde o fechamento, para um chamado ser arquivado */
+    private Integer idadeDias;
+
+    /** Total de chamados movidos para o arquivo desde a inicialização da aplicação */
+    private Long totalArquivados;
+
+    /** Total de lotes (transações) executados desde a inicialização da aplicação */
+    private Long lotesExecutados;
+
+    /** Momento (em milissegundos) da última execução concluída, ou null se ainda não executou */
+    private Long ultimaExecucao;
+
+    /** Quantidade de chamados que já poderiam ter sido arquivados e ainda estão na tabela ativa */
+    private Long pendentes;
+
+    /** Data de fechamento do chamado pendente mais antigo */
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate fechamentoMaisAntigoPendente;
+
+    /** Atraso, em dias, do chamado pendente mais antigo em relação à idade configurada */
+    private Long atrasoDias;
+
+    /** Construtor padrão */
+    public ArquivamentoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param idadeDias Idade mínima para arquivamento, em dias
+     * @param totalArquivados Total de chamados arquivados
+     * @param lotesExecutados Total de lotes executados
+     * @param ultimaExecucao Momento da última execução
+     * @param pendentes Quantidade de chamados pendentes
+     * @param fechamentoMaisAntigoPendente Data de fechamento do pendente mais antigo
+     * @param atrasoDias Atraso do pendente mais antigo, em dias
+     */
+    public ArquivamentoDTO(Integer idadeDias, Long totalArquivados, Long lotesExecutados, Long ultimaExecucao,
+                           Long pendentes, LocalDate fechamentoMaisAntigoPendente, Long atrasoDias) {
+        this.idadeDias = idadeDias;
+        this.totalArquivados = totalArquivados;
+        this.lotesExecutados = lotesExecutados;
+        this.ultimaExecucao = ultimaExecucao;
+        this.pendentes = pendentes;
+        this.fechamentoMaisAntigoPendente = fechamentoMaisAntigoPendente;
+        this.atrasoDias = atrasoDias;
+    }
+
+    /** Getters e Setters */
+    public Integer getIdadeDias() { return idadeDias; }
+    public void setIdadeDias(Integer idadeDias) { this.idadeDias = idadeDias; }
+
+    public Long getTotalArquivados() { return totalArquivados; }
+    public void setTotalArquivados(Long totalArquivados) { this.totalArquivados = totalArquivados; }
+
+    public Long getLotesExecutados() { return lotesExecutados; }
+    public void setLotesExecutados(Long lotesExecutados) { this.lotesExecutados = lotesExecutados; }
+
+    public Long getUltimaExecucao() { return ultimaExecucao; }
+    public void setUltimaExecucao(Long ultimaExecucao) { this.ultimaExecucao = ultimaExecucao; }
+
+    public Long getPendentes() { return pendentes; }
+    public void setPendentes(Long pendentes) { this.pendentes = pendentes; }
+
+    public LocalDate getFechamentoMaisAntigoPendente() { return fechamentoMaisAntigoPendente; }
+    public void setFechamentoMaisAntigoPendente(LocalDate fechamentoMaisAntigoPendente) { this.fechamentoMaisAntigoPendente = fechamentoMaisAntigoPendente; }
+
+    public Long getAtrasoDias() { return atrasoDias; }
+    public void setAtrasoDias(Long atrasoDias) { this.atrasoDias = atrasoDias; }
+}
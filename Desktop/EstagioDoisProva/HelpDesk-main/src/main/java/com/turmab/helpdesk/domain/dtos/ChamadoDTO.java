@@ -3,6 +3,7 @@ package com.turmab.helpdesk.domain.dtos;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.Chamado;
 import com.turmab.helpdesk.domain.enums.Prioridade;
@@ -13,8 +14,13 @@ import com.turmab.helpdesk.domain.enums.Status;
  * Permite transferir dados entre as camadas sem expor a entidade completa.
  * Contém informações do chamado, incluindo IDs e nomes do técnico e cliente.
  * 
+ * <p>Nas listagens as observações só são enviadas quando pedidas ({@link ChamadoResumoDTO});
+ * o histórico de notas fica nos comentários do chamado. Com {@code ?fields=}, apenas os campos
+ * pedidos são serializados (filtro {@code campos}).</p>
+ * 
  * @author: Gustavo Barros
  */
+@JsonFilter("campos")
 public class ChamadoDTO implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -63,13 +69,23 @@ public class ChamadoDTO implements Serializable {
      * @param obj Entidade Chamado a ser convertida
      */
     public ChamadoDTO(Chamado obj) {
+        this(obj, true);
+    }
+
+    /**
+     * Construtor que converte uma entidade Chamado em DTO, com ou sem as observações.
+     * 
+     * @param obj Entidade Chamado a ser convertida
+     * @param comObservacoes Se {@code false}, as observações não são copiadas (listagens)
+     */
+    public ChamadoDTO(Chamado obj, boolean comObservacoes) {
         this.id = obj.getId();
         this.dataAbertura = obj.getDataAbertura();
         this.dataFechamento = obj.getDataFechamento();
         this.prioridade = obj.getPrioridade();
         this.status = obj.getStatus();
         this.titulo = obj.getTitulo();
-        this.observacoes = obj.getObservacoes();
+        this.observacoes = comObservacoes ? obj.getObservacoes() : null;
         this.tecnico = (obj.getTecnico() != null) ? obj.getTecnico().getId() : null;
         this.cliente = (obj.getCliente() != null) ? obj.getCliente().getId() : null;
         this.nomeTecnico = (obj.getTecnico() != null) ? obj.getTecnico().getNome() : null;
@@ -0,0 +1,30 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.turmab.helpdesk.domain.Chamado;
+
+/**
+ * Chamado nas listagens sem {@code ?observacoes=true}: os mesmos campos do
+ * {@link ChamadoDTO}, sem as observações. Nas demais respostas, o campo continua
+ * presente (inclusive quando nulo).
+ * 
+ * @author: Gustavo Barros
+ */
+@JsonIgnoreProperties("observacoes")
+public class ChamadoResumoDTO extends ChamadoDTO {
+    private static final long serialVersionUID = 1L;
+
+    /** Construtor padrão */
+    public ChamadoResumoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor que converte uma entidade Chamado em DTO, sem as observações.
+     * 
+     * @param obj Entidade Chamado a ser convertida
+     */
+    public ChamadoResumoDTO(Chamado obj) {
+        super(obj, false);
+    }
+}
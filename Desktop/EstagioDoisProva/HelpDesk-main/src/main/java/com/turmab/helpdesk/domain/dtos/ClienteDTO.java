@@ -4,6 +4,8 @@ import java.io.Serializable;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.enums.Perfil;
 
@@ -11,9 +13,11 @@ import com.turmab.helpdesk.domain.enums.Perfil;
  * Data Transfer Object (DTO) para a entidade Cliente.
  * Permite transferir dados do cliente sem expor a entidade completa.
  * Contém informações básicas, perfis e data de criação.
+ * Com {@code ?fields=}, apenas os campos pedidos são serializados (filtro {@code campos}).
  * 
  * Autor: Gustavo Barros
  */
+@JsonFilter("campos")
 public class ClienteDTO implements Serializable {
     
 	private static final long serialVersionUID = 1L;
@@ -0,0 +1,70 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+import com.turmab.helpdesk.domain.Comentario;
+
+/**
+ * Data Transfer Object (DTO) para a entidade Comentario.
+ * Na criação, apenas o texto é informado; os demais campos são preenchidos pelo sistema.
+ * 
+ * @author: Gustavo Barros
+ */
+public class ComentarioDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Identificador do comentário (usado como cursor em {@code ?after=}) */
+    private Integer id;
+
+    /** ID do chamado */
+    private Integer chamado;
+
+    /** Usuário que registrou o comentário */
+    private String autor;
+
+    /** Texto do comentário */
+    @NotBlank(message = "Texto é obrigatório")
+    @Size(max = Comentario.TAMANHO_MAXIMO, message = "Texto deve ter no máximo " + Comentario.TAMANHO_MAXIMO + " caracteres")
+    private String texto;
+
+    /** Instante do registro */
+    private Instant criadoEm;
+
+    /** Construtor padrão */
+    public ComentarioDTO() {
+        super();
+    }
+
+    /**
+     * Construtor que converte um {@link Comentario} em DTO.
+     * 
+     * @param obj Comentário a ser convertido
+     */
+    public ComentarioDTO(Comentario obj) {
+        this.id = obj.getId();
+        this.chamado = obj.getChamadoId();
+        this.autor = obj.getAutor();
+        this.texto = obj.getTexto();
+        this.criadoEm = obj.getCriadoEm();
+    }
+
+    /** Getters e Setters */
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Integer getChamado() { return chamado; }
+    public void setChamado(Integer chamado) { this.chamado = chamado; }
+
+    public String getAutor() { return autor; }
+    public void setAutor(String autor) { this.autor = autor; }
+
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+
+    public Instant getCriadoEm() { return criadoEm; }
+    public void setCriadoEm(Instant criadoEm) { this.criadoEm = criadoEm; }
+}
@@ -0,0 +1,89 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) com os contadores da compressão de respostas HTTP,
+ * acumulados desde a inicialização da aplicação.
+ * 
+ * @author: Gustavo Barros
+ */
+public class CompressaoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Respostas enviadas com gzip */
+    private Long respostasComprimidas;
+
+    /** Respostas compressíveis enviadas sem gzip por serem menores que o tamanho mínimo */
+    private Long respostasAbaixoDoLimite;
+
+    /** Bytes das respostas comprimidas, antes da compressão */
+    private Long bytesOriginais;
+
+    /** Bytes das respostas comprimidas, depois da compressão */
+    private Long bytesComprimidos;
+
+    /** Razão entre os bytes comprimidos e os originais (menor é melhor) */
+    private Double taxa;
+
+    /** Tempo gasto comprimindo, em milissegundos */
+    private Long tempoMs;
+
+    /** Tempo gasto para comprimir cada MB original, em milissegundos */
+    private Double msPorMb;
+
+    /** Se {@code true}, os tempos são de CPU da thread; senão, são tempo decorrido */
+    private Boolean tempoDeCpu;
+
+    /** Construtor padrão */
+    public CompressaoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor a partir dos contadores; a taxa e o custo por MB são calculados.
+     * 
+     * @param respostasComprimidas Respostas enviadas com gzip
+     * @param respostasAbaixoDoLimite Respostas enviadas sem gzip por serem pequenas
+     * @param bytesOriginais Bytes antes da compressão
+     * @param bytesComprimidos Bytes depois da compressão
+     * @param tempoMs Tempo gasto comprimindo, em milissegundos
+     * @param tempoDeCpu Se o tempo é de CPU
+     */
+    public CompressaoDTO(long respostasComprimidas, long respostasAbaixoDoLimite, long bytesOriginais,
+                         long bytesComprimidos, long tempoMs, boolean tempoDeCpu) {
+        this.respostasComprimidas = respostasComprimidas;
+        this.respostasAbaixoDoLimite = respostasAbaixoDoLimite;
+        this.bytesOriginais = bytesOriginais;
+        this.bytesComprimidos = bytesComprimidos;
+        this.taxa = (bytesOriginais > 0) ? (double) bytesComprimidos / bytesOriginais : null;
+        this.tempoMs = tempoMs;
+        this.msPorMb = (bytesOriginais > 0) ? tempoMs / (bytesOriginais / 1048576.0) : null;
+        this.tempoDeCpu = tempoDeCpu;
+    }
+
+    /** Getters e Setters */
+    public Long getRespostasComprimidas() { return respostasComprimidas; }
+    public void setRespostasComprimidas(Long respostasComprimidas) { this.respostasComprimidas = respostasComprimidas; }
+
+    public Long getRespostasAbaixoDoLimite() { return respostasAbaixoDoLimite; }
+    public void setRespostasAbaixoDoLimite(Long respostasAbaixoDoLimite) { this.respostasAbaixoDoLimite = respostasAbaixoDoLimite; }
+
+    public Long getBytesOriginais() { return bytesOriginais; }
+    public void setBytesOriginais(Long bytesOriginais) { this.bytesOriginais = bytesOriginais; }
+
+    public Long getBytesComprimidos() { return bytesComprimidos; }
+    public void setBytesComprimidos(Long bytesComprimidos) { this.bytesComprimidos = bytesComprimidos; }
+
+    public Double getTaxa() { return taxa; }
+    public void setTaxa(Double taxa) { this.taxa = taxa; }
+
+    public Long getTempoMs() { return tempoMs; }
+    public void setTempoMs(Long tempoMs) { this.tempoMs = tempoMs; }
+
+    public Double getMsPorMb() { return msPorMb; }
+    public void setMsPorMb(Double msPorMb) { this.msPorMb = msPorMb; }
+
+    public Boolean getTempoDeCpu() { return tempoDeCpu; }
+    public void setTempoDeCpu(Boolean tempoDeCpu) { this.tempoDeCpu = tempoDeCpu; }
+}
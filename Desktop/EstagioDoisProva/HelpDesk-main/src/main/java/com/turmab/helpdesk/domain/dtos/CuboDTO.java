@@ -0,0 +1,53 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) com o resultado de uma consulta ao cubo de chamados.
+ * Cada linha traz o valor de cada dimensão pedida e a quantidade de chamados.
+ * Datas são expressas como {@code yyyy-MM-dd} (dia) e {@code yyyy-MM} (mês).
+ * 
+ * @author: Gustavo Barros
+ */
+public class CuboDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Dimensões do agrupamento, na ordem pedida */
+    private List<String> dimensoes;
+
+    /** Total de chamados que atendem aos filtros */
+    private Long total;
+
+    /** Linhas do resultado, ordenadas pelos valores das dimensões */
+    private List<Map<String, Object>> linhas;
+
+    /** Construtor padrão */
+    public CuboDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param dimensoes Dimensões do agrupamento
+     * @param total Total de chamados
+     * @param linhas Linhas do resultado
+     */
+    public CuboDTO(List<String> dimensoes, Long total, List<Map<String, Object>> linhas) {
+        this.dimensoes = dimensoes;
+        this.total = total;
+        this.linhas = linhas;
+    }
+
+    /** Getters e Setters */
+    public List<String> getDimensoes() { return dimensoes; }
+    public void setDimensoes(List<String> dimensoes) { this.dimensoes = dimensoes; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+
+    public List<Map<String, Object>> getLinhas() { return linhas; }
+    public void setLinhas(List<Map<String, Object>> linhas) { this.linhas = linhas; }
+}
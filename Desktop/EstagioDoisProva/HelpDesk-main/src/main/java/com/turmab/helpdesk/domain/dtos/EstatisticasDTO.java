@@ -0,0 +1,60 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) com a contagem de chamados para o painel gerencial.
+ * As chaves dos mapas são os códigos de status, de prioridade e o ID do técnico.
+ * 
+ * @author: Gustavo Barros
+ */
+public class EstatisticasDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Total de chamados (ativos e arquivados) */
+    private Long total;
+
+    /** Quantidade de chamados por código de status */
+    private Map<Integer, Long> porStatus;
+
+    /** Quantidade de chamados por código de prioridade */
+    private Map<Integer, Long> porPrioridade;
+
+    /** Quantidade de chamados por ID do técnico */
+    private Map<Integer, Long> porTecnico;
+
+    /** Construtor padrão */
+    public EstatisticasDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param total Total de chamados
+     * @param porStatus Quantidade por status
+     * @param porPrioridade Quantidade por prioridade
+     * @param porTecnico Quantidade por técnico
+     */
+    public EstatisticasDTO(Long total, Map<Integer, Long> porStatus, Map<Integer, Long> porPrioridade,
+                           Map<Integer, Long> porTecnico) {
+        this.total = total;
+        this.porStatus = porStatus;
+        this.porPrioridade = porPrioridade;
+        this.porTecnico = porTecnico;
+    }
+
+    /** Getters e Setters */
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+
+    public Map<Integer, Long> getPorStatus() { return porStatus; }
+    public void setPorStatus(Map<Integer, Long> porStatus) { this.porStatus = porStatus; }
+
+    public Map<Integer, Long> getPorPrioridade() { return porPrioridade; }
+    public void setPorPrioridade(Map<Integer, Long> porPrioridade) { this.porPrioridade = porPrioridade; }
+
+    public Map<Integer, Long> getPorTecnico() { return porTecnico; }
+    public void setPorTecnico(Map<Integer, Long> porTecnico) { this.porTecnico = porTecnico; }
+}
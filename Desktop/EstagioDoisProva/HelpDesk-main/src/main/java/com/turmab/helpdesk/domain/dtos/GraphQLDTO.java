@@ -0,0 +1,51 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) com o corpo de uma requisição GraphQL
+ * ({@code POST /graphql}), nos nomes definidos pela especificação.
+ * 
+ * @author: Gustavo Barros
+ */
+public class GraphQLDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Texto da consulta */
+    private String query;
+
+    /** Operação a executar, quando a consulta tiver mais de uma */
+    private String operationName;
+
+    /** Valores das variáveis da consulta */
+    private Map<String, Object> variables;
+
+    /** Construtor padrão */
+    public GraphQLDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param query Texto da consulta
+     * @param operationName Operação a executar
+     * @param variables Valores das variáveis
+     */
+    public GraphQLDTO(String query, String operationName, Map<String, Object> variables) {
+        this.query = query;
+        this.operationName = operationName;
+        this.variables = variables;
+    }
+
+    /** Getters e Setters */
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getOperationName() { return operationName; }
+    public void setOperationName(String operationName) { this.operationName = operationName; }
+
+    public Map<String, Object> getVariables() { return variables; }
+    public void setVariables(Map<String, Object> variables) { this.variables = variables; }
+}
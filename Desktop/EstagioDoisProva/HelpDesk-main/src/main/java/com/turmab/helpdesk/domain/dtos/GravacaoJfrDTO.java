@@ -0,0 +1,58 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) com o arquivo gravado a partir da gravação contínua do JFR.
+ * 
+ * @author: Gustavo Barros
+ */
+public class GravacaoJfrDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Nome do arquivo {@code .jfr}, dentro de {@code helpdesk.jfr.diretorio} no servidor */
+    private String arquivo;
+
+    /** Tamanho do arquivo, em bytes */
+    private Long tamanhoBytes;
+
+    /** Início do intervalo gravado */
+    private Instant inicio;
+
+    /** Fim do intervalo gravado */
+    private Instant fim;
+
+    /** Construtor padrão */
+    public GravacaoJfrDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param arquivo Nome do arquivo
+     * @param tamanhoBytes Tamanho do arquivo, em bytes
+     * @param inicio Início do intervalo gravado
+     * @param fim Fim do intervalo gravado
+     */
+    public GravacaoJfrDTO(String arquivo, long tamanhoBytes, Instant inicio, Instant fim) {
+        this.arquivo = arquivo;
+        this.tamanhoBytes = tamanhoBytes;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    /** Getters e Setters */
+    public String getArquivo() { return arquivo; }
+    public void setArquivo(String arquivo) { this.arquivo = arquivo; }
+
+    public Long getTamanhoBytes() { return tamanhoBytes; }
+    public void setTamanhoBytes(Long tamanhoBytes) { this.tamanhoBytes = tamanhoBytes; }
+
+    public Instant getInicio() { return inicio; }
+    public void setInicio(Instant inicio) { this.inicio = inicio; }
+
+    public Instant getFim() { return fim; }
+    public void setFim(Instant fim) { this.fim = fim; }
+}
@@ -0,0 +1,68 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) com uma alteração registrada no histórico de um chamado.
+ * O campo pode ser {@code status}, {@code prioridade}, {@code tecnico}, {@code cliente}
+ * ou {@code exclusao}; os valores são códigos (status e prioridade) ou IDs (técnico e cliente).
+ * 
+ * @author: Gustavo Barros
+ */
+public class HistoricoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Instante da alteração */
+    private Instant instante;
+
+    /** Usuário que fez a alteração */
+    private String usuario;
+
+    /** Campo alterado */
+    private String campo;
+
+    /** Valor anterior, ou null na criação do chamado */
+    private Integer anterior;
+
+    /** Valor novo */
+    private Integer novo;
+
+    /** Construtor padrão */
+    public HistoricoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param instante Instante da alteração
+     * @param usuario Usuário que fez a alteração
+     * @param campo Campo alterado
+     * @param anterior Valor anterior
+     * @param novo Valor novo
+     */
+    public HistoricoDTO(Instant instante, String usuario, String campo, Integer anterior, Integer novo) {
+        this.instante = instante;
+        this.usuario = usuario;
+        this.campo = campo;
+        this.anterior = anterior;
+        this.novo = novo;
+    }
+
+    /** Getters e Setters */
+    public Instant getInstante() { return instante; }
+    public void setInstante(Instant instante) { this.instante = instante; }
+
+    public String getUsuario() { return usuario; }
+    public void setUsuario(String usuario) { this.usuario = usuario; }
+
+    public String getCampo() { return campo; }
+    public void setCampo(String campo) { this.campo = campo; }
+
+    public Integer getAnterior() { return anterior; }
+    public void setAnterior(Integer anterior) { this.anterior = anterior; }
+
+    public Integer getNovo() { return novo; }
+    public void setNovo(Integer novo) { this.novo = novo; }
+}
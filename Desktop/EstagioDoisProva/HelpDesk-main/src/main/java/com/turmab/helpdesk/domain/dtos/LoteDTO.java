@@ -0,0 +1,47 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) com o resultado de uma busca de vários registros por ID
+ * ({@code ?ids=}).
+ * 
+ * <p>Os registros encontrados vêm na ordem dos IDs pedidos; os IDs inexistentes são
+ * informados à parte, sem falhar a requisição.</p>
+ * 
+ * @param <T> tipo do DTO dos registros
+ * @author: Gustavo Barros
+ */
+public class LoteDTO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Registros encontrados, na ordem pedida */
+    private List<T> itens;
+
+    /** IDs pedidos que não foram encontrados */
+    private List<Integer> naoEncontrados;
+
+    /** Construtor padrão */
+    public LoteDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param itens Registros encontrados, na ordem pedida
+     * @param naoEncontrados IDs não encontrados
+     */
+    public LoteDTO(List<T> itens, List<Integer> naoEncontrados) {
+        this.itens = itens;
+        this.naoEncontrados = naoEncontrados;
+    }
+
+    /** Getters e Setters */
+    public List<T> getItens() { return itens; }
+    public void setItens(List<T> itens) { this.itens = itens; }
+
+    public List<Integer> getNaoEncontrados() { return naoEncontrados; }
+    public void setNaoEncontrados(List<Integer> naoEncontrados) { this.naoEncontrados = naoEncontrados; }
+}
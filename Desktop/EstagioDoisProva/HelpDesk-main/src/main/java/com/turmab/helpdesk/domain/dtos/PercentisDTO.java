@@ -0,0 +1,66 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) com os percentis do tempo de resolução de um grupo de
+ * chamados. Os tempos são expressos em segundos.
+ * 
+ * @author: Gustavo Barros
+ */
+public class PercentisDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Quantidade de chamados encerrados */
+    private Long quantidade;
+
+    /** Mediana do tempo de resolução */
+    private Long p50;
+
+    /** Percentil 90 do tempo de resolução */
+    private Long p90;
+
+    /** Percentil 99 do tempo de resolução */
+    private Long p99;
+
+    /** Maior tempo de resolução */
+    private Long maximo;
+
+    /** Construtor padrão */
+    public PercentisDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param quantidade Quantidade de chamados
+     * @param p50 Mediana
+     * @param p90 Percentil 90
+     * @param p99 Percentil 99
+     * @param maximo Maior tempo
+     */
+    public PercentisDTO(Long quantidade, Long p50, Long p90, Long p99, Long maximo) {
+        this.quantidade = quantidade;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.maximo = maximo;
+    }
+
+    /** Getters e Setters */
+    public Long getQuantidade() { return quantidade; }
+    public void setQuantidade(Long quantidade) { this.quantidade = quantidade; }
+
+    public Long getP50() { return p50; }
+    public void setP50(Long p50) { this.p50 = p50; }
+
+    public Long getP90() { return p90; }
+    public void setP90(Long p90) { this.p90 = p90; }
+
+    public Long getP99() { return p99; }
+    public void setP99(Long p99) { this.p99 = p99; }
+
+    public Long getMaximo() { return maximo; }
+    public void setMaximo(Long maximo) { this.maximo = maximo; }
+}
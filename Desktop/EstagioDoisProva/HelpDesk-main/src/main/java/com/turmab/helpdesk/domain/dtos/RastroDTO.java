@@ -0,0 +1,79 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.turmab.helpdesk.config.Rastreamento;
+
+/**
+ * Data Transfer Object (DTO) com o rastro de uma requisição amostrada.
+ * 
+ * <p>Na listagem, os spans não são incluídos; apenas a quantidade.</p>
+ * 
+ * @author: Gustavo Barros
+ */
+public class RastroDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** ID do rastro (32 dígitos hexadecimais), o mesmo de {@code traceparent} */
+    private String traceId;
+
+    /** Nome do span raiz: método e endpoint */
+    private String nome;
+
+    /** Instante de início da requisição */
+    private Instant inicio;
+
+    /** Duração da requisição, em milissegundos */
+    private Double duracaoMs;
+
+    /** Quantidade de spans registrados */
+    private Integer quantidadeSpans;
+
+    /** Spans, na ordem em que começaram (nulo na listagem) */
+    private List<SpanDTO> spans;
+
+    /** Construtor padrão */
+    public RastroDTO() {
+        super();
+    }
+
+    /**
+     * Construtor a partir de um rastro registrado.
+     * 
+     * @param obj Rastro registrado
+     * @param comSpans Se {@code true}, inclui os spans
+     */
+    public RastroDTO(Rastreamento.Rastro obj, boolean comSpans) {
+        Rastreamento.Span raiz = obj.getSpans().get(0);
+        this.traceId = obj.getTraceId();
+        this.nome = raiz.getNome();
+        this.inicio = Instant.ofEpochMilli(obj.getInicioEpochMs());
+        this.duracaoMs = raiz.getDuracaoUs() / 1000.0;
+        this.quantidadeSpans = obj.getSpans().size();
+        if (comSpans) {
+            this.spans = obj.getSpans().stream().map(SpanDTO::new).collect(Collectors.toList());
+        }
+    }
+
+    /** Getters e Setters */
+    public String getTraceId() { return traceId; }
+    public void setTraceId(String traceId) { this.traceId = traceId; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public Instant getInicio() { return inicio; }
+    public void setInicio(Instant inicio) { this.inicio = inicio; }
+
+    public Double getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(Double duracaoMs) { this.duracaoMs = duracaoMs; }
+
+    public Integer getQuantidadeSpans() { return quantidadeSpans; }
+    public void setQuantidadeSpans(Integer quantidadeSpans) { this.quantidadeSpans = quantidadeSpans; }
+
+    public List<SpanDTO> getSpans() { return spans; }
+    public void setSpans(List<SpanDTO> spans) { this.spans = spans; }
+}
@@ -0,0 +1,52 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) com os percentis do tempo de resolução de chamados
+ * encerrados nos últimos dias, por técnico e por prioridade.
+ * As chaves dos mapas são o ID do técnico e o código da prioridade.
+ * 
+ * @author: Gustavo Barros
+ */
+public class ResolucaoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Quantidade de dias considerados, incluindo o dia atual */
+    private Integer dias;
+
+    /** Percentis por ID do técnico */
+    private Map<Integer, PercentisDTO> porTecnico;
+
+    /** Percentis por código de prioridade */
+    private Map<Integer, PercentisDTO> porPrioridade;
+
+    /** Construtor padrão */
+    public ResolucaoDTO() {
+        super();
+    }
+
+    /**
+     * Construtor com todos os campos.
+     * 
+     * @param dias Quantidade de dias considerados
+     * @param porTecnico Percentis por técnico
+     * @param porPrioridade Percentis por prioridade
+     */
+    public ResolucaoDTO(Integer dias, Map<Integer, PercentisDTO> porTecnico, Map<Integer, PercentisDTO> porPrioridade) {
+        this.dias = dias;
+        this.porTecnico = porTecnico;
+        this.porPrioridade = porPrioridade;
+    }
+
+    /** Getters e Setters */
+    public Integer getDias() { return dias; }
+    public void setDias(Integer dias) { this.dias = dias; }
+
+    public Map<Integer, PercentisDTO> getPorTecnico() { return porTecnico; }
+    public void setPorTecnico(Map<Integer, PercentisDTO> porTecnico) { this.porTecnico = porTecnico; }
+
+    public Map<Integer, PercentisDTO> getPorPrioridade() { return porPrioridade; }
+    public void setPorPrioridade(Map<Integer, PercentisDTO> porPrioridade) { this.porPrioridade = porPrioridade; }
+}
@@ -0,0 +1,71 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.turmab.helpdesk.config.Rastreamento;
+
+/**
+ * Data Transfer Object (DTO) de um span de um rastro de requisição.
+ * 
+ * @author: Gustavo Barros
+ */
+public class SpanDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** ID do span (16 dígitos hexadecimais) */
+    private String id;
+
+    /** ID do span pai; na raiz, o recebido em {@code traceparent}, se houver */
+    private String paiId;
+
+    /** Nome do trecho medido, ex.: {@code ChamadoService.create} */
+    private String nome;
+
+    /** Início, em microssegundos a partir do início do rastro */
+    private Long inicioUs;
+
+    /** Duração, em microssegundos (-1 se não terminou) */
+    private Long duracaoUs;
+
+    /** Atributos do span, como o status HTTP ou a exceção lançada */
+    private Map<String, String> atributos;
+
+    /** Construtor padrão */
+    public SpanDTO() {
+        super();
+    }
+
+    /**
+     * Construtor a partir de um span.
+     * 
+     * @param obj Span registrado
+     */
+    public SpanDTO(Rastreamento.Span obj) {
+        this.id = obj.getId();
+        this.paiId = obj.getPaiId();
+        this.nome = obj.getNome();
+        this.inicioUs = obj.getInicioUs();
+        this.duracaoUs = obj.getDuracaoUs();
+        this.atributos = obj.getAtributos();
+    }
+
+    /** Getters e Setters */
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getPaiId() { return paiId; }
+    public void setPaiId(String paiId) { this.paiId = paiId; }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+
+    public Long getInicioUs() { return inicioUs; }
+    public void setInicioUs(Long inicioUs) { this.inicioUs = inicioUs; }
+
+    public Long getDuracaoUs() { return duracaoUs; }
+    public void setDuracaoUs(Long duracaoUs) { this.duracaoUs = duracaoUs; }
+
+    public Map<String, String> getAtributos() { return atributos; }
+    public void setAtributos(Map<String, String> atributos) { this.atributos = atributos; }
+}
@@ -6,16 +6,18 @@ import java.io.Serializable;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.turmab.helpdesk.domain.Tecnico;
 
 /**
  * Data Transfer Object (DTO) para a entidade Tecnico.
  * Permite transferir dados do técnico sem expor a entidade completa.
  * Contém informações básicas, perfis e data de criação.
+ * Com {@code ?fields=}, apenas os campos pedidos são serializados (filtro {@code campos}).
  * 
  * @author: Gustavo Barros
  */
+@JsonFilter("campos")
 public class TecnicoDTO implements Serializable {
     
 	private static final long serialVersionUID = 1L;
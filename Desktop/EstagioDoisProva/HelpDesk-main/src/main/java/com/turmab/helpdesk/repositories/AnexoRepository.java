@@ -0,0 +1,41 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.turmab.helpdesk.domain.Anexo;
+
+/**
+ * Repositório JPA para a entidade Anexo.
+ * 
+ * Métodos personalizados:
+ * - findByChamadoIdOrderById(Integer chamadoId): lista os anexos de um chamado.
+ * - findByIdAndChamadoId(Integer id, Integer chamadoId): busca um anexo de um chamado.
+ * - existsByHash(String hash): verifica se outro anexo usa o mesmo arquivo.
+ * - findHashesByChamadoId(chamadoId): hashes dos arquivos anexados a um chamado, sem repetição.
+ * - deleteByChamadoId(chamadoId): exclui em lote os anexos de um chamado.
+ * 
+ * @author: Gustavo Barros
+ */
+@Repository
+public interface AnexoRepository extends JpaRepository<Anexo, Integer> {
+
+	List<Anexo> findByChamadoIdOrderById(Integer chamadoId);
+
+	Optional<Anexo> findByIdAndChamadoId(Integer id, Integer chamadoId);
+
+	boolean existsByHash(String hash);
+
+	@Query("select distinct obj.hash from Anexo obj where obj.chamadoId = :chamadoId")
+	List<String> findHashesByChamadoId(Integer chamadoId);
+
+	@Modifying
+	@Query("delete from Anexo obj where obj.chamadoId = :chamadoId")
+	int deleteByChamadoId(Integer chamadoId);
+
+}
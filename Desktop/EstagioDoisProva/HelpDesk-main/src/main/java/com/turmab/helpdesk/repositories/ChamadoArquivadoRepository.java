@@ -0,0 +1,70 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.turmab.helpdesk.domain.ChamadoArquivado;
+
+/**
+ * Repositório JPA para a entidade ChamadoArquivado (tabela de arquivo de chamados encerrados).
+ * 
+ * Métodos personalizados:
+ * - findAllComPessoas(): lista os chamados arquivados já com técnico e cliente.
+ * - findAllComPessoasEObservacoes() / findAllByIdComObservacoes(ids): idem, já com as observações.
+ * - findVersaoById(Integer id): busca apenas a versão do registro, sem carregar a entidade.
+ * - findTextosAposId(id, pageable): lê ID, título e observações após um ID (reconstrução do índice de busca).
+ * - countPorStatusPrioridadeTecnico(): contagem agrupada por status, prioridade e técnico (estatísticas).
+ * - countCubo(): contagem agrupada por data de abertura, status, prioridade, técnico e cliente (cubo de relatórios).
+ * - countByIdLessThan(0): não conta nada; abre a leitura consistente das conferências de contagem.
+ * - existsByTecnicoId / existsByClienteId: verificam vínculos antes de excluir pessoas.
+ * - copiaDeChamado(ids, data): copia, via INSERT ... SELECT, chamados da tabela ativa para o arquivo.
+ * 
+ * @author: Gustavo Barros
+ */
+@Repository
+public interface ChamadoArquivadoRepository extends JpaRepository<ChamadoArquivado, Integer> {
+
+	@Query("select obj from ChamadoArquivado obj left join fetch obj.tecnico left join fetch obj.cliente")
+	List<ChamadoArquivado> findAllComPessoas();
+
+	@Query("select obj from ChamadoArquivado obj fetch all properties left join fetch obj.tecnico left join fetch obj.cliente")
+	List<ChamadoArquivado> findAllComPessoasEObservacoes();
+
+	@Query("select obj from ChamadoArquivado obj fetch all properties where obj.id in :ids")
+	List<ChamadoArquivado> findAllByIdComObservacoes(List<Integer> ids);
+
+	@Query("select obj.versao from ChamadoArquivado obj where obj.id = :id")
+	Optional<Integer> findVersaoById(Integer id);
+
+	@Query("select obj.id, obj.titulo, obj.observacoes from ChamadoArquivado obj where obj.id > :id order by obj.id")
+	List<Object[]> findTextosAposId(Integer id, Pageable pageable);
+
+	@Query("select obj.status, obj.prioridade, obj.tecnico.id, count(obj) from ChamadoArquivado obj "
+			+ "group by obj.status, obj.prioridade, obj.tecnico.id")
+	List<Object[]> countPorStatusPrioridadeTecnico();
+
+	@Query("select obj.dataAbertura, obj.status, obj.prioridade, obj.tecnico.id, obj.cliente.id, count(obj) "
+			+ "from ChamadoArquivado obj group by obj.dataAbertura, obj.status, obj.prioridade, obj.tecnico.id, obj.cliente.id")
+	List<Object[]> countCubo();
+
+	long countByIdLessThan(Integer id);
+
+	boolean existsByTecnicoId(Integer id);
+
+	boolean existsByClienteId(Integer id);
+
+	@Modifying
+	@Query(nativeQuery = true, value = "insert into chamado_arquivado "
+			+ "(id, versao, data_abertura, data_fechamento, aberto_em, fechado_em, data_arquivamento, prioridade, status, titulo, observacoes, tecnico_id, cliente_id) "
+			+ "select id, versao, data_abertura, data_fechamento, aberto_em, fechado_em, :data, prioridade, status, titulo, observacoes, tecnico_id, cliente_id "
+			+ "from chamado where id in (:ids)")
+	int copiaDeChamado(List<Integer> ids, LocalDate data);
+
+}
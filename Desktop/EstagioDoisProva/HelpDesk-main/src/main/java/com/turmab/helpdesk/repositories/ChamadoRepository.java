@@ -1,6 +1,16 @@
 package com.turmab.helpdesk.repositories;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import javax.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.turmab.helpdesk.domain.Chamado;
@@ -15,9 +25,68 @@ import com.turmab.helpdesk.domain.Chamado;
  * - save(Chamado entity)
  * - deleteById(Integer id)
  * 
+ * Métodos personalizados:
+ * - findVersaoById(Integer id): busca apenas a versão do registro, sem carregar a entidade.
+ * - findAllComObservacoes() / findAllByIdComObservacoes(ids): carregam os chamados já com as observações
+ *   (que, por padrão, são lidas sob demanda).
+ * - findTextosAposId(id, pageable): lê ID, título e observações após um ID (reconstrução do índice de busca).
+ * - countPorStatusPrioridadeTecnico(): contagem agrupada por status, prioridade e técnico (estatísticas).
+ * - countCubo(): contagem agrupada por data de abertura, status, prioridade, técnico e cliente (cubo de relatórios).
+ * - countByIdLessThan(0): não conta nada; abre a leitura consistente das conferências de contagem.
+ * - findIdsParaArquivar / countParaArquivar / findFechamentoMaisAntigo: localizam chamados
+ *   com o status informado fechados antes de uma data (usados pelo arquivamento).
+ * - deleteByIdIn(ids): exclui em lote os chamados já copiados para o arquivo.
+ * - findIdParaVincular(id) / findIdParaExcluir(id): travam a linha do chamado, compartilhada ao
+ *   gravar um registro vinculado a ele (anexo) e exclusiva ao excluí-lo, para que um não
+ *   seja gravado durante a exclusão do chamado (não há chave estrangeira).
+ * 
  * @author: Gustavo Barros
  */
 @Repository
 public interface ChamadoRepository extends JpaRepository<Chamado, Integer> {
 
+	@Query("select obj.versao from Chamado obj where obj.id = :id")
+	Optional<Integer> findVersaoById(Integer id);
+
+	@Query("select obj from Chamado obj fetch all properties")
+	List<Chamado> findAllComObservacoes();
+
+	@Query("select obj from Chamado obj fetch all properties where obj.id in :ids")
+	List<Chamado> findAllByIdComObservacoes(List<Integer> ids);
+
+	@Query("select obj.id, obj.titulo, obj.observacoes from Chamado obj where obj.id > :id order by obj.id")
+	List<Object[]> findTextosAposId(Integer id, Pageable pageable);
+
+	@Query("select obj.status, obj.prioridade, obj.tecnico.id, count(obj) from Chamado obj "
+			+ "group by obj.status, obj.prioridade, obj.tecnico.id")
+	List<Object[]> countPorStatusPrioridadeTecnico();
+
+	@Query("select obj.dataAbertura, obj.status, obj.prioridade, obj.tecnico.id, obj.cliente.id, count(obj) "
+			+ "from Chamado obj group by obj.dataAbertura, obj.status, obj.prioridade, obj.tecnico.id, obj.cliente.id")
+	List<Object[]> countCubo();
+
+	long countByIdLessThan(Integer id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select obj.id from Chamado obj where obj.status = :status and obj.dataFechamento < :limite order by obj.id")
+	List<Integer> findIdsParaArquivar(Integer status, LocalDate limite, Pageable pageable);
+
+	@Query("select count(obj) from Chamado obj where obj.status = :status and obj.dataFechamento < :limite")
+	long countParaArquivar(Integer status, LocalDate limite);
+
+	@Query("select min(obj.dataFechamento) from Chamado obj where obj.status = :status and obj.dataFechamento < :limite")
+	Optional<LocalDate> findFechamentoMaisAntigo(Integer status, LocalDate limite);
+
+	@Modifying
+	@Query("delete from Chamado obj where obj.id in :ids")
+	int deleteByIdIn(List<Integer> ids);
+
+	@Lock(LockModeType.PESSIMISTIC_READ)
+	@Query("select obj.id from Chamado obj where obj.id = :id")
+	Optional<Integer> findIdParaVincular(Integer id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select obj.id from Chamado obj where obj.id = :id")
+	Optional<Integer> findIdParaExcluir(Integer id);
+
 }
@@ -1,6 +1,10 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.turmab.helpdesk.domain.Cliente;
@@ -15,9 +19,19 @@ import com.turmab.helpdesk.domain.Cliente;
  * - save(Cliente entity)
  * - deleteById(Integer id)
  * 
+ * Métodos personalizados:
+ * - findVersaoById(Integer id): busca apenas a versão do registro, sem carregar a entidade.
+ * - findAllComPerfisById(ids): carrega vários registros com os perfis em uma única consulta.
+ * 
  * @author: Gustavo Barros
  */
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Integer> {
 
+	@Query("select obj.versao from Cliente obj where obj.id = :id")
+	Optional<Integer> findVersaoById(Integer id);
+
+	@Query("select distinct obj from Cliente obj left join fetch obj.perfis where obj.id in :ids")
+	List<Cliente> findAllComPerfisById(List<Integer> ids);
+
 }
@@ -0,0 +1,39 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.turmab.helpdesk.domain.Comentario;
+
+/**
+ * Repositório JPA para a entidade Comentario.
+ * 
+ * Métodos personalizados:
+ * - findAposId(chamadoId, after, pageable): lê os comentários de um chamado com ID maior que {@code after} (paginação por chave).
+ * - countByChamadoId(Integer chamadoId): conta os comentários de um chamado sem carregá-los.
+ * - findByIdAndChamadoId(Integer id, Integer chamadoId): busca um comentário de um chamado.
+ * - deleteByChamadoId(chamadoId): exclui em lote os comentários de um chamado.
+ * 
+ * @author: Gustavo Barros
+ */
+@Repository
+public interface ComentarioRepository extends JpaRepository<Comentario, Integer> {
+
+	@Query("select obj from Comentario obj where obj.chamadoId = :chamadoId and obj.id > :after order by obj.id")
+	List<Comentario> findAposId(Integer chamadoId, Integer after, Pageable pageable);
+
+	long countByChamadoId(Integer chamadoId);
+
+	Optional<Comentario> findByIdAndChamadoId(Integer id, Integer chamadoId);
+
+	@Modifying
+	@Query("delete from Comentario obj where obj.chamadoId = :chamadoId")
+	int deleteByChamadoId(Integer chamadoId);
+
+}
@@ -1,8 +1,11 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 
@@ -21,6 +24,7 @@ import com.turmab.helpdesk.domain.Pessoa;
  * Métodos personalizados:
  * - findByCpf(String cpf): busca uma Pessoa pelo CPF.
  * - findByEmail(String email): busca uma Pessoa pelo email.
+ * - findPerfisByIdIn(ids): lê pares (ID da pessoa, código do perfil), sem carregar as pessoas.
  * 
  * @author: Gustavo Barros
  */
@@ -31,4 +35,7 @@ public interface PessoaRepository extends JpaRepository<Pessoa, Integer> {
 
 	Optional<Pessoa> findByEmail(String email);
 
+	@Query("select obj.id, perfil from Pessoa obj join obj.perfis perfil where obj.id in :ids")
+	List<Object[]> findPerfisByIdIn(Collection<Integer> ids);
+
 }
@@ -0,0 +1,29 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.turmab.helpdesk.domain.ResolucaoSnapshot;
+
+/**
+ * Repositório JPA para a entidade ResolucaoSnapshot.
+ * 
+ * Métodos personalizados:
+ * - findByInstanciaAndDimensaoAndChaveAndDia(...): busca o histograma de uma instância, dimensão, chave e dia.
+ * - findByDiaGreaterThanEqual(LocalDate inicio): busca os histogramas de todas as instâncias a partir de um dia.
+ * 
+ * @author: Gustavo Barros
+ */
+@Repository
+public interface ResolucaoSnapshotRepository extends JpaRepository<ResolucaoSnapshot, Integer> {
+
+	Optional<ResolucaoSnapshot> findByInstanciaAndDimensaoAndChaveAndDia(String instancia, String dimensao,
+			Integer chave, LocalDate dia);
+
+	List<ResolucaoSnapshot> findByDiaGreaterThanEqual(LocalDate inicio);
+
+}
@@ -0,0 +1,57 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.turmab.helpdesk.config.Alocacao;
+import com.turmab.helpdesk.domain.dtos.AlocacaoDTO;
+
+/**
+ * Controlador REST com o ranking dos endpoints e caminhos de código que mais alocam
+ * memória no heap ({@link Alocacao}). Restrito ao perfil ADMIN.
+ *
+ * <p>
+ * Exemplo de acesso: <b>http://localhost:8080/alocacao?limite=10</b>
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/alocacao")
+public class AlocacaoResource {
+
+    /**
+     * Retorna os endpoints e os caminhos de código que mais alocaram, pelo total de bytes.
+     *
+     * @param limite Quantidade máxima de itens em cada ranking (padrão 20).
+     * @return um mapa com os rankings {@code endpoints} e {@code caminhos}
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, List<AlocacaoDTO>>> ranking(
+            @RequestParam(value = "limite", defaultValue = "20") int limite) {
+        Map<String, List<AlocacaoDTO>> ranking = new LinkedHashMap<>();
+        ranking.put("endpoints", Alocacao.rankingEndpoints(limite));
+        ranking.put("caminhos", Alocacao.rankingCaminhos(limite));
+        return ResponseEntity.ok().body(ranking);
+    }
+
+    /**
+     * Descarta os valores acumulados, por exemplo antes de um teste de carga.
+     *
+     * @return resposta vazia
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> zera() {
+        Alocacao.zera();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.turmab.helpdesk.resources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.turmab.helpdesk.domain.Anexo;
+import com.turmab.helpdesk.domain.dtos.AnexoDTO;
+import com.turmab.helpdesk.service.AnexoService;
+
+/**
+ * Controlador REST responsável pelos arquivos anexados a um chamado.
+ *
+ * <p>
+ * O envio é feito com o conteúdo do arquivo no corpo da requisição (sem multipart), o
+ * tipo em {@code Content-Type} e o nome em {@code ?nome=}. Com o Tomcat, o download é
+ * servido direto do disco via <i>sendfile</i>, sem passar o conteúdo pelo heap. Nos
+ * demais casos, {@link FileChannel#transferTo} escreve no stream da resposta por meio
+ * de {@link Channels#newChannel(OutputStream)}, que copia cada bloco por um buffer no
+ * heap (não há cópia zero). Requisições com um único intervalo em {@code Range} recebem
+ * {@code 206 Partial Content}.
+ * </p>
+ *
+ * <p>
+ * Exemplo de acesso: <b>http://localhost:8080/chamados/1/anexos</b>
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/chamados/{id}/anexos")
+public class AnexoResource {
+
+    /** Atributos de requisição do Tomcat para envio com sendfile. */
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private AnexoService service;
+
+    /**
+     * Lista os anexos de um chamado.
+     *
+     * @param id identificador do chamado
+     * @return uma lista de {@link AnexoDTO}
+     */
+    @GetMapping
+    public ResponseEntity<List<AnexoDTO>> findAll(@PathVariable Integer id) {
+        List<AnexoDTO> listDTO = service.findAll(id).stream().map(AnexoDTO::new).collect(Collectors.toList());
+        return ResponseEntity.ok().body(listDTO);
+    }
+
+    /**
+     * Anexa um arquivo a um chamado.
+     *
+     * @param id      identificador do chamado
+     * @param nome    nome original do arquivo
+     * @param request requisição, cujo corpo é o conteúdo do arquivo
+     * @return resposta HTTP 201 (Created) com os metadados do anexo
+     * @throws IOException em caso de falha de leitura do corpo ou de gravação em disco
+     */
+    @PostMapping
+    public ResponseEntity<AnexoDTO> create(@PathVariable Integer id, @RequestParam(value = "nome") String nome,
+            HttpServletRequest request) throws IOException {
+        Anexo obj = service.create(id, nome, request.getContentType(), request.getInputStream());
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{anexo}").buildAndExpand(obj.getId()).toUri();
+        return ResponseEntity.created(uri).body(new AnexoDTO(obj));
+    }
+
+    /**
+     * Envia o conteúdo de um anexo, inteiro ou o intervalo pedido em {@code Range}.
+     *
+     * @param id       identificador do chamado
+     * @param anexo    identificador do anexo
+     * @param request  requisição
+     * @param response resposta, escrita diretamente
+     * @throws IOException em caso de falha de leitura do arquivo ou de escrita na resposta
+     */
+    @GetMapping(value = "/{anexo}")
+    public void download(@PathVariable Integer id, @PathVariable Integer anexo, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Anexo obj = service.findById(id, anexo);
+        Path arquivo = service.arquivo(obj);
+        long tamanho = Files.size(arquivo);
+        String etag = "\"" + obj.getHash() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(obj.getTipo());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.builder("attachment").filename(obj.getNome(), StandardCharsets.UTF_8).build().toString());
+
+        long inicio = 0;
+        long fim = tamanho - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> intervalos;
+            try {
+                intervalos = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                intervalos = null;
+            }
+            if (intervalos == null || (intervalos.size() == 1 && !satisfazivel(intervalos.get(0), tamanho))) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                return;
+            }
+            if (intervalos.size() == 1) {
+                inicio = intervalos.get(0).getRangeStart(tamanho);
+                fim = intervalos.get(0).getRangeEnd(tamanho);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+            }
+        }
+        envia(request, response, arquivo, inicio, fim - inicio + 1);
+    }
+
+    /**
+     * Exclui um anexo.
+     *
+     * @param id    identificador do chamado
+     * @param anexo identificador do anexo
+     * @return resposta HTTP 204 (No Content)
+     * @throws IOException em caso de falha ao remover o arquivo
+     */
+    @DeleteMapping(value = "/{anexo}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id, @PathVariable Integer anexo) throws IOException {
+        service.delete(id, anexo);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean satisfazivel(HttpRange intervalo, long tamanho) {
+        try {
+            return tamanho > 0 && intervalo.getRangeStart(tamanho) < tamanho;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escreve {@code quantidade} bytes do arquivo a partir de {@code inicio}. Se o conector
+     * suportar sendfile, a cópia é feita pelo Tomcat depois que o método retorna; senão,
+     * passa por um buffer entre o arquivo e o stream da resposta.
+     */
+    private static void envia(HttpServletRequest request, HttpServletResponse response, Path arquivo, long inicio,
+            long quantidade) throws IOException {
+        response.setContentLengthLong(quantidade);
+        if (quantidade == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            request.setAttribute(SENDFILE_ARQUIVO, arquivo.toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIM, inicio + quantidade);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel destino = Channels.newChannel(out);
+            long posicao = inicio;
+            long restante = quantidade;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicao, restante, destino);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicao += enviados;
+                restante -= enviados;
+            }
+            out.flush();
+        }
+    }
+}
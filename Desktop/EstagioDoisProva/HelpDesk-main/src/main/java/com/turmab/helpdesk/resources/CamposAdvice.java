@@ -0,0 +1,52 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Aplica o parâmetro {@code ?fields=} das requisições GET à serialização da resposta.
+ *
+ * <p>
+ * Os DTOs anotados com {@code @JsonFilter("campos")} passam a serializar apenas os campos
+ * pedidos. Os nomes já foram validados pelo serviço, que também leu do banco apenas as
+ * colunas correspondentes; aqui só o JSON é reduzido.
+ * </p>
+ *
+ * @author Gustavo Barros
+ */
+@ControllerAdvice
+public class CamposAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (request.getMethod() != HttpMethod.GET || !(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String fields = servletRequest.getParameter("fields");
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        Set<String> campos = Arrays.stream(fields.split(",")).map(String::trim).collect(Collectors.toSet());
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter("campos", SimpleBeanPropertyFilter.filterOutAllExcept(campos))
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
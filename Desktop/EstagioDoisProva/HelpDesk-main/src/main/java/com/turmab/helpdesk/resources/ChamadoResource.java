@@ -1,25 +1,46 @@
 package com.turmab.helpdesk.resources;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.ArquivamentoDTO;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.CuboDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasDTO;
+import com.turmab.helpdesk.domain.dtos.HistoricoDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.domain.dtos.ResolucaoDTO;
+import com.turmab.helpdesk.service.ArquivamentoService;
+import com.turmab.helpdesk.service.AuditoriaService;
+import com.turmab.helpdesk.service.BuscaService;
+import com.turmab.helpdesk.service.Campos;
 import com.turmab.helpdesk.service.ChamadoService;
+import com.turmab.helpdesk.service.CuboService;
+import com.turmab.helpdesk.service.EstatisticasService;
+import com.turmab.helpdesk.service.ResolucaoService;
 
 /**
  * Controlador REST responsável por gerenciar os endpoints relacionados à entidade {@link Chamado}.
@@ -48,29 +69,219 @@ public class ChamadoResource {
     @Autowired
     private ChamadoService service;
 
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private ResolucaoService resolucaoService;
+
+    @Autowired
+    private CuboService cuboService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
     /**
      * Busca um chamado específico pelo seu identificador.
      *
+     * <p>
+     * A resposta traz a versão do chamado no cabeçalho {@code ETag}. Se o cliente enviar
+     * {@code If-None-Match} com a versão atual, apenas a versão é consultada e a resposta
+     * é 304 (Not Modified), sem corpo.
+     * </p>
+     *
+     * <p>
+     * Com <b>?fields=id,titulo,status</b>, apenas esses campos são lidos do banco e enviados.
+     * </p>
+     *
      * @param id identificador do chamado
+     * @param fields campos desejados, separados por vírgula (opcional)
+     * @param request requisição atual, usada para avaliar {@code If-None-Match}
      * @return um {@link ChamadoDTO} correspondente ao ID informado
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id) {
-        Chamado obj = service.findById(id);
-        return ResponseEntity.ok().body(new ChamadoDTO(obj));
+    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id,
+            @RequestParam(value = "fields", required = false) String fields, WebRequest request) {
+        if (request.getHeader("If-None-Match") != null
+                && request.checkNotModified(ETagUtil.of(service.findVersao(id)))) {
+            return null;
+        }
+        Campos.Linha<ChamadoDTO> obj = service.findById(id, fields);
+        return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(obj.getDto());
+    }
+
+    /**
+     * Retorna o histórico de alterações de status, prioridade, técnico e cliente de um
+     * chamado, em ordem cronológica.
+     *
+     * <p>
+     * O histórico é lido dos arquivos de auditoria, sem consultar o banco, e continua
+     * disponível após a exclusão do chamado.
+     * </p>
+     *
+     * @param id identificador do chamado
+     * @return a lista de {@link HistoricoDTO}
+     */
+    @GetMapping(value = "/{id}/historico")
+    public ResponseEntity<List<HistoricoDTO>> historico(@PathVariable Integer id) {
+        return ResponseEntity.ok().body(auditoriaService.historico(id));
     }
 
     /**
      * Retorna uma lista com todos os chamados cadastrados.
      *
+     * <p>
+     * Por padrão apenas os chamados da tabela ativa são listados. Os chamados encerrados
+     * já arquivados são incluídos com <b>?arquivados=true</b>. As observações só são
+     * enviadas com <b>?observacoes=true</b>. Com <b>?fields=id,titulo,status,prioridade</b>,
+     * apenas esses campos são lidos do banco e enviados.
+     * </p>
+     *
+     * @param arquivados se {@code true}, inclui os chamados arquivados
+     * @param observacoes se {@code true}, inclui as observações
+     * @param fields campos desejados, separados por vírgula (opcional)
      * @return uma lista de {@link ChamadoDTO} representando os chamados existentes
      */
     @GetMapping
-    public ResponseEntity<List<ChamadoDTO>> findAll() {
-        List<ChamadoDTO> list = service.findAll();
+    public ResponseEntity<List<ChamadoDTO>> findAll(
+            @RequestParam(value = "arquivados", defaultValue = "false") boolean arquivados,
+            @RequestParam(value = "observacoes", defaultValue = "false") boolean observacoes,
+            @RequestParam(value = "fields", required = false) String fields) {
+        List<ChamadoDTO> list = service.findAll(arquivados, observacoes, fields);
         return ResponseEntity.ok().body(list);
     }
 
+    /**
+     * Busca vários chamados pelo ID em uma única requisição.
+     *
+     * <p>
+     * Exemplo: <b>/chamados?ids=7,3,12</b>. Os chamados vêm na ordem pedida, com uma
+     * única consulta ao banco; IDs inexistentes são listados em {@code naoEncontrados},
+     * sem falhar a requisição. Aceita também <b>?observacoes=true</b> e <b>?fields=</b>.
+     * A quantidade de IDs é limitada por {@code helpdesk.lote.tamanho-maximo}.
+     * </p>
+     *
+     * @param ids IDs dos chamados, separados por vírgula
+     * @param observacoes se {@code true}, inclui as observações
+     * @param fields campos desejados, separados por vírgula (opcional)
+     * @return um {@link LoteDTO} com os chamados encontrados e os IDs não encontrados
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<LoteDTO<ChamadoDTO>> findAllById(@RequestParam(value = "ids") List<Integer> ids,
+            @RequestParam(value = "observacoes", defaultValue = "false") boolean observacoes,
+            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok().body(service.findAllById(ids, observacoes, fields));
+    }
+
+    /**
+     * Busca chamados por palavras-chave no título e nas observações, ordenados por relevância.
+     *
+     * <p>
+     * Exemplo: <b>/chamados/search?q=impressora&amp;page=0&amp;size=20</b>
+     * </p>
+     *
+     * @param q texto da consulta (sintaxe do Lucene)
+     * @param page página desejada, começando em 0 (a paginação alcança no máximo 10.000 resultados)
+     * @param size quantidade de chamados por página (máximo 100)
+     * @param observacoes se {@code true}, inclui as observações
+     * @param fields campos desejados, separados por vírgula (opcional)
+     * @return uma página de {@link ChamadoDTO}
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<Page<ChamadoDTO>> search(@RequestParam(value = "q") String q,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "observacoes", defaultValue = "false") boolean observacoes,
+            @RequestParam(value = "fields", required = false) String fields) {
+        Page<ChamadoDTO> result = service.search(q, Math.max(page, 0), Math.min(Math.max(size, 1), 100), observacoes,
+                fields);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * Reconstrói o índice de busca a partir do banco de dados. Restrito ao perfil ADMIN.
+     *
+     * @return a quantidade de chamados indexados
+     */
+    @PostMapping(value = "/search/reindexar")
+    public ResponseEntity<Long> reindexar() {
+        return ResponseEntity.ok().body(buscaService.reindexa());
+    }
+
+    /**
+     * Retorna a contagem de chamados por status, prioridade e técnico para o painel gerencial.
+     *
+     * <p>
+     * Os valores são mantidos em memória e não consultam o banco a cada requisição.
+     * </p>
+     *
+     * @return um {@link EstatisticasDTO} com os totais
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<EstatisticasDTO> stats() {
+        return ResponseEntity.ok().body(estatisticasService.estatisticas());
+    }
+
+    /**
+     * Retorna os percentis (p50, p90, p99) do tempo de resolução, em segundos, dos chamados
+     * encerrados nos últimos dias, por técnico e por prioridade.
+     *
+     * @param dias quantidade de dias considerados, incluindo o atual (padrão 30)
+     * @return um {@link ResolucaoDTO} com os percentis
+     */
+    @GetMapping(value = "/stats/resolucao")
+    public ResponseEntity<ResolucaoDTO> resolucao(@RequestParam(value = "dias", defaultValue = "30") int dias) {
+        return ResponseEntity.ok().body(resolucaoService.resolucao(dias));
+    }
+
+    /**
+     * Consulta o cubo de relatórios de chamados, mantido em memória com granularidade diária.
+     *
+     * <p>
+     * Os chamados são agrupados pelas dimensões informadas ({@code dia}, {@code mes},
+     * {@code ano}, {@code status}, {@code prioridade}, {@code tecnico}, {@code cliente}),
+     * considerando a data de abertura. Exemplo:
+     * <b>/chamados/cubo?dimensoes=mes,tecnico&amp;status=2&amp;inicio=2026-01-01</b>
+     * </p>
+     *
+     * @param dimensoes  dimensões do agrupamento, separadas por vírgula (vazio retorna só o total)
+     * @param inicio     primeiro dia de abertura ({@code yyyy-MM-dd})
+     * @param fim        último dia de abertura ({@code yyyy-MM-dd})
+     * @param status     código do status
+     * @param prioridade código da prioridade
+     * @param tecnico    ID do técnico
+     * @param cliente    ID do cliente
+     * @return um {@link CuboDTO} com as quantidades agrupadas
+     */
+    @GetMapping(value = "/cubo")
+    public ResponseEntity<CuboDTO> cubo(@RequestParam(value = "dimensoes", required = false) List<String> dimensoes,
+            @RequestParam(value = "inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(value = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "prioridade", required = false) Integer prioridade,
+            @RequestParam(value = "tecnico", required = false) Integer tecnico,
+            @RequestParam(value = "cliente", required = false) Integer cliente) {
+        return ResponseEntity.ok().body(cuboService.consulta((dimensoes != null) ? dimensoes : List.of(),
+                inicio, fim, status, prioridade, tecnico, cliente));
+    }
+
+    /**
+     * Retorna a situação do arquivamento de chamados encerrados: quantos chamados já
+     * foram movidos e quantos estão pendentes.
+     *
+     * @return um {@link ArquivamentoDTO} com os contadores do arquivamento
+     */
+    @GetMapping(value = "/arquivamento")
+    public ResponseEntity<ArquivamentoDTO> arquivamento() {
+        return ResponseEntity.ok().body(arquivamentoService.status());
+    }
+
     /**
      * Cria um novo chamado no sistema.
      *
@@ -87,7 +298,7 @@ public class ChamadoResource {
         Chamado obj = service.create(objDTO);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(obj.getId()).toUri();
-        return ResponseEntity.created(uri).body(new ChamadoDTO(obj));
+        return ResponseEntity.created(uri).eTag(ETagUtil.of(obj.getVersao())).body(new ChamadoDTO(obj));
     }
 
     /**
@@ -95,23 +306,47 @@ public class ChamadoResource {
      *
      * @param id identificador do chamado a ser atualizado
      * @param objDTO novos dados do chamado
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412
      * @return o {@link ChamadoDTO} atualizado
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id, @Valid @RequestBody ChamadoDTO objDTO) {
-        Chamado obj = service.update(id, objDTO);
-        return ResponseEntity.ok().body(new ChamadoDTO(obj));
+    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id, @Valid @RequestBody ChamadoDTO objDTO,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        Chamado obj = service.update(id, objDTO, ETagUtil.versoes(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(new ChamadoDTO(obj));
+    }
+
+    /**
+     * Atualiza parcialmente um chamado existente (JSON Merge Patch).
+     *
+     * <p>
+     * Apenas os campos enviados são alterados, por exemplo {@code {"status": 2}}.
+     * Campos omitidos permanecem como estão.
+     * </p>
+     *
+     * @param id identificador do chamado a ser atualizado
+     * @param campos campos a alterar e seus novos valores
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412
+     * @return o {@link ChamadoDTO} atualizado
+     */
+    @PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", "application/json" })
+    public ResponseEntity<ChamadoDTO> patch(@PathVariable Integer id, @RequestBody Map<String, Object> campos,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        Chamado obj = service.patch(id, campos, ETagUtil.versoes(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(new ChamadoDTO(obj));
     }
 
     /**
      * Exclui um chamado com base em seu identificador.
      *
      * @param id identificador do chamado a ser removido
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412
      * @return resposta HTTP 204 (No Content) em caso de sucesso
      */
     @DeleteMapping(value = "/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        service.delete(id, ETagUtil.versoes(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
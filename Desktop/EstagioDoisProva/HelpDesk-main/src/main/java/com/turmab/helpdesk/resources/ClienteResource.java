@@ -8,8 +8,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.net.URI;
 import javax.validation.Valid;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,6 +23,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.dtos.ClienteCreateDTO;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.service.Campos;
 import com.turmab.helpdesk.service.ClienteService;
 
 /**
@@ -41,24 +46,48 @@ public class ClienteResource {
      * Busca um cliente pelo seu ID.
      * 
      * @param id ID do cliente a ser buscado.
-     * @return ResponseEntity contendo um ClienteDTO caso encontrado.
+     * @param fields Campos desejados, separados por vírgula (opcional); só eles são lidos e enviados.
+     * @param request Requisição atual, usada para avaliar If-None-Match.
+     * @return ResponseEntity contendo um ClienteDTO caso encontrado, ou 304 se a ETag
+     *         informada em If-None-Match ainda for a atual.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ClienteDTO> findById(@PathVariable Integer id) {
-        Cliente obj = service.findById(id);
-        return ResponseEntity.ok().body(new ClienteDTO(obj));
+    public ResponseEntity<ClienteDTO> findById(@PathVariable Integer id,
+            @RequestParam(value = "fields", required = false) String fields, WebRequest request) {
+        if (request.getHeader("If-None-Match") != null
+                && request.checkNotModified(ETagUtil.of(service.findVersao(id)))) {
+            return null;
+        }
+        Campos.Linha<ClienteDTO> obj = service.findById(id, fields);
+        return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(obj.getDto());
     }
 
     /**
      * Lista todos os clientes cadastrados.
      * 
+     * @param fields Campos desejados, separados por vírgula (opcional), ex.: {@code ?fields=id,nome}.
      * @return ResponseEntity contendo uma lista de ClienteDTO.
      */
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> findAll() {
-        List<ClienteDTO> list = service.findAll();
+    public ResponseEntity<List<ClienteDTO>> findAll(
+            @RequestParam(value = "fields", required = false) String fields) {
+        List<ClienteDTO> list = service.findAll(fields);
         return ResponseEntity.ok().body(list);
     }
+
+    /**
+     * Busca vários clientes pelo ID em uma única requisição, ex.: {@code ?ids=3,1,8}.
+     * Os IDs inexistentes são listados em {@code naoEncontrados}, sem falhar a requisição.
+     * 
+     * @param ids IDs separados por vírgula (no máximo {@code helpdesk.lote.tamanho-maximo}).
+     * @param fields Campos desejados, separados por vírgula (opcional).
+     * @return ResponseEntity contendo um LoteDTO com os clientes na ordem pedida.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<LoteDTO<ClienteDTO>> findAllById(@RequestParam(value = "ids") List<Integer> ids,
+            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok().body(service.findAllById(ids, fields));
+    }
     
     /**
      * Cria um novo cliente.
@@ -71,7 +100,7 @@ public class ClienteResource {
         Cliente newObj = service.create(objDTO);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(newObj.getId()).toUri();
-        return ResponseEntity.created(uri).body(new ClienteDTO(newObj));
+        return ResponseEntity.created(uri).eTag(ETagUtil.of(newObj.getVersao())).body(new ClienteDTO(newObj));
     }
 
     /**
@@ -79,23 +108,27 @@ public class ClienteResource {
      * 
      * @param id ID do cliente a ser atualizado.
      * @param objDTO DTO contendo os novos dados do cliente.
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412.
      * @return ResponseEntity contendo o ClienteDTO atualizado.
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ClienteDTO> update(@PathVariable Integer id, @Valid @RequestBody ClienteCreateDTO objDTO) {
-        Cliente obj = service.update(id, objDTO);
-        return ResponseEntity.ok().body(new ClienteDTO(obj));
+    public ResponseEntity<ClienteDTO> update(@PathVariable Integer id, @Valid @RequestBody ClienteCreateDTO objDTO,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        Cliente obj = service.update(id, objDTO, ETagUtil.versoes(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(new ClienteDTO(obj));
     }
 
     /**
      * Remove um cliente pelo seu ID.
      * 
      * @param id ID do cliente a ser removido.
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412.
      * @return ResponseEntity com status 204 (No Content).
      */
     @DeleteMapping(value = "/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        service.delete(id, ETagUtil.versoes(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
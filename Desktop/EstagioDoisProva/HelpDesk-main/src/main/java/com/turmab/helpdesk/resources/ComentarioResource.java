@@ -0,0 +1,97 @@
+package com.turmab.helpdesk.resources;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.turmab.helpdesk.domain.Comentario;
+import com.turmab.helpdesk.domain.dtos.ComentarioDTO;
+import com.turmab.helpdesk.service.ComentarioService;
+
+/**
+ * Controlador REST responsável pelos comentários de um chamado.
+ *
+ * <p>
+ * Comentários só podem ser acrescentados. A listagem é paginada por chave: a próxima
+ * página é pedida com o ID do último comentário recebido, por exemplo
+ * <b>/chamados/1/comentarios?after=120&amp;size=50</b>.
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/chamados/{id}/comentarios")
+public class ComentarioResource {
+
+    @Autowired
+    private ComentarioService service;
+
+    /**
+     * Lista os comentários de um chamado posteriores ao ID informado.
+     *
+     * @param id    identificador do chamado
+     * @param after ID do último comentário já recebido (padrão 0, o início)
+     * @param size  quantidade máxima de comentários (padrão 20, máximo 100)
+     * @return uma lista de {@link ComentarioDTO} em ordem de registro
+     */
+    @GetMapping
+    public ResponseEntity<List<ComentarioDTO>> findAll(@PathVariable Integer id,
+            @RequestParam(value = "after", defaultValue = "0") int after,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        List<ComentarioDTO> listDTO = service.findAll(id, after, Math.min(Math.max(size, 1), 100)).stream()
+                .map(ComentarioDTO::new).collect(Collectors.toList());
+        return ResponseEntity.ok().body(listDTO);
+    }
+
+    /**
+     * Busca um comentário de um chamado.
+     *
+     * @param id         identificador do chamado
+     * @param comentario identificador do comentário
+     * @return o {@link ComentarioDTO} correspondente
+     */
+    @GetMapping(value = "/{comentario}")
+    public ResponseEntity<ComentarioDTO> findById(@PathVariable Integer id, @PathVariable Integer comentario) {
+        return ResponseEntity.ok().body(new ComentarioDTO(service.findById(id, comentario)));
+    }
+
+    /**
+     * Retorna a quantidade de comentários de um chamado, sem carregá-los.
+     *
+     * @param id identificador do chamado
+     * @return a quantidade de comentários
+     */
+    @GetMapping(value = "/count")
+    public ResponseEntity<Long> count(@PathVariable Integer id) {
+        return ResponseEntity.ok().body(service.count(id));
+    }
+
+    /**
+     * Acrescenta um comentário a um chamado.
+     *
+     * @param id     identificador do chamado
+     * @param objDTO dados do comentário (apenas o texto)
+     * @return resposta HTTP 201 (Created) com a URI do comentário e o comentário criado
+     */
+    @PostMapping
+    public ResponseEntity<ComentarioDTO> create(@PathVariable Integer id, @Valid @RequestBody ComentarioDTO objDTO) {
+        Comentario obj = service.create(id, objDTO);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{comentario}").buildAndExpand(obj.getId())
+                .toUri();
+        return ResponseEntity.created(uri).body(new ComentarioDTO(obj));
+    }
+}
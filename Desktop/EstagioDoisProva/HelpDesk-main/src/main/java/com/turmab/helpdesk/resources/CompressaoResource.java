@@ -0,0 +1,38 @@
+package com.turmab.helpdesk.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.turmab.helpdesk.config.CompressaoFilter;
+import com.turmab.helpdesk.domain.dtos.CompressaoDTO;
+
+/**
+ * Controlador REST com os contadores da compressão de respostas ({@link CompressaoFilter}).
+ *
+ * <p>
+ * Exemplo de acesso: <b>http://localhost:8080/compressao</b>
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/compressao")
+public class CompressaoResource {
+
+    @Autowired
+    private CompressaoFilter filtro;
+
+    /**
+     * Retorna a taxa de compressão e o tempo de CPU gasto comprimindo respostas.
+     *
+     * @return um {@link CompressaoDTO} com os contadores
+     */
+    @GetMapping
+    public ResponseEntity<CompressaoDTO> estatisticas() {
+        return ResponseEntity.ok().body(filtro.estatisticas());
+    }
+}
@@ -0,0 +1,69 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitário para conversão entre a versão de uma entidade e o cabeçalho HTTP {@code ETag}.
+ *
+ * <p>
+ * A ETag gerada é forte e contém apenas o número da versão (ex.: <code>"3"</code>),
+ * o que permite revalidar ou condicionar escritas consultando somente a coluna de versão.
+ * </p>
+ *
+ * @author Gustavo Barros
+ */
+public final class ETagUtil {
+
+    /** Uma entrada da lista de ETags; o grupo 1 é o prefixo das fracas e o grupo 2, o valor entre aspas. */
+    private static final Pattern ETAG = Pattern.compile("(W/)?\"([^\"]*)\"");
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Monta a ETag forte correspondente a uma versão.
+     *
+     * @param versao versão da entidade
+     * @return ETag entre aspas, ou {@code null} se a versão for nula
+     */
+    public static String of(Integer versao) {
+        return (versao != null) ? "\"" + versao + "\"" : null;
+    }
+
+    /**
+     * Converte o cabeçalho {@code If-Match} nas versões aceitas pelo cliente.
+     *
+     * <p>
+     * O cabeçalho pode trazer uma lista de ETags (ex.: <code>"3", "4"</code>); a escrita é
+     * aceita se a versão atual for qualquer uma delas. O {@code If-Match} usa a comparação
+     * forte (RFC 7232, seção 3.1), então ETags fracas (<code>W/"3"</code>) nunca
+     * correspondem, assim como entradas que não foram geradas por {@link #of(Integer)};
+     * se nenhuma corresponder, a resposta é 412.
+     * </p>
+     *
+     * @param ifMatch valor do cabeçalho {@code If-Match}
+     * @return versões aceitas (vazio se nenhuma entrada for uma versão), ou {@code null} se o
+     *         cabeçalho estiver ausente ou for <code>*</code>
+     */
+    public static Set<Integer> versoes(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Integer> versoes = new LinkedHashSet<>();
+        Matcher etag = ETAG.matcher(ifMatch);
+        while (etag.find()) {
+            if (etag.group(1) != null) {
+                continue;
+            }
+            try {
+                versoes.add(Integer.valueOf(etag.group(2)));
+            } catch (NumberFormatException e) {
+                // ETag que não é uma versão: não corresponde
+            }
+        }
+        return versoes;
+    }
+}
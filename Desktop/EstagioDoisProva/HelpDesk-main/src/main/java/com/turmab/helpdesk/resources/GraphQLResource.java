@@ -0,0 +1,48 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.turmab.helpdesk.domain.dtos.GraphQLDTO;
+import com.turmab.helpdesk.service.GraphQLService;
+
+/**
+ * Controlador REST que recebe consultas GraphQL sobre chamados, técnicos e clientes
+ * ({@link GraphQLService}).
+ *
+ * <p>
+ * Exemplo de acesso: <b>POST http://localhost:8080/graphql</b> com
+ * {@code {"query": "{ chamados(limite: 100) { id titulo tecnico { nome } cliente { nome } } }"}}
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/graphql")
+public class GraphQLResource {
+
+    @Autowired
+    private GraphQLService service;
+
+    /**
+     * Executa uma consulta GraphQL.
+     *
+     * <p>Erros na consulta (sintaxe, campos inexistentes, limites excedidos) são
+     * devolvidos em {@code errors}, com status 200, como define a especificação.</p>
+     *
+     * @param objDTO consulta, operação e variáveis
+     * @return a resposta com {@code data} e, se houver, {@code errors}
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> executa(@RequestBody GraphQLDTO objDTO) {
+        return ResponseEntity.ok().body(service.executa(objDTO.getQuery(), objDTO.getOperationName(),
+                objDTO.getVariables()));
+    }
+}
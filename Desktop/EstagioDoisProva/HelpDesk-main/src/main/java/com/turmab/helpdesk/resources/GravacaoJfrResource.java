@@ -0,0 +1,41 @@
+package com.turmab.helpdesk.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.turmab.helpdesk.config.GravacaoJfr;
+import com.turmab.helpdesk.domain.dtos.GravacaoJfrDTO;
+
+/**
+ * Controlador REST que grava em disco os últimos minutos da gravação contínua do JFR
+ * ({@link GravacaoJfr}), ligada pelo perfil {@code jfr}. Restrito ao perfil ADMIN.
+ *
+ * <p>
+ * Exemplo de acesso: <b>POST http://localhost:8080/jfr?minutos=5</b>
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/jfr")
+public class GravacaoJfrResource {
+
+    @Autowired
+    private GravacaoJfr gravacao;
+
+    /**
+     * Grava os últimos minutos em um arquivo {@code .jfr} no servidor.
+     *
+     * @param minutos Quantidade de minutos (padrão 5).
+     * @return um {@link GravacaoJfrDTO} com o nome e o tamanho do arquivo
+     */
+    @PostMapping
+    public ResponseEntity<GravacaoJfrDTO> despeja(@RequestParam(value = "minutos", defaultValue = "5") int minutos) {
+        return ResponseEntity.ok().body(gravacao.despeja(minutos));
+    }
+}
@@ -0,0 +1,68 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.turmab.helpdesk.config.RastreamentoFilter;
+import com.turmab.helpdesk.domain.dtos.RastroDTO;
+import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+
+/**
+ * Controlador REST com os rastros das requisições amostradas ({@link RastreamentoFilter}).
+ * Restrito ao perfil ADMIN.
+ *
+ * <p>
+ * Exemplo de acesso: <b>http://localhost:8080/rastreamento?minimoMs=100</b>
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@RestController
+@RequestMapping(value = "/rastreamento")
+public class RastreamentoResource {
+
+    @Autowired
+    private RastreamentoFilter filtro;
+
+    /**
+     * Lista os rastros guardados, do mais recente ao mais antigo, sem os spans.
+     *
+     * @param minimoMs Duração mínima, em milissegundos (opcional).
+     * @param nome     Trecho do nome da requisição, ex.: {@code POST /chamados} (opcional).
+     * @return os rastros que atendem aos filtros
+     */
+    @GetMapping
+    public ResponseEntity<List<RastroDTO>> findAll(@RequestParam(value = "minimoMs", defaultValue = "0") double minimoMs,
+            @RequestParam(value = "nome", required = false) String nome) {
+        List<RastroDTO> list = filtro.recentes().stream()
+                .map(x -> new RastroDTO(x, false))
+                .filter(x -> x.getDuracaoMs() >= minimoMs && (nome == null || x.getNome().contains(nome)))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().body(list);
+    }
+
+    /**
+     * Retorna um rastro com todos os seus spans.
+     *
+     * @param traceId ID do rastro (de {@code traceparent} ou {@code traceresponse}).
+     * @return o rastro com os spans
+     * @throws ObjectNotFoundException Caso o rastro não esteja mais no buffer.
+     */
+    @GetMapping(value = "/{traceId}")
+    public ResponseEntity<RastroDTO> findById(@PathVariable String traceId) {
+        return filtro.recentes().stream()
+                .filter(x -> x.getTraceId().equals(traceId))
+                .findFirst()
+                .map(x -> ResponseEntity.ok().body(new RastroDTO(x, true)))
+                .orElseThrow(() -> new ObjectNotFoundException("Rastro não encontrado! traceId: " + traceId));
+    }
+}
@@ -14,8 +14,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 import javax.validation.Valid;
@@ -24,6 +27,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.turmab.helpdesk.domain.Tecnico;
 import com.turmab.helpdesk.domain.dtos.TecnicoCreateDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.service.Campos;
 import com.turmab.helpdesk.service.TecnicoService;
 
 /**
@@ -46,28 +51,52 @@ public class TecnicoResource {
      * Busca um cliente pelo seu ID.
      * 
      * @param id ID do cliente a ser buscado.
-     * @return ResponseEntity contendo um ClienteDTO caso encontrado.
+     * @param fields Campos desejados, separados por vírgula (opcional); só eles são lidos e enviados.
+     * @param request Requisição atual, usada para avaliar If-None-Match.
+     * @return ResponseEntity contendo um ClienteDTO caso encontrado, ou 304 se a ETag
+     *         informada em If-None-Match ainda for a atual.
      */
 	@GetMapping(value = "/{id}") // estou informando que estou recebendo uma variável de path
-	public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id) {
+	public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id,
+			@RequestParam(value = "fields", required = false) String fields, WebRequest request) {
 
-		Tecnico obj = service.findById(id);
+		if (request.getHeader("If-None-Match") != null
+				&& request.checkNotModified(ETagUtil.of(service.findVersao(id)))) {
+			return null;
+		}
+		Campos.Linha<TecnicoDTO> obj = service.findById(id, fields);
 
-		return ResponseEntity.ok().body(new TecnicoDTO(obj));
+		return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(obj.getDto());
 
 	}
 	
 	/**
      * Lista todos os clientes cadastrados.
      * 
+     * @param fields Campos desejados, separados por vírgula (opcional), ex.: {@code ?fields=id,nome}.
      * @return ResponseEntity contendo uma lista de ClienteDTO.
      */
 	@GetMapping
-	public ResponseEntity<List<TecnicoDTO>> findAll() {
-	    List<TecnicoDTO> list = service.findAll();
+	public ResponseEntity<List<TecnicoDTO>> findAll(
+			@RequestParam(value = "fields", required = false) String fields) {
+	    List<TecnicoDTO> list = service.findAll(fields);
 	    return ResponseEntity.ok().body(list);
 	}
 
+	/**
+	 * Busca vários técnicos pelo ID em uma única requisição, ex.: {@code ?ids=3,1,8}.
+	 * Os IDs inexistentes são listados em {@code naoEncontrados}, sem falhar a requisição.
+	 * 
+	 * @param ids IDs separados por vírgula (no máximo {@code helpdesk.lote.tamanho-maximo}).
+	 * @param fields Campos desejados, separados por vírgula (opcional).
+	 * @return ResponseEntity contendo um LoteDTO com os técnicos na ordem pedida.
+	 */
+	@GetMapping(params = "ids")
+	public ResponseEntity<LoteDTO<TecnicoDTO>> findAllById(@RequestParam(value = "ids") List<Integer> ids,
+			@RequestParam(value = "fields", required = false) String fields) {
+		return ResponseEntity.ok().body(service.findAllById(ids, fields));
+	}
+
 	/**
      * Cria um novo cliente.
      * 
@@ -79,7 +108,7 @@ public class TecnicoResource {
 	    Tecnico newObj = service.create(objDTO);
 	    URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
 	            .buildAndExpand(newObj.getId()).toUri();
-	    return ResponseEntity.created(uri).body(new TecnicoDTO(newObj));
+	    return ResponseEntity.created(uri).eTag(ETagUtil.of(newObj.getVersao())).body(new TecnicoDTO(newObj));
 	}
 
 	/**
@@ -87,23 +116,27 @@ public class TecnicoResource {
      * 
      * @param id ID do cliente a ser atualizado.
      * @param objDTO DTO contendo os novos dados do cliente.
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412.
      * @return ResponseEntity contendo o ClienteDTO atualizado.
      */
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id, @Valid @RequestBody TecnicoCreateDTO objDTO) {
-	    Tecnico obj = service.update(id, objDTO);
-	    return ResponseEntity.ok().body(new TecnicoDTO(obj));
+	public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id, @Valid @RequestBody TecnicoCreateDTO objDTO,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch) {
+	    Tecnico obj = service.update(id, objDTO, ETagUtil.versoes(ifMatch));
+	    return ResponseEntity.ok().eTag(ETagUtil.of(obj.getVersao())).body(new TecnicoDTO(obj));
 	}
 
 	/**
      * Remove um cliente pelo seu ID.
      * 
      * @param id ID do cliente a ser removido.
+     * @param ifMatch ETag esperada (opcional); se não for a atual, a resposta é 412.
      * @return ResponseEntity com status 204 (No Content).
      */
 	@DeleteMapping(value = "/{id}")
-	public ResponseEntity<Void> delete(@PathVariable Integer id) {
-	    service.delete(id);
+	public ResponseEntity<Void> delete(@PathVariable Integer id,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch) {
+	    service.delete(id, ETagUtil.versoes(ifMatch));
 	    return ResponseEntity.noContent().build();
 	}
 
@@ -4,6 +4,7 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.PreconditionFailedException;
 import com.turmab.helpdesk.service.exceptions.StandardError;
 
 @ControllerAdvice /*
@@ -80,6 +82,32 @@ public class ResourceExceptionHandle {
 
 	}
 	
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<StandardError> preconditionFailedException(PreconditionFailedException ex,
+			HttpServletRequest request) {
+
+		StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.PRECONDITION_FAILED.value(),
+				"Precondition Failed", ex.getMessage(), request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+
+	}
+
+	/*
+	 * Escritas concorrentes detectadas pelo Hibernate (coluna @Version) recebem a
+	 * mesma resposta de um If-Match que não corresponde.
+	 */
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> optimisticLockingFailureException(ObjectOptimisticLockingFailureException ex,
+			HttpServletRequest request) {
+
+		StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.PRECONDITION_FAILED.value(),
+				"Precondition Failed", "O registro foi alterado por outra requisição!", request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+
+	}
+	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<StandardError> ValidationErrors(MethodArgumentNotValidException ex,
 			HttpServletRequest request) {
@@ -14,6 +14,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import com.turmab.helpdesk.config.Rastreamento;
+
 /**
  * Filtro responsável por autorizar requisições com base em um token JWT.
  *
@@ -79,8 +81,14 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
         // Verifica se o cabeçalho existe e começa com "Bearer "
         if (header != null && header.startsWith("Bearer ")) {
-            // Remove o prefixo "Bearer " e obtém um token de autenticação
-            UsernamePasswordAuthenticationToken authToken = getAuthentication(header.substring(7));
+            // Remove o prefixo "Bearer " e obtém um token de autenticação (medido nas requisições rastreadas)
+            Rastreamento.Span span = Rastreamento.inicia("JWTAuthorizationFilter.getAuthentication");
+            UsernamePasswordAuthenticationToken authToken;
+            try {
+                authToken = getAuthentication(header.substring(7));
+            } finally {
+                Rastreamento.termina(span);
+            }
 
             // Se o token for válido, registra a autenticação no contexto de segurança
             if (authToken != null) {
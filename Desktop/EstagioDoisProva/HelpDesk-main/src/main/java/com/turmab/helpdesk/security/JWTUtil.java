@@ -5,6 +5,8 @@ import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.turmab.helpdesk.config.EventosJfr;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -117,15 +119,22 @@ public class JWTUtil {
      * @return objeto {@link Claims} com os dados do token ou {@code null} se o token for inválido
      */
     private Claims getClaims(String token) {
+        // Evento do JFR com a duração da verificação (registrado só durante uma gravação)
+        EventosJfr.VerificacaoJwt evento = new EventosJfr.VerificacaoJwt();
+        evento.begin();
+        Claims claims = null;
         try {
             // Faz o parsing do token usando a chave secreta para validar a assinatura
-            return Jwts.parser()
+            claims = Jwts.parser()
                        .setSigningKey(secret.getBytes())
                        .parseClaimsJws(token)
                        .getBody();
+            return claims;
         } catch (Exception e) {
             // Em caso de erro (token inválido, assinatura incorreta, expirado etc.) retorna null
             return null;
+        } finally {
+            evento.registra(claims != null ? claims.getSubject() : null);
         }
     }
 
@@ -0,0 +1,300 @@
+package com.turmab.helpdesk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.turmab.helpdesk.domain.Anexo;
+import com.turmab.helpdesk.repositories.AnexoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+
+/**
+ * Classe de serviço responsável pelos arquivos anexados aos chamados.
+ *
+ * <p>O conteúdo é gravado em disco local, em {@code <diretorio>/ab/cd/<hash>}, onde
+ * {@code hash} é o SHA-256 do conteúdo (endereçamento por conteúdo). O envio é lido
+ * em blocos para um arquivo temporário enquanto o hash é calculado; se o mesmo conteúdo
+ * já existir, o temporário é descartado e o arquivo existente é reaproveitado. Apenas os
+ * metadados ficam no banco ({@link Anexo}). O arquivo é removido quando o último anexo
+ * que o referencia é excluído.</p>
+ *
+ * <p>Não há chave estrangeira entre anexo e chamado. Por isso, o anexo é gravado numa
+ * transação que trava a linha do chamado em modo compartilhado: uma exclusão do chamado
+ * em andamento (que trava a linha em modo exclusivo) termina antes, e o envio recebe 404;
+ * um envio em andamento termina antes da exclusão, que então exclui também o anexo.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.anexos.diretorio}: diretório dos arquivos (padrão {@code data/anexos});</li>
+ *   <li>{@code helpdesk.anexos.tamanho-maximo}: tamanho máximo de um anexo em bytes (padrão 100 MB).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class AnexoService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AnexoService.class);
+
+	/** Tamanho do bloco de leitura do envio. */
+	private static final int BLOCO = 64 * 1024;
+
+	/** Travas por hash, que serializam o reaproveitamento e a remoção de um mesmo arquivo. */
+	private static final Object[] TRAVAS = new Object[64];
+
+	static {
+		for (int i = 0; i < TRAVAS.length; i++) {
+			TRAVAS[i] = new Object();
+		}
+	}
+
+	/** Repositório dos metadados dos anexos. */
+	@Autowired
+	private AnexoRepository repository;
+
+	/** Serviço de chamados, usado para verificar se o chamado existe. */
+	@Autowired
+	private ChamadoService chamadoService;
+
+	/** Repositório de chamados, usado para travar o chamado enquanto o anexo é gravado. */
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	/** Transação em que o chamado é travado e o anexo é gravado. */
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${helpdesk.anexos.diretorio:data/anexos}")
+	private String diretorio;
+
+	@Value("${helpdesk.anexos.tamanho-maximo:104857600}")
+	private long tamanhoMaximo;
+
+	private Path raiz;
+	private Path temporarios;
+
+	/**
+	 * Construtor que cria o {@link TransactionTemplate} da gravação dos anexos.
+	 *
+	 * @param transactionManager gerenciador de transações da aplicação
+	 */
+	public AnexoService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Cria os diretórios de armazenamento.
+	 */
+	@PostConstruct
+	public void abre() {
+		try {
+			raiz = Paths.get(diretorio).toAbsolutePath();
+			temporarios = Files.createDirectories(raiz.resolve("tmp"));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível criar o diretório de anexos " + diretorio, e);
+		}
+	}
+
+	/**
+	 * Lista os anexos de um chamado.
+	 *
+	 * @param chamadoId ID do chamado
+	 * @return a lista de {@link Anexo}, na ordem de envio
+	 */
+	public List<Anexo> findAll(Integer chamadoId) {
+		return repository.findByChamadoIdOrderById(chamadoId);
+	}
+
+	/**
+	 * Busca um anexo de um chamado.
+	 *
+	 * @param chamadoId ID do chamado
+	 * @param id        ID do anexo
+	 * @return o {@link Anexo} encontrado
+	 * @throws ObjectNotFoundException Caso o anexo não exista ou não pertença ao chamado.
+	 */
+	public Anexo findById(Integer chamadoId, Integer id) {
+		return repository.findByIdAndChamadoId(id, chamadoId)
+				.orElseThrow(() -> new ObjectNotFoundException("Anexo não encontrado! id: " + id));
+	}
+
+	/**
+	 * Retorna o caminho do arquivo com o conteúdo de um anexo.
+	 *
+	 * @param obj anexo
+	 * @return o caminho absoluto do arquivo
+	 */
+	public Path arquivo(Anexo obj) {
+		return arquivo(obj.getHash());
+	}
+
+	/**
+	 * Grava um novo anexo a partir do conteúdo recebido.
+	 *
+	 * @param chamadoId ID do chamado
+	 * @param nome      nome original do arquivo
+	 * @param tipo      tipo de conteúdo
+	 * @param conteudo  conteúdo do arquivo, lido até o fim
+	 * @return o {@link Anexo} criado
+	 * @throws ObjectNotFoundException Caso o chamado não exista.
+	 * @throws DataIntegrityViolationException Caso o nome esteja vazio ou o conteúdo exceda o tamanho máximo.
+	 */
+	public Anexo create(Integer chamadoId, String nome, String tipo, InputStream conteudo) throws IOException {
+		// verificado antes de ler o envio; de novo, com a trava, ao gravar o anexo
+		chamadoService.findVersao(chamadoId);
+		if (nome == null || nome.isBlank()) {
+			throw new DataIntegrityViolationException("O nome do arquivo é obrigatório");
+		}
+
+		Path temporario = Files.createTempFile(temporarios, "envio", ".tmp");
+		try {
+			MessageDigest sha = sha256();
+			long tamanho = 0;
+			byte[] bloco = new byte[BLOCO];
+			try (OutputStream out = Files.newOutputStream(temporario)) {
+				int lidos;
+				while ((lidos = conteudo.read(bloco)) != -1) {
+					tamanho += lidos;
+					if (tamanho > tamanhoMaximo) {
+						throw new DataIntegrityViolationException("Anexo excede o tamanho máximo de " + tamanhoMaximo + " bytes");
+					}
+					sha.update(bloco, 0, lidos);
+					out.write(bloco, 0, lidos);
+				}
+			}
+			String hash = hex(sha.digest());
+
+			Anexo anexo = new Anexo(chamadoId, nome, (tipo != null) ? tipo : "application/octet-stream", tamanho, hash);
+			synchronized (trava(hash)) {
+				return transactionTemplate.execute(status -> {
+					travaChamado(chamadoId);
+					move(temporario, arquivo(hash));
+					return repository.save(anexo);
+				});
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			Files.deleteIfExists(temporario);
+		}
+	}
+
+	/**
+	 * Trava o chamado em modo compartilhado até o fim da transação corrente. Um chamado
+	 * arquivado não é travado: ele não pode mais ser excluído.
+	 *
+	 * @param chamadoId ID do chamado
+	 * @throws ObjectNotFoundException Caso o chamado não exista (ou tenha acabado de ser excluído).
+	 */
+	private void travaChamado(Integer chamadoId) {
+		if (chamadoRepository.findIdParaVincular(chamadoId).isEmpty()) {
+			chamadoService.findVersao(chamadoId);
+		}
+	}
+
+	/**
+	 * Move o temporário para o destino, se ainda não houver um arquivo com o mesmo conteúdo.
+	 */
+	private static void move(Path temporario, Path destino) {
+		if (Files.exists(destino)) {
+			return;
+		}
+		try {
+			Files.createDirectories(destino.getParent());
+			Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			// mesmo conteúdo gravado por outro envio; o temporário é descartado ao final
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Exclui um anexo. O arquivo é removido se nenhum outro anexo usar o mesmo conteúdo.
+	 *
+	 * @param chamadoId ID do chamado
+	 * @param id        ID do anexo
+	 * @throws ObjectNotFoundException Caso o anexo não exista ou não pertença ao chamado.
+	 */
+	public void delete(Integer chamadoId, Integer id) throws IOException {
+		Anexo obj = findById(chamadoId, id);
+		synchronized (trava(obj.getHash())) {
+			repository.deleteById(obj.getId());
+			if (!repository.existsByHash(obj.getHash())) {
+				Files.deleteIfExists(arquivo(obj.getHash()));
+			}
+		}
+	}
+
+	/**
+	 * Exclui, na transação corrente, todos os anexos de um chamado que está sendo excluído.
+	 * Após o commit, remove os arquivos que nenhum outro anexo usa.
+	 *
+	 * @param chamadoId ID do chamado
+	 */
+	public void deleteByChamado(Integer chamadoId) {
+		List<String> hashes = repository.findHashesByChamadoId(chamadoId);
+		if (hashes.isEmpty()) {
+			return;
+		}
+		repository.deleteByChamadoId(chamadoId);
+		Transacoes.aposCommit(() -> {
+			for (String hash : hashes) {
+				synchronized (trava(hash)) {
+					try {
+						if (!repository.existsByHash(hash)) {
+							Files.deleteIfExists(arquivo(hash));
+						}
+					} catch (IOException e) {
+						LOG.warn("Falha ao remover o arquivo do anexo {}", hash, e);
+					}
+				}
+			}
+		});
+	}
+
+	private Path arquivo(String hash) {
+		return raiz.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+	}
+
+	private static Object trava(String hash) {
+		return TRAVAS[Math.floorMod(hash.hashCode(), TRAVAS.length)];
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String hex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,168 @@
+package com.turmab.helpdesk.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.ChamadoArquivado;
+import com.turmab.helpdesk.domain.dtos.ArquivamentoDTO;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Classe de serviço responsável por mover chamados encerrados há mais tempo que a
+ * idade configurada da tabela {@code chamado} para a tabela de arquivo
+ * ({@link ChamadoArquivado}).
+ * 
+ * <p>O trabalho é feito em lotes: cada lote é uma transação que bloqueia os IDs
+ * selecionados, copia as linhas com INSERT ... SELECT e as remove da tabela ativa.
+ * Como não há estado além do próprio banco, uma execução interrompida é retomada
+ * naturalmente pela próxima.</p>
+ * 
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.arquivamento.habilitado} (padrão {@code true});</li>
+ *   <li>{@code helpdesk.arquivamento.idade-dias}: dias desde o fechamento (padrão 90);</li>
+ *   <li>{@code helpdesk.arquivamento.lote}: chamados por transação (padrão 500);</li>
+ *   <li>{@code helpdesk.arquivamento.intervalo-ms}: intervalo entre execuções (padrão 60000).</li>
+ * </ul>
+ * 
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class ArquivamentoService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ArquivamentoService.class);
+
+	/** Repositório da tabela ativa de {@link Chamado}. */
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	/** Repositório da tabela de arquivo. */
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+
+	/** Transações programáticas, uma por lote. */
+	private final TransactionTemplate transactionTemplate;
+
+	/** Indica se o arquivamento agendado está habilitado. */
+	@Value("${helpdesk.arquivamento.habilitado:true}")
+	private boolean habilitado;
+
+	/** Idade mínima, em dias desde o fechamento, para arquivar um chamado. */
+	@Value("${helpdesk.arquivamento.idade-dias:90}")
+	private int idadeDias;
+
+	/** Quantidade máxima de chamados movidos por transação. */
+	@Value("${helpdesk.arquivamento.lote:500}")
+	private int lote;
+
+	/** Total de chamados arquivados desde a inicialização. */
+	private final AtomicLong totalArquivados = new AtomicLong();
+
+	/** Total de lotes executados desde a inicialização. */
+	private final AtomicLong lotesExecutados = new AtomicLong();
+
+	/** Momento da última execução concluída. */
+	private volatile Long ultimaExecucao;
+
+	/**
+	 * Construtor que cria o {@link TransactionTemplate} usado em cada lote.
+	 * 
+	 * @param transactionManager gerenciador de transações da aplicação
+	 */
+	public ArquivamentoService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Executa o arquivamento periodicamente, lote após lote, até não restarem
+	 * chamados elegíveis.
+	 */
+	@Scheduled(initialDelayString = "${helpdesk.arquivamento.intervalo-ms:60000}",
+			fixedDelayString = "${helpdesk.arquivamento.intervalo-ms:60000}")
+	public void executa() {
+		if (habilitado) {
+			arquiva();
+		}
+	}
+
+	/**
+	 * Move para o arquivo todos os chamados encerrados antes do limite configurado.
+	 * 
+	 * @return quantidade de chamados arquivados nesta execução
+	 */
+	public long arquiva() {
+		LocalDate limite = LocalDate.now().minusDays(idadeDias);
+		long total = 0;
+		int movidos;
+		do {
+			movidos = transactionTemplate.execute(status -> arquivaLote(limite));
+			total += movidos;
+		} while (movidos == lote);
+
+		ultimaExecucao = System.currentTimeMillis();
+		if (total > 0) {
+			LOG.info("Arquivamento concluído: {} chamados movidos para o arquivo", total);
+		}
+		return total;
+	}
+
+	/**
+	 * Arquiva um lote dentro da transação corrente.
+	 * 
+	 * <p>Os IDs são selecionados com {@code PESSIMISTIC_WRITE}, de modo que
+	 * uma alteração concorrente no mesmo chamado aguarde a cópia e a exclusão. O commit não
+	 * acontece durante uma conferência das contagens em memória ({@link Contagem}).</p>
+	 * 
+	 * @param limite data de fechamento limite (exclusiva)
+	 * @return quantidade de chamados movidos
+	 */
+	private int arquivaLote(LocalDate limite) {
+		List<Integer> ids = chamadoRepository.findIdsParaArquivar(Status.ENCERRADO.getCodigo(), limite,
+				PageRequest.of(0, lote));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		arquivadoRepository.copiaDeChamado(ids, LocalDate.now());
+		chamadoRepository.deleteByIdIn(ids);
+		Contagem.protegeCommit();
+
+		totalArquivados.addAndGet(ids.size());
+		lotesExecutados.incrementAndGet();
+		return ids.size();
+	}
+
+	/**
+	 * Retorna a situação do arquivamento: quanto já foi movido e quanto está atrasado.
+	 * 
+	 * @return um {@link ArquivamentoDTO} com os contadores e o atraso atual
+	 */
+	public ArquivamentoDTO status() {
+		LocalDate limite = LocalDate.now().minusDays(idadeDias);
+		Integer encerrado = Status.ENCERRADO.getCodigo();
+		long pendentes = chamadoRepository.countParaArquivar(encerrado, limite);
+		LocalDate maisAntigo = (pendentes > 0)
+				? chamadoRepository.findFechamentoMaisAntigo(encerrado, limite).orElse(null)
+				: null;
+		Long atraso = (maisAntigo != null) ? ChronoUnit.DAYS.between(maisAntigo, limite) : 0L;
+
+		return new ArquivamentoDTO(idadeDias, totalArquivados.get(), lotesExecutados.get(), ultimaExecucao,
+				pendentes, maisAntigo, atraso);
+	}
+}
@@ -0,0 +1,607 @@
+package com.turmab.helpdesk.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.turmab.helpdesk.domain.dtos.HistoricoDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Classe de serviço que mantém o histórico de alterações de status, prioridade,
+ * técnico e cliente dos chamados, em arquivos de log somente de acréscimo.
+ *
+ * <p>Cada alteração confirmada gera um registro binário compacto que é colocado em um
+ * buffer circular sem bloqueios. Uma única thread escritora retira os registros e os
+ * grava em segmentos de tamanho fixo mapeados em memória
+ * ({@code segmento-000000.log}, {@code segmento-000001.log}, ...). Quando o segmento
+ * atual não comporta o próximo registro, um novo é criado e o anterior é encerrado; os
+ * segmentos encerrados são mapeados somente para leitura, no tamanho real do arquivo,
+ * quando são consultados. A sincronização com o disco
+ * ({@code force}) é feita em lote, no máximo a cada {@code helpdesk.auditoria.intervalo-fsync-ms}.
+ * O caminho de escrita dos chamados não faz nenhum acesso adicional ao banco nem espera
+ * pela thread escritora: se o buffer estiver cheio, o registro é descartado e contado
+ * ({@code helpdesk.auditoria.descartados}).</p>
+ *
+ * <p>Formato do registro: tamanho (int), chamado (int), instante em milissegundos (long),
+ * campo (byte), valor anterior (int, -1 se nulo), valor novo (int, -1 se nulo) e usuário
+ * (byte com o tamanho seguido dos bytes UTF-8). O tamanho é gravado por último, de modo
+ * que um registro incompleto após uma queda tem tamanho zero e marca o fim do segmento.</p>
+ *
+ * <p>Só o segmento atual tem em memória a posição de cada registro, por chamado. De cada
+ * segmento encerrado fica apenas um filtro de tamanho fixo (8 KB) dos chamados que podem
+ * ter registros nele. O índice de um segmento encerrado é reconstruído sob demanda,
+ * percorrendo o segmento, quando o filtro indica o chamado consultado; os últimos
+ * reconstruídos ficam em cache. Assim, a memória usada não cresce com o histórico. Ao
+ * iniciar, o último segmento é indexado e os anteriores são percorridos para montar os
+ * filtros.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.auditoria.diretorio}: diretório dos segmentos (padrão {@code data/auditoria});</li>
+ *   <li>{@code helpdesk.auditoria.tamanho-segmento}: tamanho de cada segmento em bytes (padrão 64 MB);</li>
+ *   <li>{@code helpdesk.auditoria.capacidade}: registros no buffer circular, potência de 2 (padrão 8192);</li>
+ *   <li>{@code helpdesk.auditoria.intervalo-fsync-ms}: intervalo máximo entre sincronizações (padrão 100);</li>
+ *   <li>{@code helpdesk.auditoria.indices-em-cache}: índices de segmentos encerrados mantidos em memória (padrão 4).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class AuditoriaService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AuditoriaService.class);
+
+	/** Nomes dos campos auditados, indexados pelo código gravado no registro. */
+	private static final String[] CAMPOS = { "exclusao", "status", "prioridade", "tecnico", "cliente" };
+
+	private static final byte EXCLUSAO = 0;
+	private static final byte STATUS = 1;
+	private static final byte PRIORIDADE = 2;
+	private static final byte TECNICO = 3;
+	private static final byte CLIENTE = 4;
+
+	/** Bytes fixos de um registro: tamanho, chamado, instante, campo, anterior, novo e tamanho do usuário. */
+	private static final int CABECALHO = 4 + 4 + 8 + 1 + 4 + 4 + 1;
+
+	/** Maior tamanho do usuário gravado, em bytes. */
+	private static final int MAXIMO_USUARIO = 255;
+
+	/** Registros gravados entre verificações do prazo de sincronização. */
+	private static final int LOTE_ESCRITA = 256;
+
+	/** Bits do filtro de chamados de cada segmento encerrado. */
+	private static final int FILTRO_BITS = 1 << 16;
+
+	@Value("${helpdesk.auditoria.diretorio:data/auditoria}")
+	private String diretorio;
+
+	@Value("${helpdesk.auditoria.tamanho-segmento:67108864}")
+	private int tamanhoSegmento;
+
+	@Value("${helpdesk.auditoria.capacidade:8192}")
+	private int capacidade;
+
+	@Value("${helpdesk.auditoria.intervalo-fsync-ms:100}")
+	private long intervaloFsyncMs;
+
+	@Value("${helpdesk.auditoria.indices-em-cache:4}")
+	private int indicesEmCache;
+
+	/** Registro de métricas, se o Actuator estiver presente. */
+	@Autowired
+	private ObjectProvider<MeterRegistry> metricas;
+
+	private Anel anel;
+	private Thread escritora;
+	private volatile boolean ativo;
+
+	/** Registros descartados porque o buffer circular estava cheio. */
+	private final AtomicLong descartados = new AtomicLong();
+
+	/** Segmento atual, o único mapeado para escrita, com as posições dos seus registros. */
+	private volatile Aberto atual;
+
+	/**
+	 * Segmentos encerrados, em ordem. É substituído pela thread escritora antes de
+	 * {@link #atual}, então quem lê {@code atual} e depois esta lista nunca perde um segmento.
+	 */
+	private volatile List<Encerrado> encerrados = List.of();
+
+	/** Índices dos segmentos encerrados usados por último, em ordem de acesso. */
+	private final Map<Integer, Indice> indices = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Indice> maisAntigo) {
+			return size() > indicesEmCache;
+		}
+	};
+
+	/* Estado da thread escritora. */
+	private int posicaoAtual;
+	private long pendenteDesde = -1;
+
+	/**
+	 * Mapeia os segmentos existentes, reconstrói o índice e inicia a thread escritora.
+	 */
+	@PostConstruct
+	public void abre() {
+		if (Integer.bitCount(capacidade) != 1) {
+			throw new IllegalStateException("helpdesk.auditoria.capacidade deve ser potência de 2");
+		}
+		anel = new Anel(capacidade);
+		try {
+			Path dir = Paths.get(diretorio);
+			Files.createDirectories(dir);
+			List<Path> arquivos;
+			try (Stream<Path> s = Files.list(dir)) {
+				arquivos = s.filter(p -> p.getFileName().toString().matches("segmento-\\d{6}\\.log")).sorted()
+						.collect(Collectors.toList());
+			}
+			long[] registros = { 0 };
+			List<Encerrado> lidos = new ArrayList<>();
+			for (int i = 0; i < arquivos.size(); i++) {
+				Path arquivo = arquivos.get(i);
+				int numero = Integer.parseInt(arquivo.getFileName().toString().substring(9, 15));
+				// só o último segmento volta a receber registros; os anteriores são lidos no tamanho real
+				if (i == arquivos.size() - 1) {
+					Aberto aberto = new Aberto(numero,
+							mapeia(arquivo, (int) Math.max(Files.size(arquivo), tamanhoSegmento)));
+					posicaoAtual = percorre(aberto.buffer, (chamado, posicao) -> {
+						aberto.indexa(chamado, posicao);
+						registros[0]++;
+					});
+					atual = aberto;
+				} else {
+					Encerrado encerrado = new Encerrado(numero);
+					percorre(mapeiaLeitura(arquivo), (chamado, posicao) -> {
+						encerrado.marca(chamado);
+						registros[0]++;
+					});
+					lidos.add(encerrado);
+				}
+			}
+			encerrados = List.copyOf(lidos);
+			if (atual == null) {
+				atual = new Aberto(0, mapeia(segmento(0), tamanhoSegmento));
+			}
+			LOG.info("Auditoria de chamados: {} registros em {} segmentos", registros[0], Math.max(arquivos.size(), 1));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir a auditoria em " + diretorio, e);
+		}
+
+		metricas.ifAvailable(registro -> FunctionCounter
+				.builder("helpdesk.auditoria.descartados", descartados, AtomicLong::get)
+				.description("Registros de auditoria descartados com o buffer cheio").register(registro));
+
+		ativo = true;
+		escritora = new Thread(this::executa, "auditoria-chamados");
+		escritora.setDaemon(true);
+		escritora.start();
+	}
+
+	/**
+	 * Para a thread escritora depois de gravar os registros pendentes.
+	 */
+	@PreDestroy
+	public void fecha() throws InterruptedException {
+		ativo = false;
+		LockSupport.unpark(escritora);
+		escritora.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	/**
+	 * Registra as alterações de um chamado, após o commit da transação ativa (se houver).
+	 * Uma criação gera um registro para cada campo; uma exclusão, um único registro.
+	 *
+	 * @param id     ID do chamado
+	 * @param antes  situação do chamado antes da escrita, ou {@code null} em uma criação
+	 * @param depois situação do chamado após a escrita, ou {@code null} em uma exclusão
+	 */
+	public void registra(Integer id, EstatisticasService.Chave antes, EstatisticasService.Chave depois) {
+		if (Objects.equals(antes, depois)) {
+			return;
+		}
+		long instante = System.currentTimeMillis();
+		byte[] usuario = usuario();
+		Transacoes.aposCommit(() -> {
+			if (depois == null) {
+				publica(new Registro(id, instante, EXCLUSAO, null, null, usuario));
+				return;
+			}
+			publica(id, instante, STATUS, (antes != null) ? antes.status : null, depois.status, usuario, antes);
+			publica(id, instante, PRIORIDADE, (antes != null) ? antes.prioridade : null, depois.prioridade, usuario,
+					antes);
+			publica(id, instante, TECNICO, (antes != null) ? antes.tecnico : null, depois.tecnico, usuario, antes);
+			publica(id, instante, CLIENTE, (antes != null) ? antes.cliente : null, depois.cliente, usuario, antes);
+		});
+	}
+
+	/**
+	 * Retorna o histórico de alterações de um chamado, em ordem cronológica, lido dos
+	 * segmentos a partir do índice do segmento atual e dos índices dos segmentos
+	 * encerrados cujo filtro indica o chamado.
+	 *
+	 * @param id ID do chamado
+	 * @return a lista de {@link HistoricoDTO}, vazia se não houver registros
+	 */
+	public List<HistoricoDTO> historico(Integer id) {
+		Aberto aberto = atual;
+		List<HistoricoDTO> list = new ArrayList<>();
+		for (Encerrado encerrado : encerrados) {
+			// um segmento encerrado depois da leitura de atual é lido abaixo, como atual
+			if (encerrado.numero < aberto.numero && encerrado.pode(id)) {
+				Indice indice = indice(encerrado.numero);
+				le(indice.buffer, indice.posicoes.get(id), list);
+			}
+		}
+		le(aberto.buffer, aberto.posicoes.get(id), list);
+		return list;
+	}
+
+	/** Decodifica os registros nas posições dadas, na ordem em que foram gravados. */
+	private static void le(ByteBuffer buffer, Posicoes posicoes, List<HistoricoDTO> list) {
+		if (posicoes == null) {
+			return;
+		}
+		int quantidade = posicoes.tamanho;
+		int[] valores = posicoes.valores;
+		ByteBuffer leitura = buffer.duplicate();
+		for (int i = 0; i < quantidade; i++) {
+			leitura.position(valores[i]);
+			list.add(historico(leitura));
+		}
+	}
+
+	/** Índice de um segmento encerrado, do cache ou reconstruído percorrendo o segmento. */
+	private Indice indice(int numero) {
+		synchronized (indices) {
+			Indice indice = indices.get(numero);
+			if (indice != null) {
+				return indice;
+			}
+		}
+		Indice indice;
+		try {
+			indice = new Indice(mapeiaLeitura(segmento(numero)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		synchronized (indices) {
+			Indice outro = indices.putIfAbsent(numero, indice);
+			return (outro != null) ? outro : indice;
+		}
+	}
+
+	/** Decodifica o registro a partir da posição atual do buffer. */
+	private static HistoricoDTO historico(ByteBuffer buffer) {
+		buffer.getInt();
+		buffer.getInt();
+		Instant instante = Instant.ofEpochMilli(buffer.getLong());
+		String campo = CAMPOS[buffer.get()];
+		Integer anterior = valor(buffer.getInt());
+		Integer novo = valor(buffer.getInt());
+		byte[] usuario = new byte[buffer.get() & 0xFF];
+		buffer.get(usuario);
+		return new HistoricoDTO(instante, (usuario.length > 0) ? new String(usuario, StandardCharsets.UTF_8) : null,
+				campo, anterior, novo);
+	}
+
+	private void publica(Integer id, long instante, byte campo, Integer anterior, Integer novo, byte[] usuario,
+			EstatisticasService.Chave antes) {
+		if (antes == null || !Objects.equals(anterior, novo)) {
+			publica(new Registro(id, instante, campo, anterior, novo, usuario));
+		}
+	}
+
+	private void publica(Registro registro) {
+		if (!ativo) {
+			LOG.warn("Auditoria encerrada; registro do chamado {} descartado", registro.chamado);
+			return;
+		}
+		if (!anel.oferece(registro)) {
+			long total = descartados.incrementAndGet();
+			if (Long.bitCount(total) == 1) {
+				LOG.warn("Buffer da auditoria cheio; registro do chamado {} descartado ({} no total)",
+						registro.chamado, total);
+			}
+		}
+		LockSupport.unpark(escritora);
+	}
+
+	/** Laço da thread escritora. */
+	private void executa() {
+		long intervalo = TimeUnit.MILLISECONDS.toNanos(intervaloFsyncMs);
+		while (true) {
+			int gravados = 0;
+			Registro registro;
+			while (gravados < LOTE_ESCRITA && (registro = anel.retira()) != null) {
+				try {
+					grava(registro);
+				} catch (IOException | RuntimeException e) {
+					LOG.error("Falha ao gravar auditoria do chamado {}", registro.chamado, e);
+				}
+				gravados++;
+			}
+			if (pendenteDesde >= 0 && (!ativo || System.nanoTime() - pendenteDesde >= intervalo)) {
+				atual.buffer.force();
+				pendenteDesde = -1;
+			}
+			if (gravados == 0) {
+				if (!ativo) {
+					return;
+				}
+				LockSupport.parkNanos((pendenteDesde >= 0) ? intervalo : TimeUnit.SECONDS.toNanos(1));
+			}
+		}
+	}
+
+	private void grava(Registro registro) throws IOException {
+		int tamanho = CABECALHO + registro.usuario.length;
+		Aberto aberto = atual;
+		if (posicaoAtual + tamanho > aberto.buffer.limit()) {
+			aberto.buffer.force();
+			Encerrado encerrado = new Encerrado(aberto.numero);
+			aberto.posicoes.keySet().forEach(encerrado::marca);
+			List<Encerrado> lista = new ArrayList<>(encerrados);
+			lista.add(encerrado);
+			encerrados = List.copyOf(lista);
+			aberto = new Aberto(aberto.numero + 1, mapeia(segmento(aberto.numero + 1), tamanhoSegmento));
+			posicaoAtual = 0;
+			atual = aberto;
+		}
+		MappedByteBuffer buffer = aberto.buffer;
+		int p = posicaoAtual;
+		buffer.putInt(p + 4, registro.chamado);
+		buffer.putLong(p + 8, registro.instante);
+		buffer.put(p + 16, registro.campo);
+		buffer.putInt(p + 17, (registro.anterior != null) ? registro.anterior : -1);
+		buffer.putInt(p + 21, (registro.novo != null) ? registro.novo : -1);
+		buffer.put(p + 25, (byte) registro.usuario.length);
+		for (int i = 0; i < registro.usuario.length; i++) {
+			buffer.put(p + CABECALHO + i, registro.usuario[i]);
+		}
+		buffer.putInt(p, tamanho);
+		posicaoAtual += tamanho;
+		if (pendenteDesde < 0) {
+			pendenteDesde = System.nanoTime();
+		}
+		aberto.indexa(registro.chamado, p);
+	}
+
+	/**
+	 * Percorre os registros de um segmento até o primeiro de tamanho zero.
+	 *
+	 * @return a posição seguinte ao último registro
+	 */
+	private static int percorre(ByteBuffer buffer, Visita visita) {
+		int posicao = 0;
+		int tamanho;
+		while (posicao + CABECALHO <= buffer.limit() && (tamanho = buffer.getInt(posicao)) > 0) {
+			visita.registro(buffer.getInt(posicao + 4), posicao);
+			posicao += tamanho;
+		}
+		return posicao;
+	}
+
+	private Path segmento(int numero) {
+		return Paths.get(diretorio, String.format("segmento-%06d.log", numero));
+	}
+
+	private static MappedByteBuffer mapeia(Path arquivo, int tamanho) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			return canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+		}
+	}
+
+	/** Mapeia um segmento encerrado somente para leitura, no tamanho do arquivo. */
+	private static MappedByteBuffer mapeiaLeitura(Path arquivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+	}
+
+	private static byte[] usuario() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth == null) {
+			return new byte[0];
+		}
+		byte[] bytes = auth.getName().getBytes(StandardCharsets.UTF_8);
+		return (bytes.length > MAXIMO_USUARIO) ? Arrays.copyOf(bytes, MAXIMO_USUARIO) : bytes;
+	}
+
+	private static Integer valor(int valor) {
+		return (valor == -1) ? null : valor;
+	}
+
+	/** Ação executada com cada registro percorrido. */
+	@FunctionalInterface
+	private interface Visita {
+		void registro(int chamado, int posicao);
+	}
+
+	/**
+	 * Segmento atual, mapeado para escrita, com as posições dos seus registros por chamado.
+	 * Ao ser substituído, o mapeamento é liberado pelo coletor de lixo quando nenhuma
+	 * leitura em andamento o usar mais.
+	 */
+	private static final class Aberto {
+
+		private final int numero;
+		private final MappedByteBuffer buffer;
+		private final Map<Integer, Posicoes> posicoes = new ConcurrentHashMap<>();
+
+		private Aberto(int numero, MappedByteBuffer buffer) {
+			this.numero = numero;
+			this.buffer = buffer;
+		}
+
+		private void indexa(int chamado, int posicao) {
+			posicoes.computeIfAbsent(chamado, x -> new Posicoes()).adiciona(posicao);
+		}
+	}
+
+	/**
+	 * Segmento encerrado: só o número e um filtro dos chamados com registros nele, que pode
+	 * indicar um chamado ausente, mas nunca deixa de indicar um presente.
+	 */
+	private static final class Encerrado {
+
+		private final int numero;
+		private final long[] filtro = new long[FILTRO_BITS / Long.SIZE];
+
+		private Encerrado(int numero) {
+			this.numero = numero;
+		}
+
+		private void marca(int chamado) {
+			int bit = bit(chamado);
+			filtro[bit >>> 6] |= 1L << bit;
+		}
+
+		private boolean pode(int chamado) {
+			int bit = bit(chamado);
+			return (filtro[bit >>> 6] & (1L << bit)) != 0;
+		}
+
+		private static int bit(int chamado) {
+			return (chamado * 0x9E3779B9) >>> 16;
+		}
+	}
+
+	/** Índice reconstruído de um segmento encerrado, mapeado somente para leitura. */
+	private static final class Indice {
+
+		private final MappedByteBuffer buffer;
+		private final Map<Integer, Posicoes> posicoes = new HashMap<>();
+
+		private Indice(MappedByteBuffer buffer) {
+			this.buffer = buffer;
+			percorre(buffer, (chamado, posicao) -> posicoes.computeIfAbsent(chamado, x -> new Posicoes()).adiciona(posicao));
+		}
+	}
+
+	/** Alteração de um campo de um chamado, aguardando gravação. */
+	private static final class Registro {
+
+		private final int chamado;
+		private final long instante;
+		private final byte campo;
+		private final Integer anterior;
+		private final Integer novo;
+		private final byte[] usuario;
+
+		private Registro(int chamado, long instante, byte campo, Integer anterior, Integer novo, byte[] usuario) {
+			this.chamado = chamado;
+			this.instante = instante;
+			this.campo = campo;
+			this.anterior = anterior;
+			this.novo = novo;
+			this.usuario = usuario;
+		}
+	}
+
+	/**
+	 * Posições dos registros de um chamado em um segmento. Só uma thread acrescenta posições
+	 * (no segmento atual, a escritora); o tamanho é publicado depois do vetor, então leitores
+	 * sempre enxergam um prefixo válido.
+	 */
+	private static final class Posicoes {
+
+		private volatile int[] valores = new int[4];
+		private volatile int tamanho;
+
+		private void adiciona(int valor) {
+			int[] atual = valores;
+			if (tamanho == atual.length) {
+				atual = Arrays.copyOf(atual, atual.length * 2);
+			}
+			atual[tamanho] = valor;
+			valores = atual;
+			tamanho++;
+		}
+	}
+
+	/**
+	 * Buffer circular limitado com vários produtores (threads das requisições) e um único
+	 * consumidor (a thread escritora). Os produtores reservam uma posição com CAS e o
+	 * consumidor libera a posição depois de ler, sem bloqueios.
+	 */
+	private static final class Anel {
+
+		private final AtomicReferenceArray<Registro> posicoes;
+		private final int mascara;
+		private final AtomicLong produtor = new AtomicLong();
+		private volatile long consumidor;
+
+		private Anel(int capacidade) {
+			this.posicoes = new AtomicReferenceArray<>(capacidade);
+			this.mascara = capacidade - 1;
+		}
+
+		/** Coloca um registro no buffer; retorna {@code false} se estiver cheio. */
+		private boolean oferece(Registro registro) {
+			long sequencia;
+			do {
+				sequencia = produtor.get();
+				if (sequencia - consumidor >= posicoes.length()) {
+					return false;
+				}
+			} while (!produtor.compareAndSet(sequencia, sequencia + 1));
+			posicoes.lazySet((int) sequencia & mascara, registro);
+			return true;
+		}
+
+		/** Retira o próximo registro, ou {@code null} se ainda não houver. Só a thread escritora chama. */
+		private Registro retira() {
+			long sequencia = consumidor;
+			int i = (int) sequencia & mascara;
+			Registro registro = posicoes.get(i);
+			if (registro == null) {
+				return null;
+			}
+			posicoes.lazySet(i, null);
+			consumidor = sequencia + 1;
+			return registro;
+		}
+	}
+}
@@ -0,0 +1,400 @@
+package com.turmab.helpdesk.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Classe de serviço responsável pelo índice de busca textual (Apache Lucene) sobre o
+ * título e as observações dos chamados.
+ * 
+ * <p>O índice fica em disco local e é atualizado de forma incremental pelo
+ * {@link ChamadoService} a cada criação, alteração ou exclusão. As alterações ficam
+ * visíveis para a busca em quase tempo real (reabertura controlada do leitor), e o
+ * índice pode ser reconstruído por completo a partir do banco a qualquer momento.
+ * Chamados arquivados continuam indexados.</p>
+ * 
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.busca.diretorio}: diretório do índice (padrão {@code data/indice-chamados});</li>
+ *   <li>{@code helpdesk.busca.reindexar-na-inicializacao}: reconstrói o índice ao iniciar (padrão {@code false});</li>
+ *   <li>{@code helpdesk.busca.atraso-maximo-ms}: tempo máximo até uma alteração aparecer na busca (padrão 1000).</li>
+ * </ul>
+ * 
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class BuscaService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BuscaService.class);
+
+	/** Quantidade de chamados lidos do banco por consulta na reconstrução do índice. */
+	private static final int LOTE_REINDEXACAO = 1000;
+
+	/**
+	 * Posição máxima alcançável pela paginação ({@code (page + 1) * size}). A busca reúne
+	 * todos os resultados até o fim da página pedida, então páginas mais profundas são recusadas.
+	 */
+	static final int MAXIMO_RESULTADOS = 10_000;
+
+	/** Quantidade de travas por ID usadas entre as atualizações e a reconstrução. */
+	private static final int TRAVAS = 64;
+
+	private static final String CAMPO_ID = "id";
+	private static final String CAMPO_GERACAO = "geracao";
+	private static final String CAMPO_TITULO = "titulo";
+	private static final String CAMPO_OBSERVACOES = "observacoes";
+
+	/** Repositório da tabela ativa de chamados. */
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	/** Repositório da tabela de arquivo de chamados. */
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+
+	/** Diretório do índice em disco. */
+	@Value("${helpdesk.busca.diretorio:data/indice-chamados}")
+	private String diretorio;
+
+	/** Indica se o índice deve ser reconstruído na inicialização. */
+	@Value("${helpdesk.busca.reindexar-na-inicializacao:false}")
+	private boolean reindexarNaInicializacao;
+
+	/** Tempo máximo, em milissegundos, até uma alteração ficar visível na busca. */
+	@Value("${helpdesk.busca.atraso-maximo-ms:1000}")
+	private long atrasoMaximoMs;
+
+	private final Analyzer analyzer = new BrazilianAnalyzer();
+
+	private FSDirectory directory;
+	private IndexWriter writer;
+	private SearcherManager searcherManager;
+	private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+	/** Geração gravada nos documentos e IDs alterados durante a reconstrução em curso. */
+	private volatile Reconstrucao estado = new Reconstrucao(System.currentTimeMillis(), null);
+
+	/** Uma reconstrução por vez. */
+	private final Object reconstrucao = new Object();
+
+	private final Object[] travas = new Object[TRAVAS];
+
+	{
+		for (int i = 0; i < TRAVAS; i++) {
+			travas[i] = new Object();
+		}
+	}
+
+	/**
+	 * Abre (ou cria) o índice em disco e inicia a reabertura periódica do leitor.
+	 * 
+	 * @throws IOException em caso de erro ao abrir o índice
+	 */
+	@PostConstruct
+	public void abre() throws IOException {
+		directory = FSDirectory.open(Paths.get(diretorio));
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+		searcherManager = new SearcherManager(writer, null);
+		reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+				atrasoMaximoMs / 1000.0, Math.min(0.1, atrasoMaximoMs / 1000.0));
+		reopenThread.setName("indice-chamados-reopen");
+		reopenThread.setDaemon(true);
+		reopenThread.start();
+	}
+
+	/**
+	 * Constrói o índice quando a aplicação termina de iniciar (e o banco já foi populado),
+	 * caso ele esteja vazio ou a reconstrução tenha sido configurada.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void inicializa() {
+		if (reindexarNaInicializacao || writer.getDocStats().numDocs == 0) {
+			reindexa();
+		}
+	}
+
+	/**
+	 * Grava as alterações pendentes e fecha o índice.
+	 * 
+	 * @throws IOException em caso de erro ao fechar o índice
+	 */
+	@PreDestroy
+	public void fecha() throws IOException {
+		reopenThread.close();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	/**
+	 * Grava periodicamente as alterações em disco, para que sobrevivam a uma parada abrupta.
+	 * A visibilidade na busca não depende deste commit.
+	 */
+	@Scheduled(fixedDelayString = "${helpdesk.busca.intervalo-commit-ms:30000}")
+	public void commit() {
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException e) {
+			LOG.error("Falha ao gravar o índice de chamados", e);
+		}
+	}
+
+	/**
+	 * Indexa (ou reindexa) um chamado. Se houver transação ativa, a atualização só é
+	 * aplicada após o commit, para que o índice não reflita alterações desfeitas.
+	 * 
+	 * @param obj chamado a ser indexado
+	 */
+	public void indexa(Chamado obj) {
+		Integer id = obj.getId();
+		String titulo = obj.getTitulo();
+		String observacoes = obj.getObservacoes();
+		Transacoes.aposCommit(() -> atualiza(id, titulo, observacoes));
+	}
+
+	/**
+	 * Remove um chamado do índice, após o commit da transação ativa (se houver).
+	 * 
+	 * @param id identificador do chamado
+	 */
+	public void remove(Integer id) {
+		Transacoes.aposCommit(() -> exclui(id));
+	}
+
+	/**
+	 * Busca chamados cujo título ou observações correspondam à consulta, ordenados por relevância.
+	 * 
+	 * <p>A consulta aceita a sintaxe do Lucene (termos, aspas, AND/OR, curingas).</p>
+	 * 
+	 * @param q texto da consulta
+	 * @param page página desejada (começando em 0)
+	 * @param size quantidade de resultados por página
+	 * @return os IDs da página pedida, em ordem de relevância, e o total de resultados
+	 * @throws DataIntegrityViolationException caso a consulta seja inválida ou a página
+	 *                                         ultrapasse {@value #MAXIMO_RESULTADOS} resultados
+	 */
+	public Resultado busca(String q, int page, int size) {
+		if (((long) page + 1) * size > MAXIMO_RESULTADOS) {
+			throw new DataIntegrityViolationException(
+					"A busca alcança no máximo " + MAXIMO_RESULTADOS + " resultados; refine a consulta");
+		}
+
+		Query query;
+		try {
+			query = new MultiFieldQueryParser(new String[] { CAMPO_TITULO, CAMPO_OBSERVACOES }, analyzer).parse(q);
+		} catch (ParseException e) {
+			throw new DataIntegrityViolationException("Consulta inválida: " + q, e);
+		}
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				TopDocs top = searcher.search(query, (page + 1) * size);
+				List<Integer> ids = new ArrayList<>(size);
+				ScoreDoc[] hits = top.scoreDocs;
+				for (int i = page * size; i < hits.length; i++) {
+					ids.add(Integer.valueOf(searcher.doc(hits[i].doc).get(CAMPO_ID)));
+				}
+				return new Resultado(ids, top.totalHits.value);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reconstrói o índice inteiro a partir do banco (chamados ativos e arquivados),
+	 * lendo apenas ID, título e observações em lotes ordenados por ID.
+	 * 
+	 * <p>Cada chamado lido substitui o seu documento, e ao final são excluídos os documentos
+	 * que a reconstrução não gravou (chamados que não existem mais); a busca continua vendo
+	 * o índice anterior enquanto isso, nunca um índice vazio. As atualizações incrementais
+	 * não esperam a reconstrução: elas marcam o ID, e a reconstrução não sobrescreve um
+	 * chamado marcado com o texto lido antes da alteração. A marcação e a gravação de cada
+	 * ID usam uma trava por ID.</p>
+	 * 
+	 * @return quantidade de chamados indexados
+	 */
+	public long reindexa() {
+		synchronized (reconstrucao) {
+			Reconstrucao atual = new Reconstrucao(estado.geracao + 1, ConcurrentHashMap.newKeySet());
+			estado = atual;
+			try {
+				long total = reindexaLotes(atual, false) + reindexaLotes(atual, true);
+				estado = new Reconstrucao(atual.geracao, null);
+				writer.deleteDocuments(new BooleanQuery.Builder()
+						.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+						.add(new TermQuery(new Term(CAMPO_GERACAO, Long.toString(atual.geracao))),
+								BooleanClause.Occur.MUST_NOT)
+						.build());
+				writer.commit();
+				searcherManager.maybeRefresh();
+				LOG.info("Índice de chamados reconstruído: {} chamados", total);
+				return total;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				if (estado == atual) {
+					estado = new Reconstrucao(atual.geracao, null);
+				}
+			}
+		}
+	}
+
+	private long reindexaLotes(Reconstrucao atual, boolean arquivados) throws IOException {
+		long total = 0;
+		int depois = 0;
+		List<Object[]> lote;
+		do {
+			PageRequest pagina = PageRequest.of(0, LOTE_REINDEXACAO);
+			lote = arquivados ? arquivadoRepository.findTextosAposId(depois, pagina)
+					: chamadoRepository.findTextosAposId(depois, pagina);
+			for (Object[] linha : lote) {
+				depois = (Integer) linha[0];
+				synchronized (trava(depois)) {
+					if (!atual.alterados.contains(depois)) {
+						writer.updateDocument(new Term(CAMPO_ID, Integer.toString(depois)),
+								documento(depois, (String) linha[1], (String) linha[2], atual.geracao));
+					}
+				}
+			}
+			total += lote.size();
+		} while (lote.size() == LOTE_REINDEXACAO);
+		return total;
+	}
+
+	private void atualiza(Integer id, String titulo, String observacoes) {
+		synchronized (trava(id)) {
+			Reconstrucao atual = estado;
+			try {
+				writer.updateDocument(new Term(CAMPO_ID, id.toString()),
+						documento(id, titulo, observacoes, atual.geracao));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			atual.marca(id);
+		}
+	}
+
+	private void exclui(Integer id) {
+		synchronized (trava(id)) {
+			Reconstrucao atual = estado;
+			try {
+				writer.deleteDocuments(new Term(CAMPO_ID, id.toString()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			atual.marca(id);
+		}
+	}
+
+	private Object trava(int id) {
+		return travas[Math.floorMod(id, TRAVAS)];
+	}
+
+	private static Document documento(Integer id, String titulo, String observacoes, long geracao) {
+		Document doc = new Document();
+		doc.add(new StringField(CAMPO_ID, id.toString(), Field.Store.YES));
+		doc.add(new StringField(CAMPO_GERACAO, Long.toString(geracao), Field.Store.NO));
+		if (titulo != null) {
+			doc.add(new TextField(CAMPO_TITULO, titulo, Field.Store.NO));
+		}
+		if (observacoes != null) {
+			doc.add(new TextField(CAMPO_OBSERVACOES, observacoes, Field.Store.NO));
+		}
+		return doc;
+	}
+
+	/**
+	 * Geração dos documentos gravados a partir de agora e, durante uma reconstrução, os IDs
+	 * atualizados ou excluídos desde o seu início.
+	 */
+	private static final class Reconstrucao {
+
+		private final long geracao;
+		private final Set<Integer> alterados;
+
+		Reconstrucao(long geracao, Set<Integer> alterados) {
+			this.geracao = geracao;
+			this.alterados = alterados;
+		}
+
+		void marca(Integer id) {
+			if (alterados != null) {
+				alterados.add(id);
+			}
+		}
+	}
+
+	/**
+	 * Resultado de uma busca: IDs da página pedida, em ordem de relevância, e total de resultados.
+	 */
+	public static class Resultado {
+
+		private final List<Integer> ids;
+		private final long total;
+
+		public Resultado(List<Integer> ids, long total) {
+			this.ids = ids;
+			this.total = total;
+		}
+
+		public List<Integer> getIds() {
+			return ids;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.turmab.helpdesk.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Lista de campos que podem ser pedidos em {@code ?fields=} para um recurso, com a
+ * expressão JPQL que lê cada um.
+ *
+ * <p>A consulta gerada seleciona apenas as colunas dos campos pedidos, mais o ID e a
+ * versão, e só faz as junções necessárias a eles. Campos cadastrados sem expressão
+ * (coleções, por exemplo) são aceitos, mas devem ser carregados à parte pelo serviço.
+ * Os valores lidos são copiados para o DTO pelos setters de mesmo nome (convertidos com
+ * {@code toString()} quando o DTO guarda o campo como texto); os demais campos do DTO
+ * ficam nulos e são omitidos na serialização.</p>
+ *
+ * @author Gustavo Barros
+ */
+public final class Campos {
+
+	private final Map<String, String> expressoes = new LinkedHashMap<>();
+	private final Map<String, String> juncoes = new HashMap<>();
+
+	/**
+	 * Cadastra um campo.
+	 *
+	 * @param nome      nome do campo no DTO
+	 * @param expressao expressão JPQL, com {@code obj} como a entidade consultada, ou
+	 *                  {@code null} se o campo for carregado à parte
+	 * @return esta instância
+	 */
+	public Campos campo(String nome, String expressao) {
+		expressoes.put(nome, expressao);
+		return this;
+	}
+
+	/**
+	 * Cadastra a junção usada pelas expressões que começam com {@code alias.}.
+	 *
+	 * @param alias   alias usado nas expressões
+	 * @param juncao  cláusula de junção, ex.: {@code left join obj.tecnico t}
+	 * @return esta instância
+	 */
+	public Campos juncao(String alias, String juncao) {
+		juncoes.put(alias, juncao);
+		return this;
+	}
+
+	/**
+	 * Lê o parâmetro {@code fields} (nomes separados por vírgula).
+	 *
+	 * @param fields valor do parâmetro
+	 * @return os campos pedidos, na ordem informada, ou {@code null} se o parâmetro estiver
+	 *         ausente ou vazio (todos os campos)
+	 * @throws DataIntegrityViolationException Caso algum campo não esteja na lista.
+	 */
+	public Set<String> le(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return null;
+		}
+		Set<String> campos = new LinkedHashSet<>();
+		for (String campo : fields.split(",")) {
+			campo = campo.trim();
+			if (campo.isEmpty()) {
+				continue;
+			}
+			if (!expressoes.containsKey(campo)) {
+				throw new DataIntegrityViolationException("Campo inválido: " + campo + ". Use " + expressoes.keySet());
+			}
+			campos.add(campo);
+		}
+		return campos.isEmpty() ? null : campos;
+	}
+
+	/**
+	 * Consulta os campos pedidos de uma entidade, em ordem de ID.
+	 *
+	 * <p>Cada linha traz o ID, a versão e, em seguida, os valores dos demais campos com
+	 * expressão, na ordem de {@code campos}.</p>
+	 *
+	 * @param em       gerenciador de entidades
+	 * @param entidade nome da entidade JPA
+	 * @param campos   campos pedidos
+	 * @param ids      IDs consultados, ou {@code null} para todos
+	 * @return as linhas encontradas
+	 */
+	public List<Object[]> consulta(EntityManager em, String entidade, Set<String> campos, Collection<Integer> ids) {
+		if (ids == null) {
+			return consulta(em, entidade, campos, null, Map.of(), 0);
+		}
+		return consulta(em, entidade, campos, "obj.id in :ids", Map.of("ids", ids), 0);
+	}
+
+	/**
+	 * Consulta os campos pedidos das linhas de uma entidade que atendem a uma condição,
+	 * em ordem de ID.
+	 *
+	 * @param em         gerenciador de entidades
+	 * @param entidade   nome da entidade JPA
+	 * @param campos     campos pedidos
+	 * @param condicao   condição JPQL (cláusula {@code where}, com {@code obj} como a
+	 *                   entidade consultada), ou {@code null} para todas as linhas
+	 * @param parametros valores dos parâmetros nomeados da condição
+	 * @param limite     quantidade máxima de linhas, ou 0 para todas
+	 * @return as linhas encontradas, no formato de {@link #consulta(EntityManager, String, Set, Collection)}
+	 */
+	public List<Object[]> consulta(EntityManager em, String entidade, Set<String> campos, String condicao,
+			Map<String, ?> parametros, int limite) {
+		StringBuilder select = new StringBuilder("select obj.id, obj.versao");
+		Set<String> usadas = new LinkedHashSet<>();
+		for (String campo : campos) {
+			String expressao = expressoes.get(campo);
+			if (expressao != null && !campo.equals("id")) {
+				select.append(", ").append(expressao);
+				String alias = expressao.substring(0, expressao.indexOf('.'));
+				if (juncoes.containsKey(alias)) {
+					usadas.add(juncoes.get(alias));
+				}
+			}
+		}
+		select.append(" from ").append(entidade).append(" obj");
+		for (String juncao : usadas) {
+			select.append(' ').append(juncao);
+		}
+		if (condicao != null) {
+			select.append(" where ").append(condicao);
+		}
+		select.append(" order by obj.id");
+
+		TypedQuery<Object[]> query = em.createQuery(select.toString(), Object[].class);
+		parametros.forEach(query::setParameter);
+		if (limite > 0) {
+			query.setMaxResults(limite);
+		}
+		return query.getResultList();
+	}
+
+	/**
+	 * Retorna os nomes de todos os campos cadastrados.
+	 *
+	 * @return os nomes, na ordem de cadastro
+	 */
+	public Set<String> nomes() {
+		return expressoes.keySet();
+	}
+
+	/**
+	 * Copia para o DTO os valores de uma linha retornada por {@link #consulta}.
+	 *
+	 * @param dto    DTO a preencher
+	 * @param campos campos pedidos, na mesma ordem da consulta
+	 * @param linha  linha da consulta
+	 * @return o próprio DTO
+	 */
+	public <T> T preenche(T dto, Set<String> campos, Object[] linha) {
+		BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+		int i = 2;
+		for (String campo : campos) {
+			if (campo.equals("id")) {
+				bean.setPropertyValue(campo, linha[0]);
+			} else if (expressoes.get(campo) != null) {
+				Object valor = linha[i++];
+				if (valor != null && bean.getPropertyType(campo) == String.class) {
+					valor = valor.toString();
+				}
+				bean.setPropertyValue(campo, valor);
+			}
+		}
+		return dto;
+	}
+
+	/**
+	 * DTO de um único registro acompanhado da versão, usada na ETag da resposta.
+	 *
+	 * @param <T> tipo do DTO
+	 */
+	public static final class Linha<T> {
+
+		private final T dto;
+		private final Integer versao;
+
+		public Linha(T dto, Integer versao) {
+			this.dto = dto;
+			this.versao = versao;
+		}
+
+		public T getDto() {
+			return dto;
+		}
+
+		public Integer getVersao() {
+			return versao;
+		}
+	}
+}
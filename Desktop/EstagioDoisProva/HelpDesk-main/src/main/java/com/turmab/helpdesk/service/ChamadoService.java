@@ -1,20 +1,46 @@
 package com.turmab.helpdesk.service;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.orm.ObjectRetrievalFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.ChamadoArquivado;
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.Tecnico;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoResumoDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
 import com.turmab.helpdesk.domain.enums.Prioridade;
 import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
 import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.repositories.ClienteRepository;
+import com.turmab.helpdesk.repositories.ComentarioRepository;
+import com.turmab.helpdesk.repositories.TecnicoRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.PreconditionFailedException;
 
 
 /**
@@ -33,6 +59,30 @@ import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
 @Service
 public class ChamadoService {
 
+    /** Campos aceitos em {@code ?fields=} e no GraphQL, com as colunas que os leem. */
+    static final Campos CAMPOS = new Campos()
+            .campo("id", "obj.id")
+            .campo("dataAbertura", "obj.dataAbertura")
+            .campo("dataFechamento", "obj.dataFechamento")
+            .campo("prioridade", "obj.prioridade")
+            .campo("status", "obj.status")
+            .campo("titulo", "obj.titulo")
+            .campo("observacoes", "obj.observacoes")
+            .campo("tecnico", "obj.tecnico.id")
+            .campo("cliente", "obj.cliente.id")
+            .campo("nomeTecnico", "t.nome")
+            .campo("nomeCliente", "c.nome")
+            .juncao("t", "left join obj.tecnico t")
+            .juncao("c", "left join obj.cliente c");
+
+    /** Usado nas consultas de {@code ?fields=}, montadas conforme os campos pedidos. */
+    @PersistenceContext
+    private EntityManager em;
+
+    /** Quantidade máxima de IDs em {@code ?ids=}. */
+    @Value("${helpdesk.lote.tamanho-maximo:100}")
+    private int tamanhoMaximoLote;
+
 	/** Repositório responsável pelas operações de persistência de {@link Chamado}. */
     @Autowired
     private ChamadoRepository repository;
@@ -45,29 +95,244 @@ public class ChamadoService {
     @Autowired
     private ClienteService clienteService;
 
+    /** Repositório de técnicos, usado para obter referências sem consulta ao banco. */
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    /** Repositório de clientes, usado para obter referências sem consulta ao banco. */
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    /** Repositório da tabela de arquivo, consultado quando o chamado não está na tabela ativa. */
+    @Autowired
+    private ChamadoArquivadoRepository arquivadoRepository;
+
+    /** Índice de busca textual, atualizado a cada escrita. */
+    @Autowired
+    private BuscaService buscaService;
+
+    /** Contadores do painel gerencial, atualizados a cada escrita. */
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    /** Percentis do tempo de resolução, atualizados a cada fechamento. */
+    @Autowired
+    private ResolucaoService resolucaoService;
+
+    /** Cubo de relatórios, atualizado a cada escrita. */
+    @Autowired
+    private CuboService cuboService;
+
+    /** Histórico de alterações, gravado fora da thread da requisição. */
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    /** Anexos, excluídos junto com o chamado. */
+    @Autowired
+    private AnexoService anexoService;
+
+    /** Comentários, excluídos junto com o chamado. */
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
     /**
      * Busca um chamado pelo seu identificador único (ID).
      * 
+     * <p>Se o chamado não estiver na tabela ativa, é procurado na tabela de arquivo.
+     * Um chamado arquivado é devolvido como um {@link Chamado} não gerenciado.</p>
+     * 
      * @param id Identificador do chamado.
      * @return O objeto {@link Chamado} correspondente ao ID informado.
      * @throws ObjectNotFoundException Caso o chamado não seja encontrado no banco.
      */
     public Chamado findById(Integer id) {
         Optional<Chamado> obj = repository.findById(id);
-        return obj.orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! id: " + id));
+        if (obj.isPresent()) {
+            return obj.get();
+        }
+        return arquivadoRepository.findById(id).map(ChamadoArquivado::toChamado)
+                .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! id: " + id));
+    }
+
+    /**
+     * Busca um chamado pelo seu ID, lendo do banco apenas os campos pedidos.
+     * 
+     * <p>Sem {@code fields}, o chamado é carregado por inteiro, como em {@link #findById(Integer)}.</p>
+     * 
+     * @param id     Identificador do chamado.
+     * @param fields Campos pedidos, separados por vírgula (opcional).
+     * @return O {@link ChamadoDTO} com os campos pedidos e a versão do chamado.
+     * @throws ObjectNotFoundException Caso o chamado não seja encontrado no banco.
+     * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+     */
+    public Campos.Linha<ChamadoDTO> findById(Integer id, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        if (campos == null) {
+            Chamado obj = findById(id);
+            return new Campos.Linha<>(new ChamadoDTO(obj), obj.getVersao());
+        }
+        List<Object[]> linhas = CAMPOS.consulta(em, "Chamado", campos, List.of(id));
+        if (linhas.isEmpty()) {
+            linhas = CAMPOS.consulta(em, "ChamadoArquivado", campos, List.of(id));
+        }
+        if (linhas.isEmpty()) {
+            throw new ObjectNotFoundException("Chamado não encontrado! id: " + id);
+        }
+        return new Campos.Linha<>(CAMPOS.preenche(new ChamadoDTO(), campos, linhas.get(0)), (Integer) linhas.get(0)[1]);
+    }
+
+    /**
+     * Busca um chamado que ainda esteja na tabela ativa, para ser alterado ou removido.
+     * 
+     * @param id Identificador do chamado.
+     * @return O objeto {@link Chamado} gerenciado correspondente ao ID informado.
+     * @throws ObjectNotFoundException Caso o chamado não seja encontrado no banco.
+     * @throws DataIntegrityViolationException Caso o chamado já tenha sido arquivado.
+     */
+    private Chamado findAtivo(Integer id) {
+        Optional<Chamado> obj = repository.findById(id);
+        if (obj.isPresent()) {
+            return obj.get();
+        }
+        if (arquivadoRepository.existsById(id)) {
+            throw new DataIntegrityViolationException("Chamado arquivado não pode ser alterado! id: " + id);
+        }
+        throw new ObjectNotFoundException("Chamado não encontrado! id: " + id);
+    }
+
+    /**
+     * Busca apenas a versão atual de um chamado, sem carregar a entidade.
+     * 
+     * <p>Usado para revalidar ETags com uma única consulta pela chave primária.</p>
+     * 
+     * @param id Identificador do chamado.
+     * @return A versão atual do chamado.
+     * @throws ObjectNotFoundException Caso o chamado não seja encontrado no banco.
+     */
+    public Integer findVersao(Integer id) {
+        Optional<Integer> versao = repository.findVersaoById(id);
+        if (versao.isPresent()) {
+            return versao.get();
+        }
+        return arquivadoRepository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! id: " + id));
     }
 
     /**
      * Retorna uma lista com todos os chamados cadastrados no sistema.
      * 
+     * <p>A tabela de arquivo só é consultada quando solicitado. As observações só são
+     * lidas do banco quando pedidas, na mesma consulta dos chamados. Com {@code fields},
+     * apenas as colunas dos campos pedidos são lidas, e os nomes de técnico e cliente
+     * só provocam junção quando pedidos.</p>
+     * 
+     * @param incluirArquivados Se {@code true}, inclui os chamados arquivados.
+     * @param comObservacoes    Se {@code true}, inclui as observações (ignorado quando há {@code fields}).
+     * @param fields            Campos pedidos, separados por vírgula (opcional).
      * @return Uma lista de {@link ChamadoDTO} representando os chamados existentes.
+     * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
      */
-    public List<ChamadoDTO> findAll() {
-        return repository.findAll().stream()
-                .map(ChamadoDTO::new)
+    public List<ChamadoDTO> findAll(boolean incluirArquivados, boolean comObservacoes, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        if (campos != null) {
+            Stream<Object[]> linhas = CAMPOS.consulta(em, "Chamado", campos, null).stream();
+            if (incluirArquivados) {
+                linhas = Stream.concat(linhas, CAMPOS.consulta(em, "ChamadoArquivado", campos, null).stream());
+            }
+            return linhas.map(x -> CAMPOS.preenche(new ChamadoDTO(), campos, x)).collect(Collectors.toList());
+        }
+
+        Stream<Chamado> chamados = (comObservacoes ? repository.findAllComObservacoes() : repository.findAll()).stream();
+        if (incluirArquivados) {
+            chamados = Stream.concat(chamados, (comObservacoes ? arquivadoRepository.findAllComPessoasEObservacoes()
+                    : arquivadoRepository.findAllComPessoas()).stream().map(x -> x.toChamado(comObservacoes)));
+        }
+        return chamados.map(x -> listagem(x, comObservacoes))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca chamados por palavras-chave no título e nas observações.
+     * 
+     * <p>A consulta é resolvida pelo índice textual ({@link BuscaService}); apenas os
+     * chamados da página pedida são carregados do banco, mantendo a ordem de relevância.
+     * Chamados arquivados também são encontrados.</p>
+     * 
+     * @param q              Texto da consulta.
+     * @param page           Página desejada (começando em 0).
+     * @param size           Quantidade de chamados por página.
+     * @param comObservacoes Se {@code true}, inclui as observações (ignorado quando há {@code fields}).
+     * @param fields         Campos pedidos, separados por vírgula (opcional).
+     * @return Uma página de {@link ChamadoDTO} ordenada por relevância.
+     * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+     */
+    public Page<ChamadoDTO> search(String q, int page, int size, boolean comObservacoes, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        BuscaService.Resultado resultado = buscaService.busca(q, page, size);
+        List<Integer> ids = resultado.getIds();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), resultado.getTotal());
+        }
+
+        Map<Integer, ChamadoDTO> encontrados = carrega(ids, comObservacoes, campos);
+        List<ChamadoDTO> list = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            ChamadoDTO dto = encontrados.get(id);
+            if (dto != null) {
+                list.add(dto);
+            }
+        }
+        return new PageImpl<>(list, PageRequest.of(page, size), resultado.getTotal());
+    }
+
+    /**
+     * Busca vários chamados pelo ID, com uma consulta {@code IN} (e outra na tabela de
+     * arquivo, se faltarem IDs).
+     * 
+     * @param ids            IDs pedidos; repetidos são ignorados.
+     * @param comObservacoes Se {@code true}, inclui as observações (ignorado quando há {@code fields}).
+     * @param fields         Campos pedidos, separados por vírgula (opcional).
+     * @return Um {@link LoteDTO} com os chamados na ordem pedida e os IDs não encontrados.
+     * @throws DataIntegrityViolationException Caso a quantidade de IDs exceda o máximo ou algum campo não exista.
+     */
+    public LoteDTO<ChamadoDTO> findAllById(List<Integer> ids, boolean comObservacoes, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        List<Integer> distintos = Lotes.ids(ids, tamanhoMaximoLote);
+        return Lotes.monta(distintos, carrega(distintos, comObservacoes, campos));
+    }
+
+    /**
+     * Carrega os chamados com os IDs informados, da tabela ativa e, para os que faltarem,
+     * da tabela de arquivo.
+     */
+    private Map<Integer, ChamadoDTO> carrega(List<Integer> ids, boolean comObservacoes, Set<String> campos) {
+        Map<Integer, ChamadoDTO> encontrados;
+        if (campos != null) {
+            encontrados = CAMPOS.consulta(em, "Chamado", campos, ids).stream()
+                    .collect(Collectors.toMap(x -> (Integer) x[0], x -> CAMPOS.preenche(new ChamadoDTO(), campos, x)));
+            if (encontrados.size() < ids.size()) {
+                CAMPOS.consulta(em, "ChamadoArquivado", campos, ids)
+                        .forEach(x -> encontrados.putIfAbsent((Integer) x[0], CAMPOS.preenche(new ChamadoDTO(), campos, x)));
+            }
+        } else {
+            encontrados = (comObservacoes ? repository.findAllByIdComObservacoes(ids)
+                    : repository.findAllById(ids)).stream()
+                    .collect(Collectors.toMap(Chamado::getId, x -> listagem(x, comObservacoes)));
+            if (encontrados.size() < ids.size()) {
+                (comObservacoes ? arquivadoRepository.findAllByIdComObservacoes(ids) : arquivadoRepository.findAllById(ids))
+                        .stream()
+                        .map(x -> x.toChamado(comObservacoes))
+                        .forEach(x -> encontrados.putIfAbsent(x.getId(), listagem(x, comObservacoes)));
+            }
+        }
+        return encontrados;
+    }
+
+    /** DTO de um chamado nas listagens: sem o campo de observações, salvo quando pedidas. */
+    private static ChamadoDTO listagem(Chamado obj, boolean comObservacoes) {
+        return comObservacoes ? new ChamadoDTO(obj) : new ChamadoResumoDTO(obj);
+    }
+
     /**
      * Cria um novo chamado no sistema.
      * 
@@ -78,26 +343,232 @@ public class ChamadoService {
      * @param objDTO Objeto {@link ChamadoDTO} com os dados do chamado a ser criado.
      * @return O {@link Chamado} recém-criado e persistido.
      */
+    @Transactional
     public Chamado create(ChamadoDTO objDTO) {
-        return repository.save(newChamado(objDTO));
+        Chamado obj = repository.save(newChamado(objDTO));
+        buscaService.indexa(obj);
+        registraEscrita(obj.getId(), null, EstatisticasService.Chave.of(obj));
+        registraFechamento(null, obj);
+        return obj;
     }
 
     /**
      * Atualiza os dados de um chamado existente.
      * 
      * <p>O método busca o chamado atual, substitui os valores pelos informados no DTO,
-     * e realiza a atualização no banco de dados.</p>
+     * e realiza a atualização no banco de dados. A abertura é preservada, assim como o
+     * fechamento de um chamado que já estava encerrado.</p>
      * 
      * @param id     Identificador do chamado a ser atualizado.
      * @param objDTO Objeto {@link ChamadoDTO} contendo os novos dados.
+     * @param versoes Versões aceitas do chamado (If-Match), ou {@code null} para não verificar.
      * @return O objeto {@link Chamado} atualizado.
      * @throws ObjectNotFoundException Caso o chamado não seja encontrado.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      */
-    public Chamado update(Integer id, ChamadoDTO objDTO) {
+    @Transactional
+    public Chamado update(Integer id, ChamadoDTO objDTO, Set<Integer> versoes) {
         objDTO.setId(id);
-        Chamado oldObj = findById(id);
-        oldObj = newChamado(objDTO);
-        return repository.save(oldObj);
+        Chamado oldObj = findAtivo(id);
+        PreconditionFailedException.verificaVersao(oldObj.getVersao(), versoes);
+        EstatisticasService.Chave antes = EstatisticasService.Chave.of(oldObj);
+        Chamado obj = newChamado(objDTO);
+        obj.setVersao(oldObj.getVersao());
+        obj.setDataAbertura(oldObj.getDataAbertura());
+        obj.setAbertoEm(oldObj.getAbertoEm());
+        if (encerrado(oldObj) && encerrado(obj)) {
+            obj.setDataFechamento(oldObj.getDataFechamento());
+            obj.setFechadoEm(oldObj.getFechadoEm());
+        }
+        Integer statusAntes = oldObj.getStatus();
+        obj = repository.save(obj);
+        buscaService.indexa(obj);
+        registraEscrita(obj.getId(), antes, EstatisticasService.Chave.of(obj));
+        registraFechamento(statusAntes, obj);
+        return obj;
+    }
+
+    /**
+     * Atualiza parcialmente um chamado existente (semântica de JSON Merge Patch).
+     * 
+     * <p>Somente os campos presentes no mapa são aplicados. O chamado é carregado uma
+     * única vez e as associações alteradas usam referências ({@code getOne}), sem
+     * consultar técnico ou cliente. Como {@link Chamado} usa {@code @DynamicUpdate},
+     * o UPDATE contém apenas as colunas modificadas; se nada mudar, nenhuma escrita
+     * é feita.</p>
+     * 
+     * @param id     Identificador do chamado a ser atualizado.
+     * @param campos Campos a alterar, indexados pelo nome do atributo em {@link ChamadoDTO}.
+     * @param versoes Versões aceitas do chamado (If-Match), ou {@code null} para não verificar.
+     * @return O objeto {@link Chamado} atualizado.
+     * @throws ObjectNotFoundException Caso o chamado não seja encontrado.
+     * @throws DataIntegrityViolationException Caso um campo seja desconhecido ou inválido.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
+     */
+    @Transactional
+    public Chamado patch(Integer id, Map<String, Object> campos, Set<Integer> versoes) {
+        Chamado obj = findAtivo(id);
+        PreconditionFailedException.verificaVersao(obj.getVersao(), versoes);
+        EstatisticasService.Chave antes = EstatisticasService.Chave.of(obj);
+        Integer statusAntes = obj.getStatus();
+
+        for (Map.Entry<String, Object> campo : campos.entrySet()) {
+            Object valor = campo.getValue();
+            switch (campo.getKey()) {
+                case "titulo":
+                    obj.setTitulo(obrigatorio(campo.getKey(), valor).toString());
+                    break;
+                case "observacoes":
+                    obj.setObservacoes(valor != null ? valor.toString() : null);
+                    break;
+                case "prioridade":
+                    obj.setPrioridade(codigo(campo.getKey(), valor, Prioridade::toEnum).getCodigo());
+                    break;
+                case "status":
+                    Integer status = codigo(campo.getKey(), valor, Status::toEnum).getCodigo();
+                    if (!status.equals(obj.getStatus())) {
+                        obj.setStatus(status);
+                        if (encerrado(obj)) {
+                            obj.fecha(Instant.now());
+                        } else {
+                            obj.reabre();
+                        }
+                    }
+                    break;
+                case "tecnico":
+                    Integer tecnico = inteiro(campo.getKey(), valor);
+                    if (obj.getTecnico() == null || !tecnico.equals(obj.getTecnico().getId())) {
+                        obj.setTecnico(referencia(tecnicoRepository, tecnico));
+                    }
+                    break;
+                case "cliente":
+                    Integer cliente = inteiro(campo.getKey(), valor);
+                    if (obj.getCliente() == null || !cliente.equals(obj.getCliente().getId())) {
+                        obj.setCliente(referencia(clienteRepository, cliente));
+                    }
+                    break;
+                default:
+                    throw new DataIntegrityViolationException("Campo não pode ser alterado: " + campo.getKey());
+            }
+        }
+
+        try {
+            repository.flush();
+        } catch (org.springframework.dao.DataIntegrityViolationException e) {
+            throw new DataIntegrityViolationException("Técnico ou cliente inexistente!", e);
+        }
+        if (campos.containsKey("titulo") || campos.containsKey("observacoes")) {
+            buscaService.indexa(obj);
+        }
+        registraEscrita(obj.getId(), antes, EstatisticasService.Chave.of(obj));
+        registraFechamento(statusAntes, obj);
+        return obj;
+    }
+
+    /**
+     * Indica se o chamado está encerrado.
+     * 
+     * @param obj Chamado.
+     * @return {@code true} se o status for {@link Status#ENCERRADO}.
+     */
+    private static boolean encerrado(Chamado obj) {
+        return Status.ENCERRADO.getCodigo().equals(obj.getStatus());
+    }
+
+    /**
+     * Atualiza os contadores do painel, o cubo de relatórios e o histórico após uma escrita.
+     * 
+     * @param id     Identificador do chamado.
+     * @param antes  Situação do chamado antes da escrita, ou {@code null} em uma criação.
+     * @param depois Situação do chamado após a escrita, ou {@code null} em uma exclusão.
+     */
+    private void registraEscrita(Integer id, EstatisticasService.Chave antes, EstatisticasService.Chave depois) {
+        estatisticasService.registra(antes, depois);
+        cuboService.registra(antes, depois);
+        auditoriaService.registra(id, antes, depois);
+    }
+
+    /**
+     * Registra o tempo de resolução quando a escrita encerrou o chamado.
+     * 
+     * @param statusAntes Status antes da escrita, ou {@code null} em uma criação.
+     * @param obj         Chamado após a escrita.
+     */
+    private void registraFechamento(Integer statusAntes, Chamado obj) {
+        if (encerrado(obj) && !Status.ENCERRADO.getCodigo().equals(statusAntes)) {
+            resolucaoService.registra(obj);
+        }
+    }
+
+    /**
+     * Garante que um campo obrigatório não seja removido pelo patch.
+     * 
+     * @param nome  Nome do campo.
+     * @param valor Valor recebido.
+     * @return O próprio valor, se não for nulo.
+     * @throws DataIntegrityViolationException Caso o valor seja nulo.
+     */
+    private static Object obrigatorio(String nome, Object valor) {
+        if (valor == null) {
+            throw new DataIntegrityViolationException("Campo obrigatório: " + nome);
+        }
+        return valor;
+    }
+
+    /**
+     * Converte o valor de um campo numérico obrigatório do patch.
+     * 
+     * @param nome  Nome do campo.
+     * @param valor Valor recebido.
+     * @return O valor como {@link Integer}.
+     * @throws DataIntegrityViolationException Caso o valor seja nulo, não numérico, fracionário
+     *                                         ou fora do intervalo de {@link Integer}.
+     */
+    private static Integer inteiro(String nome, Object valor) {
+        if (!(obrigatorio(nome, valor) instanceof Number)) {
+            throw new DataIntegrityViolationException("Campo deve ser numérico: " + nome);
+        }
+        try {
+            return new BigDecimal(valor.toString()).intValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new DataIntegrityViolationException("Campo deve ser inteiro: " + nome, e);
+        }
+    }
+
+    /**
+     * Obtém a referência a um técnico ou cliente do patch, sem carregá-lo.
+     * 
+     * @param <T>        Tipo da entidade.
+     * @param repository Repositório da entidade.
+     * @param id         Identificador recebido.
+     * @return A referência à entidade.
+     * @throws DataIntegrityViolationException Caso a entidade não exista.
+     */
+    private static <T> T referencia(JpaRepository<T, Integer> repository, Integer id) {
+        try {
+            return repository.getOne(id);
+        } catch (ObjectRetrievalFailureException e) {
+            throw new DataIntegrityViolationException("Técnico ou cliente inexistente!", e);
+        }
+    }
+
+    /**
+     * Converte o código de um campo enumerado do patch ({@code prioridade}, {@code status}).
+     * 
+     * @param <T>       Tipo do enum.
+     * @param nome      Nome do campo.
+     * @param valor     Valor recebido.
+     * @param conversao Conversão do código, como {@link Prioridade#toEnum(Integer)}.
+     * @return O valor do enum correspondente ao código.
+     * @throws DataIntegrityViolationException Caso o código não seja um inteiro válido para o enum.
+     */
+    private static <T> T codigo(String nome, Object valor, Function<Integer, T> conversao) {
+        Integer codigo = inteiro(nome, valor);
+        try {
+            return conversao.apply(codigo);
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException("Código inválido para " + nome + ": " + codigo, e);
+        }
     }
 
     /**
@@ -122,6 +593,9 @@ public class ChamadoService {
         chamado.setCliente(cliente);
         chamado.setPrioridade(Prioridade.toEnum(obj.getPrioridade()).getCodigo());
         chamado.setStatus(Status.toEnum(obj.getStatus()).getCodigo());
+        if (encerrado(chamado)) {
+            chamado.fecha(Instant.now());
+        }
         chamado.setTitulo(obj.getTitulo());
         chamado.setObservacoes(obj.getObservacoes());
 
@@ -132,13 +606,26 @@ public class ChamadoService {
      * Remove um chamado do sistema com base em seu ID.
      * 
      * <p>Antes da exclusão, o chamado é verificado para garantir sua existência.
-     * Caso não seja encontrado, uma exceção é lançada.</p>
+     * Caso não seja encontrado, uma exceção é lançada. Os comentários e os anexos do
+     * chamado são excluídos na mesma transação, e os arquivos que deixaram de ser usados
+     * são removidos após o commit. A linha do chamado é travada antes, para que um anexo
+     * enviado ao mesmo tempo aguarde a exclusão (e não encontre o chamado) ou termine antes
+     * dela (e seja excluído junto).</p>
      * 
      * @param id Identificador do chamado a ser removido.
+     * @param versoes Versões aceitas do chamado (If-Match), ou {@code null} para não verificar.
      * @throws ObjectNotFoundException Caso o chamado não exista no banco de dados.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      */
-    public void delete(Integer id) {
-        Chamado obj = findById(id);
+    @Transactional
+    public void delete(Integer id, Set<Integer> versoes) {
+        repository.findIdParaExcluir(id);
+        Chamado obj = findAtivo(id);
+        PreconditionFailedException.verificaVersao(obj.getVersao(), versoes);
+        comentarioRepository.deleteByChamadoId(obj.getId());
+        anexoService.deleteByChamado(obj.getId());
         repository.deleteById(obj.getId());
+        buscaService.remove(obj.getId());
+        registraEscrita(obj.getId(), EstatisticasService.Chave.of(obj), null);
     }
 }
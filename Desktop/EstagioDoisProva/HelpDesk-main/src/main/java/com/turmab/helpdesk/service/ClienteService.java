@@ -1,10 +1,18 @@
 package com.turmab.helpdesk.service;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -12,11 +20,14 @@ import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.dtos.ClienteCreateDTO;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
 import com.turmab.helpdesk.domain.dtos.CredenciaisDTO;
 import com.turmab.helpdesk.repositories.ClienteRepository;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
 import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.PreconditionFailedException;
 
 /**
  * Classe de serviço responsável pelas regras de negócio relacionadas
@@ -34,6 +45,23 @@ import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
 @Service
 public class ClienteService {
 
+    /** Campos aceitos em {@code ?fields=} e no GraphQL; os perfis são lidos em uma consulta à parte. */
+    static final Campos CAMPOS = new Campos()
+            .campo("id", "obj.id")
+            .campo("nome", "obj.nome")
+            .campo("cpf", "obj.cpf")
+            .campo("email", "obj.email")
+            .campo("perfis", null)
+            .campo("dataCriacao", "obj.dataCriacao");
+
+    /** Usado nas consultas de {@code ?fields=}, montadas conforme os campos pedidos. */
+    @PersistenceContext
+    private EntityManager em;
+
+    /** Quantidade máxima de IDs em {@code ?ids=}. */
+    @Value("${helpdesk.lote.tamanho-maximo:100}")
+    private int tamanhoMaximoLote;
+
 	/** Repositório responsável pelas operações de persistência de {@link Cliente}. */
     @Autowired
     private ClienteRepository repository;
@@ -41,6 +69,10 @@ public class ClienteService {
     /** Repositório auxiliar usado para validação de CPF e e-mail em {@link Pessoa}. */
     @Autowired
     private PessoaRepository pessoaRepository;
+
+    /** Repositório de chamados arquivados, consultado antes da exclusão. */
+    @Autowired
+    private ChamadoArquivadoRepository arquivadoRepository;
     
     /** Utilitário de criptografia utilizado para codificar as senhas. */
     @Autowired
@@ -59,15 +91,106 @@ public class ClienteService {
     }
 
     /**
-     * Retorna uma lista contendo todos os clientes cadastrados no sistema.
+     * Busca apenas a versão atual de um cliente, sem carregar a entidade.
+     * 
+     * <p>Usado para revalidar ETags com uma única consulta pela chave primária.</p>
      * 
-     * @return Lista de {@link ClienteDTO} representando os clientes cadastrados.
+     * @param id Identificador do cliente.
+     * @return A versão atual do cliente.
+     * @throws ObjectNotFoundException Caso o cliente não seja encontrado no banco.
      */
-    public List<ClienteDTO> findAll() {
+    public Integer findVersao(Integer id) {
+        return repository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Cliente não encontrado! id: " + id));
+    }
+
+    /**
+     * Busca um cliente pelo seu ID, lendo do banco apenas os campos pedidos.
+     * 
+     * @param id     Identificador do cliente.
+     * @param fields Campos pedidos, separados por vírgula (opcional).
+     * @return O {@link ClienteDTO} com os campos pedidos e a versão do cliente.
+     * @throws ObjectNotFoundException Caso o cliente não seja encontrado no banco.
+     * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+     */
+    public Campos.Linha<ClienteDTO> findById(Integer id, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        if (campos == null) {
+            Cliente obj = findById(id);
+            return new Campos.Linha<>(new ClienteDTO(obj), obj.getVersao());
+        }
+        List<Object[]> linhas = CAMPOS.consulta(em, "Cliente", campos, List.of(id));
+        if (linhas.isEmpty()) {
+            throw new ObjectNotFoundException("Cliente não encontrado! id: " + id);
+        }
+        return new Campos.Linha<>(projeta(campos, linhas).get(0), (Integer) linhas.get(0)[1]);
+    }
+
+    /**
+     * Retorna uma lista com todos os clientes cadastrados no sistema.
+     * 
+     * <p>Com {@code fields}, apenas as colunas dos campos pedidos são lidas; os perfis
+     * só são consultados quando pedidos.</p>
+     * 
+     * @param fields Campos pedidos, separados por vírgula (opcional).
+     * @return Uma lista de {@link ClienteDTO} representando os clientes cadastrados.
+     * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+     */
+    public List<ClienteDTO> findAll(String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        if (campos != null) {
+            return projeta(campos, CAMPOS.consulta(em, "Cliente", campos, null));
+        }
         List<Cliente> list = repository.findAll();
         return list.stream()
                 .map(ClienteDTO::new)
-                .collect(Collectors.toList()); // Java 11
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca vários clientes pelo ID, com uma única consulta {@code IN}.
+     * 
+     * @param ids    IDs pedidos; repetidos são ignorados.
+     * @param fields Campos pedidos, separados por vírgula (opcional).
+     * @return Um {@link LoteDTO} com os clientes na ordem pedida e os IDs não encontrados.
+     * @throws DataIntegrityViolationException Caso a quantidade de IDs exceda o máximo ou algum campo não exista.
+     */
+    public LoteDTO<ClienteDTO> findAllById(List<Integer> ids, String fields) {
+        Set<String> campos = CAMPOS.le(fields);
+        List<Integer> distintos = Lotes.ids(ids, tamanhoMaximoLote);
+        Map<Integer, ClienteDTO> porId = new HashMap<>();
+        if (campos != null) {
+            List<Object[]> linhas = CAMPOS.consulta(em, "Cliente", campos, distintos);
+            List<ClienteDTO> dtos = projeta(campos, linhas);
+            for (int i = 0; i < linhas.size(); i++) {
+                porId.put((Integer) linhas.get(i)[0], dtos.get(i));
+            }
+        } else {
+            for (Cliente obj : repository.findAllComPerfisById(distintos)) {
+                porId.put(obj.getId(), new ClienteDTO(obj));
+            }
+        }
+        return Lotes.monta(distintos, porId);
+    }
+
+    /**
+     * Converte as linhas de {@link Campos#consulta} em DTOs, buscando os perfis se pedidos.
+     */
+    private List<ClienteDTO> projeta(Set<String> campos, List<Object[]> linhas) {
+        Map<Integer, Set<Integer>> perfis = new HashMap<>();
+        if (campos.contains("perfis") && !linhas.isEmpty()) {
+            List<Integer> ids = linhas.stream().map(x -> (Integer) x[0]).collect(Collectors.toList());
+            for (Object[] x : pessoaRepository.findPerfisByIdIn(ids)) {
+                perfis.computeIfAbsent((Integer) x[0], k -> new HashSet<>()).add((Integer) x[1]);
+            }
+        }
+        return linhas.stream().map(x -> {
+            ClienteDTO dto = CAMPOS.preenche(new ClienteDTO(), campos, x);
+            if (campos.contains("perfis")) {
+                dto.setPerfis(perfis.getOrDefault((Integer) x[0], new HashSet<>()));
+            }
+            return dto;
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -118,13 +241,16 @@ public class ClienteService {
      * 
      * @param id Identificador do cliente a ser atualizado.
      * @param objDTO Objeto {@link ClienteCreateDTO} com os novos dados.
+     * @param versoes Versões aceitas (If-Match), ou {@code null} para não verificar.
      * @return O {@link Cliente} atualizado.
      * @throws ObjectNotFoundException Caso o cliente não seja encontrado.
      * @throws DataIntegrityViolationException Caso CPF ou e-mail estejam em conflito.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      */
-    public Cliente update(Integer id, ClienteCreateDTO objDTO) {
+    public Cliente update(Integer id, ClienteCreateDTO objDTO, Set<Integer> versoes) {
         objDTO.setId(id);
         Cliente oldObj = findById(id);
+        PreconditionFailedException.verificaVersao(oldObj.getVersao(), versoes);
         validaPorCpfEEmail(objDTO);
         oldObj.setNome(objDTO.getNome());
         oldObj.setCpf(objDTO.getCpf());
@@ -140,12 +266,15 @@ public class ClienteService {
      * Caso possua, a exclusão é bloqueada para preservar a integridade dos dados.</p>
      * 
      * @param id Identificador do cliente a ser removido.
+     * @param versoes Versões aceitas (If-Match), ou {@code null} para não verificar.
      * @throws DataIntegrityViolationException Caso o cliente possua chamados vinculados.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      * @throws ObjectNotFoundException Caso o cliente não seja encontrado.
      */
-    public void delete(Integer id) {
+    public void delete(Integer id, Set<Integer> versoes) {
         Cliente obj = findById(id);
-        if (obj.getChamados().size() > 0) {
+        PreconditionFailedException.verificaVersao(obj.getVersao(), versoes);
+        if (obj.getChamados().size() > 0 || arquivadoRepository.existsByClienteId(id)) {
             throw new DataIntegrityViolationException("Cliente possui chamados e não pode ser deletado!");
         }
         repository.deleteById(id);
@@ -0,0 +1,90 @@
+package com.turmab.helpdesk.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.turmab.helpdesk.domain.Comentario;
+import com.turmab.helpdesk.domain.dtos.ComentarioDTO;
+import com.turmab.helpdesk.repositories.ComentarioRepository;
+import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+
+/**
+ * Classe de serviço responsável pelos comentários dos chamados.
+ * 
+ * <p>Cada nota é um INSERT de uma linha pequena, em vez de reescrever o campo
+ * observações do chamado. A leitura é paginada por chave: o cliente informa o ID do
+ * último comentário recebido ({@code after}) e a consulta usa o índice
+ * {@code (chamadoId, id)}, com custo independente da posição na lista.</p>
+ * 
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class ComentarioService {
+
+	/** Repositório dos comentários. */
+	@Autowired
+	private ComentarioRepository repository;
+
+	/** Serviço de chamados, usado para verificar se o chamado existe. */
+	@Autowired
+	private ChamadoService chamadoService;
+
+	/**
+	 * Lista os comentários de um chamado posteriores a um ID, em ordem de registro.
+	 * 
+	 * @param chamadoId ID do chamado
+	 * @param after     ID do último comentário já lido (0 para começar do início)
+	 * @param size      quantidade máxima de comentários
+	 * @return a lista de {@link Comentario}
+	 * @throws ObjectNotFoundException Caso o chamado não exista.
+	 */
+	public List<Comentario> findAll(Integer chamadoId, int after, int size) {
+		chamadoService.findById(chamadoId);
+		return repository.findAposId(chamadoId, after, PageRequest.of(0, size));
+	}
+
+	/**
+	 * Busca um comentário de um chamado.
+	 * 
+	 * @param chamadoId ID do chamado
+	 * @param id        ID do comentário
+	 * @return o {@link Comentario} encontrado
+	 * @throws ObjectNotFoundException Caso o comentário não exista ou não pertença ao chamado.
+	 */
+	public Comentario findById(Integer chamadoId, Integer id) {
+		return repository.findByIdAndChamadoId(id, chamadoId)
+				.orElseThrow(() -> new ObjectNotFoundException("Comentário não encontrado! id: " + id));
+	}
+
+	/**
+	 * Conta os comentários de um chamado sem carregá-los.
+	 * 
+	 * @param chamadoId ID do chamado
+	 * @return a quantidade de comentários
+	 * @throws ObjectNotFoundException Caso o chamado não exista.
+	 */
+	public long count(Integer chamadoId) {
+		chamadoService.findById(chamadoId);
+		return repository.countByChamadoId(chamadoId);
+	}
+
+	/**
+	 * Registra um comentário em um chamado, em nome do usuário autenticado.
+	 * 
+	 * @param chamadoId ID do chamado
+	 * @param objDTO    dados do comentário
+	 * @return o {@link Comentario} criado
+	 * @throws ObjectNotFoundException Caso o chamado não exista.
+	 */
+	public Comentario create(Integer chamadoId, ComentarioDTO objDTO) {
+		chamadoService.findVersao(chamadoId);
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		return repository.save(new Comentario(chamadoId, (auth != null) ? auth.getName() : null, objDTO.getTexto()));
+	}
+}
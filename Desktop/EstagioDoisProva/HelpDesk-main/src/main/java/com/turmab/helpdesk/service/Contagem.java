@@ -0,0 +1,217 @@
+package com.turmab.helpdesk.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Contadores de chamados em memória, por chave, usados pelo {@link EstatisticasService} e
+ * pelo {@link CuboService}: atualizados a cada escrita confirmada e conferidos
+ * periodicamente com o banco.
+ *
+ * <p>A conferência e os commits que alteram chamados usam uma mesma trava de leitura e
+ * escrita. Cada transação segura a leitura desde antes do commit até depois de aplicar
+ * seus incrementos ({@link #aposCommit(Runnable)}); transações diferentes não se bloqueiam.
+ * A conferência ({@link #confere(TransactionTemplate, Runnable, LongSupplier)}) segura a
+ * escrita só pelo tempo de abrir uma leitura consistente do banco ({@code REPEATABLE READ})
+ * e copiar os contadores ({@link #fotografa()}): nesse instante, todo commit confirmado
+ * já aplicou seus incrementos. As consultas agrupadas rodam depois, sem a trava, sobre
+ * aquela leitura; a diferença entre o banco e a cópia é somada aos contadores, que
+ * continuam recebendo os incrementos das transações confirmadas depois da cópia. O
+ * arquivamento também usa a leitura ({@link #protegeCommit()}), para que a cópia não
+ * veja um chamado nas duas tabelas (ou em nenhuma).</p>
+ *
+ * <p>A conferência não entra na fila da trava: ela tenta obtê-la entre um commit e outro.
+ * Assim, uma transação que segura a leitura e aguarda um bloqueio de linha de outra nunca
+ * impede essa outra de chegar ao commit. E ela abre sua transação (e obtém a conexão do
+ * pool) antes da trava, porque as transações que aguardam a trava seguram as suas.</p>
+ *
+ * @param <K> tipo da chave dos contadores
+ * @author Gustavo Barros
+ */
+final class Contagem<K> {
+
+	private static final ReentrantReadWriteLock TRAVA = new ReentrantReadWriteLock();
+
+	/** Intervalo entre as tentativas de obter a trava para uma conferência. */
+	private static final long ESPERA_MS = 10;
+
+	private final Map<K, LongAdder> contadores = new ConcurrentHashMap<>();
+
+	/** Valores copiados no início da conferência em curso. */
+	private Map<K, Long> fotografia = Map.of();
+
+	/**
+	 * Soma um valor ao contador de uma chave. Deve ser chamado dentro de {@link #aposCommit(Runnable)}.
+	 *
+	 * <p>A soma é feita dentro do {@code compute} do mapa, para não se perder em um
+	 * contador que a conferência esteja descartando.</p>
+	 *
+	 * @param chave chave do contador
+	 * @param delta valor a somar (negativo para subtrair)
+	 */
+	void soma(K chave, long delta) {
+		contadores.compute(chave, (k, contador) -> {
+			LongAdder result = (contador != null) ? contador : new LongAdder();
+			result.add(delta);
+			return result;
+		});
+	}
+
+	/**
+	 * Percorre os contadores diferentes de zero, sem bloqueio.
+	 *
+	 * @param acao ação executada com cada chave e seu valor
+	 */
+	void forEach(BiConsumer<K, Long> acao) {
+		contadores.forEach((k, v) -> {
+			long valor = v.sum();
+			if (valor != 0) {
+				acao.accept(k, valor);
+			}
+		});
+	}
+
+	/**
+	 * Soma de todos os contadores.
+	 *
+	 * @return o total
+	 */
+	long total() {
+		long total = 0;
+		for (LongAdder contador : contadores.values()) {
+			total += contador.sum();
+		}
+		return total;
+	}
+
+	/**
+	 * Copia os valores atuais, com os quais {@link #ajusta(Map)} compara o banco. Deve ser
+	 * chamado no início de {@link #confere(TransactionTemplate, Runnable, LongSupplier)}.
+	 */
+	void fotografa() {
+		Map<K, Long> copia = new HashMap<>();
+		forEach(copia::put);
+		fotografia = copia;
+	}
+
+	/**
+	 * Soma aos contadores a diferença entre os valores do banco e os copiados por
+	 * {@link #fotografa()}, e descarta os contadores que ficaram zerados.
+	 *
+	 * @param esperado valores calculados no banco, na leitura aberta junto com a cópia;
+	 *                 chaves ausentes valem zero
+	 * @return a soma das diferenças absolutas encontradas
+	 */
+	long ajusta(Map<K, Long> esperado) {
+		Map<K, Long> copia = fotografia;
+		fotografia = Map.of();
+		long diferenca = 0;
+		for (Map.Entry<K, Long> e : esperado.entrySet()) {
+			long delta = e.getValue() - copia.getOrDefault(e.getKey(), 0L);
+			if (delta != 0) {
+				soma(e.getKey(), delta);
+				diferenca += Math.abs(delta);
+			}
+		}
+		for (Map.Entry<K, Long> e : copia.entrySet()) {
+			if (!esperado.containsKey(e.getKey())) {
+				soma(e.getKey(), -e.getValue());
+				diferenca += Math.abs(e.getValue());
+			}
+		}
+		for (K chave : contadores.keySet()) {
+			contadores.computeIfPresent(chave, (k, contador) -> (contador.sum() == 0) ? null : contador);
+		}
+		return diferenca;
+	}
+
+	/**
+	 * Executa uma conferência com o banco. A trava de escrita é segurada apenas durante
+	 * {@code inicio}; as consultas da {@code conferencia} não bloqueiam os commits.
+	 *
+	 * @param transacao   modelo da transação (somente leitura, {@code REPEATABLE READ}) em
+	 *                    que o banco é consultado
+	 * @param inicio      abre a leitura consistente, lendo cada tabela consultada depois, e
+	 *                    chama {@link #fotografa()} de cada contagem conferida
+	 * @param conferencia consulta o banco e chama {@link #ajusta(Map)}, retornando a
+	 *                    diferença encontrada
+	 * @return o valor retornado pela conferência
+	 */
+	static long confere(TransactionTemplate transacao, Runnable inicio, LongSupplier conferencia) {
+		return transacao.execute(status -> {
+			while (!TRAVA.writeLock().tryLock()) {
+				try {
+					Thread.sleep(ESPERA_MS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Conferência das contagens interrompida", e);
+				}
+			}
+			try {
+				inicio.run();
+			} finally {
+				TRAVA.writeLock().unlock();
+			}
+			return conferencia.getAsLong();
+		});
+	}
+
+	/**
+	 * Executa a ação após o commit da transação ativa (ou imediatamente, se não houver),
+	 * segurando a trava de leitura desde antes do commit até o fim da ação. Se a transação
+	 * for desfeita, a ação não é executada.
+	 *
+	 * @param acao atualização dos contadores
+	 */
+	static void aposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			TRAVA.readLock().lock();
+			try {
+				acao.run();
+			} finally {
+				TRAVA.readLock().unlock();
+			}
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			private boolean travado;
+
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				TRAVA.readLock().lock();
+				travado = true;
+			}
+
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if (travado) {
+					travado = false;
+					TRAVA.readLock().unlock();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Impede que uma conferência aconteça durante o commit da transação ativa, que move
+	 * chamados sem alterar as contagens (arquivamento).
+	 */
+	static void protegeCommit() {
+		aposCommit(() -> {
+		});
+	}
+}
@@ -0,0 +1,235 @@
+package com.turmab.helpdesk.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.turmab.helpdesk.domain.dtos.CuboDTO;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Classe de serviço que mantém em memória um cubo de contagem de chamados com
+ * granularidade diária, para os relatórios gerenciais.
+ *
+ * <p>Cada célula do cubo é a quantidade de chamados abertos em um dia com um mesmo
+ * status, prioridade, técnico e cliente. As células são carregadas com uma consulta
+ * agrupada quando a aplicação inicia e, a partir daí, atualizadas pelo
+ * {@link ChamadoService} a cada escrita confirmada, com os mesmos contadores ({@link Contagem})
+ * do {@link EstatisticasService}. Chamados arquivados continuam contados.</p>
+ *
+ * <p>As consultas agregam as células em memória, sem acessar o banco: informar menos
+ * dimensões (ou {@code mes}/{@code ano} no lugar de {@code dia}) consolida os valores
+ * (roll-up); informar mais dimensões e filtros detalha os valores (drill-down).</p>
+ *
+ * <p>Periodicamente ({@code helpdesk.cubo.verificacao-ms}, padrão 10 minutos) o cubo é
+ * recalculado no banco, sem bloquear as escritas de chamados durante as consultas;
+ * diferenças são registradas no log e corrigidas, e as células que ficaram zeradas são
+ * descartadas.</p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class CuboService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CuboService.class);
+
+	/** Dimensões aceitas na consulta. */
+	public static final List<String> DIMENSOES = List.of("dia", "mes", "ano", "status", "prioridade", "tecnico",
+			"cliente");
+
+	/** Repositório da tabela ativa de chamados. */
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	/** Repositório da tabela de arquivo de chamados. */
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+
+	private final Contagem<EstatisticasService.Chave> celulas = new Contagem<>();
+
+	/** Transação somente leitura da conferência com o banco, sobre uma leitura consistente. */
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * Construtor que cria o {@link TransactionTemplate} usado na conferência.
+	 *
+	 * @param transactionManager gerenciador de transações da aplicação
+	 */
+	public CuboService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+	}
+
+	/**
+	 * Carrega o cubo a partir do banco quando a aplicação termina de iniciar.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void inicializa() {
+		recalcula(false);
+	}
+
+	/**
+	 * Registra uma escrita de chamado, após o commit da transação ativa (se houver).
+	 *
+	 * @param antes situação do chamado antes da escrita, ou {@code null} em uma criação
+	 * @param depois situação do chamado após a escrita, ou {@code null} em uma exclusão
+	 */
+	public void registra(EstatisticasService.Chave antes, EstatisticasService.Chave depois) {
+		if (Objects.equals(antes, depois)) {
+			return;
+		}
+		Contagem.aposCommit(() -> {
+			if (antes != null) {
+				celulas.soma(antes, -1);
+			}
+			if (depois != null) {
+				celulas.soma(depois, 1);
+			}
+		});
+	}
+
+	/**
+	 * Consulta o cubo, agrupando pelas dimensões informadas e filtrando as células.
+	 * Filtros nulos não restringem a consulta.
+	 *
+	 * @param dimensoes  dimensões do agrupamento, na ordem desejada (ver {@link #DIMENSOES})
+	 * @param inicio     primeiro dia de abertura considerado
+	 * @param fim        último dia de abertura considerado
+	 * @param status     código do status
+	 * @param prioridade código da prioridade
+	 * @param tecnico    ID do técnico
+	 * @param cliente    ID do cliente
+	 * @return um {@link CuboDTO} com uma linha por combinação de valores das dimensões
+	 * @throws DataIntegrityViolationException Caso uma dimensão ou o período seja inválido.
+	 */
+	public CuboDTO consulta(List<String> dimensoes, LocalDate inicio, LocalDate fim, Integer status,
+			Integer prioridade, Integer tecnico, Integer cliente) {
+		for (String dimensao : dimensoes) {
+			if (!DIMENSOES.contains(dimensao)) {
+				throw new DataIntegrityViolationException("Dimensão inválida: " + dimensao + ". Use " + DIMENSOES);
+			}
+		}
+		if (inicio != null && fim != null && inicio.isAfter(fim)) {
+			throw new DataIntegrityViolationException("Data inicial posterior à data final");
+		}
+
+		Map<List<Object>, Long> grupos = new HashMap<>();
+		celulas.forEach((c, quantidade) -> {
+			if ((inicio != null && (c.dia == null || c.dia.isBefore(inicio)))
+					|| (fim != null && (c.dia == null || c.dia.isAfter(fim)))
+					|| (status != null && !status.equals(c.status))
+					|| (prioridade != null && !prioridade.equals(c.prioridade))
+					|| (tecnico != null && !tecnico.equals(c.tecnico))
+					|| (cliente != null && !cliente.equals(c.cliente))) {
+				return;
+			}
+			List<Object> grupo = new ArrayList<>(dimensoes.size());
+			for (String dimensao : dimensoes) {
+				grupo.add(valor(c, dimensao));
+			}
+			grupos.merge(grupo, quantidade, Long::sum);
+		});
+		long total = 0;
+		for (Long quantidade : grupos.values()) {
+			total += quantidade;
+		}
+
+		List<Map.Entry<List<Object>, Long>> ordenados = new ArrayList<>(grupos.entrySet());
+		ordenados.sort(Map.Entry.comparingByKey(CuboService::compara));
+		List<Map<String, Object>> linhas = new ArrayList<>(ordenados.size());
+		for (Map.Entry<List<Object>, Long> e : ordenados) {
+			Map<String, Object> linha = new LinkedHashMap<>();
+			for (int i = 0; i < dimensoes.size(); i++) {
+				linha.put(dimensoes.get(i), e.getKey().get(i));
+			}
+			linha.put("quantidade", e.getValue());
+			linhas.add(linha);
+		}
+		return new CuboDTO(dimensoes, total, linhas);
+	}
+
+	/**
+	 * Recalcula o cubo no banco, registra no log as diferenças encontradas e ajusta as células.
+	 */
+	@Scheduled(initialDelayString = "${helpdesk.cubo.verificacao-ms:600000}",
+			fixedDelayString = "${helpdesk.cubo.verificacao-ms:600000}")
+	public void verifica() {
+		recalcula(true);
+	}
+
+	private synchronized void recalcula(boolean registraDiferenca) {
+		long diferenca = Contagem.confere(transactionTemplate, this::fotografa, this::confere);
+		if (registraDiferenca && diferenca != 0) {
+			LOG.warn("Cubo de chamados divergia do banco e foi corrigido (diferença absoluta: {})", diferenca);
+		}
+	}
+
+	private void fotografa() {
+		chamadoRepository.countByIdLessThan(0);
+		arquivadoRepository.countByIdLessThan(0);
+		celulas.fotografa();
+	}
+
+	private long confere() {
+		Map<EstatisticasService.Chave, Long> esperado = new HashMap<>();
+		for (List<Object[]> linhas : List.of(chamadoRepository.countCubo(), arquivadoRepository.countCubo())) {
+			for (Object[] linha : linhas) {
+				EstatisticasService.Chave chave = new EstatisticasService.Chave((Integer) linha[1],
+						(Integer) linha[2], (Integer) linha[3], (Integer) linha[4], (LocalDate) linha[0]);
+				esperado.merge(chave, (Long) linha[5], Long::sum);
+			}
+		}
+		return celulas.ajusta(esperado);
+	}
+
+	private static Object valor(EstatisticasService.Chave c, String dimensao) {
+		switch (dimensao) {
+			case "dia":
+				return (c.dia != null) ? c.dia.toString() : null;
+			case "mes":
+				return (c.dia != null) ? c.dia.toString().substring(0, 7) : null;
+			case "ano":
+				return (c.dia != null) ? c.dia.getYear() : null;
+			case "status":
+				return c.status;
+			case "prioridade":
+				return c.prioridade;
+			case "tecnico":
+				return c.tecnico;
+			default:
+				return c.cliente;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compara(List<Object> a, List<Object> b) {
+		Comparator<Comparable> nulosPrimeiro = Comparator.nullsFirst(Comparator.naturalOrder());
+		for (int i = 0; i < a.size(); i++) {
+			int result = nulosPrimeiro.compare((Comparable) a.get(i), (Comparable) b.get(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+}
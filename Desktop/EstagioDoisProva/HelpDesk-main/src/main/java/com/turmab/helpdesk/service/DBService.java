@@ -1,85 +1,374 @@
 package com.turmab.helpdesk.service;
 
-import java.util.Arrays;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.turmab.helpdesk.domain.Chamado;
-import com.turmab.helpdesk.domain.Cliente;
-import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.converters.TextoComprimidoConverter;
 import com.turmab.helpdesk.domain.enums.Perfil;
 import com.turmab.helpdesk.domain.enums.Prioridade;
 import com.turmab.helpdesk.domain.enums.Status;
-import com.turmab.helpdesk.repositories.ChamadoRepository;
-import com.turmab.helpdesk.repositories.ClienteRepository;
-import com.turmab.helpdesk.repositories.TecnicoRepository;
 
 /**
  * Classe responsável por inicializar o banco de dados com dados de exemplo.
- * 
- * <p>Essa classe é utilizada normalmente em ambiente de desenvolvimento
- * para popular a base de dados com informações iniciais de teste, como
- * técnicos, clientes e chamados.</p>
- * 
- * <p>Ela é executada geralmente na inicialização da aplicação através
- * do método {@link #instanciaDB()}.</p>
- * 
+ *
+ * <p>Gera {@code helpdesk.dados.tecnicos} técnicos, {@code helpdesk.dados.clientes}
+ * clientes e {@code helpdesk.dados.chamados} chamados com inserções JDBC em lotes,
+ * cada lote em uma transação, executados em paralelo. Os primeiros registros são
+ * sempre os de exemplo: o técnico administrador Bill Gates ({@code bill@mail.com}, ID 1),
+ * o cliente Linus Torvalds ({@code linus@mail.com}, ID {@code tecnicos + 1}) e o
+ * chamado 1 entre os dois; com os valores padrão (1, 1 e 1), a base é só essa.</p>
+ *
+ * <p>Os demais registros seguem distribuições próximas às de um help desk real:</p>
+ * <ul>
+ *   <li>prioridade: 50% baixa, 35% média e 15% alta;</li>
+ *   <li>abertura: nos últimos {@code helpdesk.dados.dias} dias, mais densa nos recentes;</li>
+ *   <li>status: encerrado se o tempo de resolução (log-normal, com mediana de 72 h, 24 h e
+ *   4 h conforme a prioridade) já passou; senão, em andamento se a triagem (mediana de
+ *   2 h) já passou, ou aberto;</li>
+ *   <li>técnicos e clientes: poucos concentram a maior parte dos chamados;</li>
+ *   <li>observações: quantidade de palavras log-normal, com mediana de 30 e máximo de 600.</li>
+ * </ul>
+ *
+ * <p>Cada registro é gerado por um gerador aleatório próprio, derivado de
+ * {@code helpdesk.dados.semente} e do seu ID, e os IDs são gravados explicitamente; por
+ * isso, a mesma semente produz a mesma base, qualquer que seja a quantidade de threads
+ * ou o tamanho dos lotes. As datas são relativas a {@code helpdesk.dados.referencia}
+ * (padrão: o início do dia atual, em UTC). A senha de todas as pessoas é {@value #SENHA};
+ * os e-mails das geradas são {@code tecnico<n>@mail.com} e {@code cliente<n>@mail.com}.</p>
+ *
+ * <p>Se a tabela {@code pessoa} já tiver registros, nada é gerado. Com um H2 em arquivo
+ * cujo nome inclui os parâmetros (como no perfil {@code carga}), o arquivo funciona como
+ * um snapshot da geração: as execuções seguintes com os mesmos parâmetros abrem a base
+ * pronta, e parâmetros diferentes geram outra.</p>
+ *
  * @author Gustavo Barros
  * @version 1.0
  */
 @Service
+@DependsOn("entityManagerFactory")
 public class DBService {
-	
-	/** Repositório responsável pela persistência da entidade {@link Tecnico}. */
-	@Autowired
-	private TecnicoRepository tecnicorepository;
-	
-	/** Repositório responsável pela persistência da entidade {@link Cliente}. */
-	@Autowired
-	private ClienteRepository clienterepository;
-	
-	/** Repositório responsável pela persistência da entidade {@link Chamado}. */
+
+	private static final Logger LOG = LoggerFactory.getLogger(DBService.class);
+
+	/** Senha de todas as pessoas geradas. */
+	public static final String SENHA = "123";
+
+	/** Constante de dispersão dos geradores de cada registro (parte fracionária da razão áurea). */
+	private static final long DISPERSAO = 0x9E3779B97F4A7C15L;
+
+	private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+			"Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Patrícia", "Rafael", "Sofia",
+			"Thiago", "Vanessa", "William" };
+
+	private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+			"Ferreira", "Almeida", "Ribeiro", "Carvalho", "Gomes", "Martins", "Araújo", "Barros", "Rocha" };
+
+	private static final String[] OBJETOS = { "impressora", "rede", "senha", "acesso ao sistema", "e-mail", "VPN",
+			"monitor", "teclado", "notebook", "backup", "servidor de arquivos", "licença do Office", "telefone",
+			"certificado digital", "planilha de custos", "ERP" };
+
+	private static final String[] SINTOMAS = { "não funciona", "muito lento", "travando", "com erro", "fora do ar",
+			"expirado", "sem acesso", "intermitente", "não sincroniza", "pedindo atualização" };
+
+	private static final String[] PALAVRAS = { "usuário", "relata", "que", "o", "a", "sistema", "apresenta", "erro",
+			"ao", "abrir", "arquivo", "desde", "ontem", "já", "tentou", "reiniciar", "computador", "sem", "sucesso",
+			"tela", "mensagem", "de", "falha", "conexão", "rede", "setor", "financeiro", "precisa", "com", "urgência",
+			"para", "fechamento", "do", "mês", "impressora", "não", "responde", "senha", "bloqueada", "após",
+			"tentativas", "acesso", "remoto", "VPN", "cai", "várias", "vezes", "por", "dia" };
+
+	/** Acesso JDBC para as inserções em lote. */
 	@Autowired
-	private ChamadoRepository chamadorepository;
-	
+	private JdbcTemplate jdbc;
+
 	/** Utilitário de criptografia usado para codificar senhas dos usuários. */
 	@Autowired
 	private BCryptPasswordEncoder encoder;
-	
-	 /**
-     * Popula o banco de dados com dados iniciais de exemplo.
-     * 
-     * <p>Este método cria e salva um técnico, um cliente e um chamado
-     * relacionados entre si. As senhas são criptografadas utilizando
-     * {@link BCryptPasswordEncoder}.</p>
-     * 
-     * <p>Os objetos criados são:</p>
-     * <ul>
-     *   <li>Um técnico com perfil de ADMINISTRADOR.</li>
-     *   <li>Um cliente com dados básicos de identificação.</li>
-     *   <li>Um chamado associado ao técnico e ao cliente.</li>
-     * </ul>
-     */
+
+	/** Transações programáticas, uma por lote. */
+	private final TransactionTemplate transactionTemplate;
+
+	/** Quantidade de técnicos, incluindo o de exemplo. */
+	@Value("${helpdesk.dados.tecnicos:1}")
+	private int tecnicos;
+
+	/** Quantidade de clientes, incluindo o de exemplo. */
+	@Value("${helpdesk.dados.clientes:1}")
+	private int clientes;
+
+	/** Quantidade de chamados, incluindo o de exemplo. */
+	@Value("${helpdesk.dados.chamados:1}")
+	private int chamados;
+
+	/** Semente dos geradores aleatórios. */
+	@Value("${helpdesk.dados.semente:42}")
+	private long semente;
+
+	/** Threads de inserção; 0 usa a quantidade de processadores. */
+	@Value("${helpdesk.dados.threads:0}")
+	private int threads;
+
+	/** Registros por lote (e por transação). */
+	@Value("${helpdesk.dados.lote:5000}")
+	private int lote;
+
+	/** Período, em dias antes da referência, em que os chamados são abertos. */
+	@Value("${helpdesk.dados.dias:365}")
+	private int dias;
+
+	/** Data de referência das datas geradas (ISO); vazia usa a data atual. */
+	@Value("${helpdesk.dados.referencia:}")
+	private String referencia;
+
+	/**
+	 * Construtor que cria o {@link TransactionTemplate} usado em cada lote.
+	 *
+	 * @param transactionManager gerenciador de transações da aplicação
+	 */
+	public DBService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Popula o banco de dados, se estiver vazio, com os dados de exemplo e os gerados.
+	 */
 	public void instanciaDB() {
-		
-		// Criação do técnico com perfil ADMIN
-		Tecnico tec1 = new Tecnico(null, "Bill Gates", "76045777093", "bill@mail.com", encoder.encode("123"));
-		tec1.addPerfil(Perfil.ADMIN);
-		
-		// Criação do cliente
-		Cliente cli1 = new Cliente(null, "Linus Torvalds", "70511744013", "linus@mail.com", "123");
-		
-		// Criação do chamado associado ao técnico e cliente
-		Chamado cha1 = new Chamado(null, Prioridade.MEDIA, Status.ANDAMENTO, "Chamado 01", "Primeiro chamado", tec1, cli1);
-		
-		// Persistência dos dados
-		tecnicorepository.saveAll(Arrays.asList(tec1));
-		
-		clienterepository.saveAll(Arrays.asList(cli1));
-		
-		chamadorepository.saveAll(Arrays.asList(cha1));
-		
+		if (jdbc.queryForObject("select count(*) from pessoa", Long.class) > 0) {
+			LOG.info("Banco já populado; nada a gerar");
+			return;
+		}
+		if (tecnicos < 1 || clientes < 1 || chamados < 0 || lote < 1) {
+			throw new IllegalStateException("helpdesk.dados: são necessários ao menos 1 técnico, 1 cliente e lotes de 1");
+		}
+		long inicio = System.nanoTime();
+		Instant agora = (referencia.isEmpty() ? LocalDate.now(ZoneOffset.UTC) : LocalDate.parse(referencia))
+				.atStartOfDay(ZoneOffset.UTC).toInstant();
+		String hash = encoder.encode(SENHA);
+		int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = quantidadeThreads > 1 && Math.max(chamados, clientes) > lote ? Executors.newFixedThreadPool(quantidadeThreads) : null;
+		try {
+			emLotes(executor, tecnicos, (primeiro, ultimo) -> inserePessoas("Tecnico", primeiro, ultimo, 0, hash, agora));
+			emLotes(executor, clientes, (primeiro, ultimo) -> inserePessoas("Cliente", primeiro, ultimo, tecnicos, hash, agora));
+			emLotes(executor, chamados, (primeiro, ultimo) -> insereChamados(primeiro, ultimo, agora));
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		reiniciaIdentidade("pessoa", tecnicos + clientes + 1);
+		reiniciaIdentidade("chamado", chamados + 1);
+		LOG.info("Banco populado: {} técnicos, {} clientes e {} chamados em {} ms ({} threads)", tecnicos, clientes,
+				chamados, (System.nanoTime() - inicio) / 1_000_000, quantidadeThreads);
+	}
+
+	/** Geração de um lote de registros, com IDs de {@code primeiro} a {@code ultimo}. */
+	private interface Lote {
+		void gera(int primeiro, int ultimo);
+	}
+
+	/**
+	 * Divide os registros de 1 a {@code quantidade} em lotes e executa cada um em uma
+	 * transação, em paralelo se houver executor.
+	 */
+	private void emLotes(ExecutorService executor, int quantidade, Lote geracao) {
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int primeiro = 1; primeiro <= quantidade; primeiro += lote) {
+			int inicioLote = primeiro;
+			int fimLote = (int) Math.min(quantidade, (long) primeiro + lote - 1);
+			Runnable tarefa = () -> transactionTemplate.executeWithoutResult(status -> geracao.gera(inicioLote, fimLote));
+			if (executor == null) {
+				tarefa.run();
+			} else {
+				tarefas.add(executor.submit(tarefa));
+			}
+		}
+		try {
+			for (Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Geração dos dados interrompida", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falha ao gerar os dados", e.getCause());
+		}
+	}
+
+	/**
+	 * Insere as pessoas de um tipo com os números de {@code primeiro} a {@code ultimo}; o ID
+	 * é o número somado a {@code deslocamento}.
+	 */
+	private void inserePessoas(String tipo, int primeiro, int ultimo, int deslocamento, String hash, Instant agora) {
+		boolean tecnico = "Tecnico".equals(tipo);
+		List<Object[]> pessoas = new ArrayList<>(ultimo - primeiro + 1);
+		List<Object[]> perfis = new ArrayList<>();
+		for (int n = primeiro; n <= ultimo; n++) {
+			int id = deslocamento + n;
+			SplittableRandom random = random(id, tipo.hashCode());
+			String nome;
+			String cpf;
+			String email;
+			if (n == 1) {
+				nome = tecnico ? "Bill Gates" : "Linus Torvalds";
+				cpf = tecnico ? "76045777093" : "70511744013";
+				email = tecnico ? "bill@mail.com" : "linus@mail.com";
+			} else {
+				nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " "
+						+ SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+				cpf = cpf((tecnico ? 100_000_000 : 300_000_000) + n);
+				email = tipo.toLowerCase() + n + "@mail.com";
+			}
+			LocalDate criacao = LocalDate.ofInstant(agora, ZoneOffset.UTC).minusDays(dias + random.nextInt(dias + 1));
+			pessoas.add(new Object[] { tipo, id, 0, nome, cpf, email, hash, Date.valueOf(criacao) });
+			perfis.add(new Object[] { id, Perfil.CLIENTE.getCodigo() });
+			if (tecnico) {
+				perfis.add(new Object[] { id, Perfil.TECNICO.getCodigo() });
+				if (n == 1) {
+					perfis.add(new Object[] { id, Perfil.ADMIN.getCodigo() });
+				}
+			}
+		}
+		jdbc.batchUpdate("insert into pessoa (dtype, id, versao, nome, cpf, email, senha, data_criacao) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?)", pessoas);
+		jdbc.batchUpdate("insert into perfis (pessoa_id, perfis) values (?, ?)", perfis);
+	}
+
+	/** Insere os chamados com IDs de {@code primeiro} a {@code ultimo}. */
+	private void insereChamados(int primeiro, int ultimo, Instant agora) {
+		TextoComprimidoConverter converter = new TextoComprimidoConverter();
+		List<Object[]> linhas = new ArrayList<>(ultimo - primeiro + 1);
+		for (int id = primeiro; id <= ultimo; id++) {
+			SplittableRandom random = random(id, 0);
+			Prioridade prioridade;
+			Status status;
+			Instant aberto;
+			Instant fechado = null;
+			int tecnico;
+			int cliente;
+			String titulo;
+			String observacoes;
+			if (id == 1) {
+				prioridade = Prioridade.MEDIA;
+				status = Status.ANDAMENTO;
+				aberto = agora;
+				tecnico = 1;
+				cliente = tecnicos + 1;
+				titulo = "Chamado 01";
+				observacoes = "Primeiro chamado";
+			} else {
+				double sorteio = random.nextDouble();
+				prioridade = sorteio < 0.50 ? Prioridade.BAIXA : sorteio < 0.85 ? Prioridade.MEDIA : Prioridade.ALTA;
+				double u = random.nextDouble();
+				long idade = (long) (dias * 86_400L * u * u);
+				aberto = agora.minusSeconds(idade);
+				long resolucao = logNormal(random, prioridade == Prioridade.ALTA ? 4 * 3600
+						: prioridade == Prioridade.MEDIA ? 24 * 3600 : 72 * 3600, 1.0);
+				if (resolucao <= idade) {
+					status = Status.ENCERRADO;
+					fechado = aberto.plusSeconds(resolucao);
+				} else {
+					status = logNormal(random, 2 * 3600, 1.2) <= idade ? Status.ANDAMENTO : Status.ABERTO;
+				}
+				tecnico = 1 + (int) (tecnicos * Math.pow(random.nextDouble(), 2));
+				cliente = tecnicos + 1 + (int) (clientes * Math.pow(random.nextDouble(), 1.5));
+				titulo = capitaliza(OBJETOS[random.nextInt(OBJETOS.length)]) + " "
+						+ SINTOMAS[random.nextInt(SINTOMAS.length)];
+				observacoes = texto(random, (int) Math.min(600, Math.max(3, logNormal(random, 30, 0.9))));
+			}
+			linhas.add(new Object[] { id, 0, Date.valueOf(LocalDate.ofInstant(aberto, ZoneOffset.UTC)),
+					fechado != null ? Date.valueOf(LocalDate.ofInstant(fechado, ZoneOffset.UTC)) : null,
+					Timestamp.from(aberto), fechado != null ? Timestamp.from(fechado) : null, prioridade.getCodigo(),
+					status.getCodigo(), titulo, converter.convertToDatabaseColumn(observacoes), tecnico, cliente });
+		}
+		jdbc.batchUpdate("insert into chamado (id, versao, data_abertura, data_fechamento, aberto_em, fechado_em, "
+				+ "prioridade, status, titulo, observacoes, tecnico_id, cliente_id) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+	}
+
+	/**
+	 * Faz a próxima inserção pela aplicação usar o ID seguinte aos gerados, já que os IDs
+	 * foram gravados explicitamente.
+	 */
+	private void reiniciaIdentidade(String tabela, int proximo) {
+		String banco = jdbc.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+		jdbc.execute("H2".equals(banco) ? "alter table " + tabela + " alter column id restart with " + proximo
+				: "alter table " + tabela + " auto_increment = " + proximo);
+	}
+
+	/** Gerador do registro com o ID informado, independente da ordem de geração. */
+	private SplittableRandom random(int id, int tabela) {
+		return new SplittableRandom(semente ^ ((long) tabela << 32) ^ (id * DISPERSAO));
+	}
+
+	/** Sorteia um valor log-normal com a mediana e o desvio (na escala logarítmica) informados. */
+	private static long logNormal(SplittableRandom random, double mediana, double desvio) {
+		double gaussiana = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+		return (long) (mediana * Math.exp(desvio * gaussiana));
+	}
+
+	/** Texto de frases com palavras do vocabulário, com a quantidade de palavras informada. */
+	private static String texto(SplittableRandom random, int palavras) {
+		StringBuilder sb = new StringBuilder();
+		int frase = 0;
+		for (int i = 0; i < palavras; i++) {
+			String palavra = PALAVRAS[random.nextInt(PALAVRAS.length)];
+			if (frase == 0) {
+				sb.append(i > 0 ? " " : "").append(capitaliza(palavra));
+				frase = 6 + random.nextInt(10);
+			} else {
+				sb.append(' ').append(palavra);
+			}
+			if (--frase == 0 || i == palavras - 1) {
+				sb.append('.');
+				frase = 0;
+			}
+		}
+		return sb.toString();
+	}
+
+	/** CPF válido a partir dos nove primeiros dígitos. */
+	private static String cpf(int base) {
+		int[] digitos = new int[11];
+		for (int i = 8, resto = base; i >= 0; i--, resto /= 10) {
+			digitos[i] = resto % 10;
+		}
+		for (int verificador = 9; verificador <= 10; verificador++) {
+			int soma = 0;
+			for (int i = 0; i < verificador; i++) {
+				soma += digitos[i] * (verificador + 1 - i);
+			}
+			int resto = soma % 11;
+			digitos[verificador] = resto < 2 ? 0 : 11 - resto;
+		}
+		StringBuilder sb = new StringBuilder(11);
+		for (int digito : digitos) {
+			sb.append(digito);
+		}
+		return sb.toString();
+	}
+
+	private static String capitaliza(String texto) {
+		return Character.toUpperCase(texto.charAt(0)) + texto.substring(1);
 	}
 }
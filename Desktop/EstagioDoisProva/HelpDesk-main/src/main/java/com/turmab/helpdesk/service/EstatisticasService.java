@@ -0,0 +1,216 @@
+package com.turmab.helpdesk.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.EstatisticasDTO;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Classe de serviço que mantém em memória a contagem de chamados por status,
+ * prioridade e técnico, usada pelo painel gerencial.
+ * 
+ * <p>Os contadores são carregados com uma única consulta agrupada quando a aplicação
+ * inicia e, a partir daí, atualizados pelo {@link ChamadoService} a cada escrita
+ * confirmada ({@link Contagem}); a leitura não usa bloqueios.</p>
+ * 
+ * <p>Periodicamente ({@code helpdesk.estatisticas.verificacao-ms}, padrão 5 minutos) a
+ * contagem é recalculada no banco, sem bloquear as escritas de chamados durante as
+ * consultas; diferenças são registradas no log e corrigidas. Chamados arquivados
+ * continuam contados.</p>
+ * 
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class EstatisticasService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EstatisticasService.class);
+
+	/** Repositório da tabela ativa de chamados. */
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	/** Repositório da tabela de arquivo de chamados. */
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+
+	private final Contagem<Integer> porStatus = new Contagem<>();
+	private final Contagem<Integer> porPrioridade = new Contagem<>();
+	private final Contagem<Integer> porTecnico = new Contagem<>();
+
+	/** Transação somente leitura da conferência com o banco, sobre uma leitura consistente. */
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * Construtor que cria o {@link TransactionTemplate} usado na conferência.
+	 * 
+	 * @param transactionManager gerenciador de transações da aplicação
+	 */
+	public EstatisticasService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+	}
+
+	/**
+	 * Carrega os contadores a partir do banco quando a aplicação termina de iniciar.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void inicializa() {
+		recalcula(false);
+	}
+
+	/**
+	 * Registra uma escrita de chamado, após o commit da transação ativa (se houver).
+	 * 
+	 * @param antes situação do chamado antes da escrita, ou {@code null} em uma criação
+	 * @param depois situação do chamado após a escrita, ou {@code null} em uma exclusão
+	 */
+	public void registra(Chave antes, Chave depois) {
+		if (Objects.equals(antes, depois)) {
+			return;
+		}
+		Contagem.aposCommit(() -> {
+			if (antes != null) {
+				soma(antes, -1);
+			}
+			if (depois != null) {
+				soma(depois, 1);
+			}
+		});
+	}
+
+	/**
+	 * Retorna a contagem atual, lida dos contadores em memória.
+	 * 
+	 * @return um {@link EstatisticasDTO} com os totais por status, prioridade e técnico
+	 */
+	public EstatisticasDTO estatisticas() {
+		return new EstatisticasDTO(porStatus.total(), valores(porStatus), valores(porPrioridade), valores(porTecnico));
+	}
+
+	/**
+	 * Recalcula a contagem no banco, registra no log as diferenças encontradas e
+	 * ajusta os contadores.
+	 */
+	@Scheduled(initialDelayString = "${helpdesk.estatisticas.verificacao-ms:300000}",
+			fixedDelayString = "${helpdesk.estatisticas.verificacao-ms:300000}")
+	public void verifica() {
+		recalcula(true);
+	}
+
+	private synchronized void recalcula(boolean registraDiferenca) {
+		long diferenca = Contagem.confere(transactionTemplate, this::fotografa, this::confere);
+		if (registraDiferenca && diferenca != 0) {
+			LOG.warn("Estatísticas de chamados divergiam do banco e foram corrigidas (diferença absoluta: {})",
+					diferenca);
+		}
+	}
+
+	private void fotografa() {
+		chamadoRepository.countByIdLessThan(0);
+		arquivadoRepository.countByIdLessThan(0);
+		porStatus.fotografa();
+		porPrioridade.fotografa();
+		porTecnico.fotografa();
+	}
+
+	private long confere() {
+		Map<Integer, Long> status = new TreeMap<>();
+		Map<Integer, Long> prioridade = new TreeMap<>();
+		Map<Integer, Long> tecnico = new TreeMap<>();
+		for (List<Object[]> linhas : List.of(chamadoRepository.countPorStatusPrioridadeTecnico(),
+				arquivadoRepository.countPorStatusPrioridadeTecnico())) {
+			for (Object[] linha : linhas) {
+				long quantidade = (Long) linha[3];
+				status.merge((Integer) linha[0], quantidade, Long::sum);
+				prioridade.merge((Integer) linha[1], quantidade, Long::sum);
+				if (linha[2] != null) {
+					tecnico.merge((Integer) linha[2], quantidade, Long::sum);
+				}
+			}
+		}
+		return porStatus.ajusta(status) + porPrioridade.ajusta(prioridade) + porTecnico.ajusta(tecnico);
+	}
+
+	private void soma(Chave chave, int delta) {
+		porStatus.soma(chave.status, delta);
+		porPrioridade.soma(chave.prioridade, delta);
+		if (chave.tecnico != null) {
+			porTecnico.soma(chave.tecnico, delta);
+		}
+	}
+
+	private static Map<Integer, Long> valores(Contagem<Integer> contagem) {
+		Map<Integer, Long> result = new TreeMap<>();
+		contagem.forEach(result::put);
+		return result;
+	}
+
+	/**
+	 * Situação de um chamado relevante para as estatísticas: status, prioridade, técnico,
+	 * cliente e data de abertura. Também é usada pelo {@link CuboService}.
+	 */
+	public static final class Chave {
+
+		final Integer status;
+		final Integer prioridade;
+		final Integer tecnico;
+		final Integer cliente;
+		final LocalDate dia;
+
+		Chave(Integer status, Integer prioridade, Integer tecnico, Integer cliente, LocalDate dia) {
+			this.status = status;
+			this.prioridade = prioridade;
+			this.tecnico = tecnico;
+			this.cliente = cliente;
+			this.dia = dia;
+		}
+
+		/**
+		 * Captura a situação atual de um chamado.
+		 * 
+		 * @param obj chamado
+		 * @return a chave correspondente
+		 */
+		public static Chave of(Chamado obj) {
+			return new Chave(obj.getStatus(), obj.getPrioridade(),
+					(obj.getTecnico() != null) ? obj.getTecnico().getId() : null,
+					(obj.getCliente() != null) ? obj.getCliente().getId() : null, obj.getDataAbertura());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Chave))
+				return false;
+			Chave other = (Chave) obj;
+			return Objects.equals(status, other.status) && Objects.equals(prioridade, other.prioridade)
+					&& Objects.equals(tecnico, other.tecnico) && Objects.equals(cliente, other.cliente)
+					&& Objects.equals(dia, other.dia);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(status, prioridade, tecnico, cliente, dia);
+		}
+	}
+}
@@ -0,0 +1,420 @@
+package com.turmab.helpdesk.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.SelectedField;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+/**
+ * Serviço que executa consultas GraphQL (somente leitura) sobre chamados, técnicos e
+ * clientes. O esquema fica em {@code graphql/helpdesk.graphqls}.
+ *
+ * <p>Cada lista de chamados lê do banco apenas as colunas dos campos pedidos
+ * ({@link Campos}). As associações (técnico e cliente de um chamado, perfis e chamados de
+ * uma pessoa) são resolvidas por {@link DataLoader}s criados a cada requisição: as chaves
+ * pedidas em um mesmo nível da resposta são agrupadas, sem repetição, em uma única
+ * consulta {@code IN}. Assim, 100 chamados com técnico e cliente custam três consultas,
+ * qualquer que seja a quantidade de pessoas distintas.</p>
+ *
+ * <p>Antes de executar, a consulta é recusada se passar da profundidade ou da complexidade
+ * máximas. A complexidade soma os campos pedidos, multiplicando os de cada lista pelo seu
+ * {@code limite}.</p>
+ *
+ * <p>Propriedades:</p>
+ * <ul>
+ *   <li>{@code helpdesk.graphql.profundidade-maxima}: aninhamento máximo de campos (padrão 5);</li>
+ *   <li>{@code helpdesk.graphql.complexidade-maxima}: complexidade máxima (padrão 2000);</li>
+ *   <li>{@code helpdesk.graphql.limite-maximo}: maior {@code limite} aceito nas listas (padrão 100).</li>
+ * </ul>
+ *
+ * @author Gustavo Barros
+ */
+@Service
+public class GraphQLService {
+
+	private static final String TECNICOS = "tecnicos";
+	private static final String CLIENTES = "clientes";
+	private static final String PERFIS = "perfis";
+	private static final String CHAMADOS_DO_TECNICO = "chamadosDoTecnico";
+	private static final String CHAMADOS_DO_CLIENTE = "chamadosDoCliente";
+
+	/** Campos lidos de técnicos e clientes; os perfis têm carregador próprio. */
+	private static final Set<String> CAMPOS_PESSOA = new LinkedHashSet<>(
+			List.of("id", "nome", "cpf", "email", "dataCriacao"));
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Autowired
+	private PessoaRepository pessoaRepository;
+
+	@Value("${helpdesk.graphql.profundidade-maxima:5}")
+	private int profundidadeMaxima;
+
+	@Value("${helpdesk.graphql.complexidade-maxima:2000}")
+	private int complexidadeMaxima;
+
+	@Value("${helpdesk.graphql.limite-maximo:100}")
+	private int limiteMaximo;
+
+	private GraphQL graphQL;
+
+	/**
+	 * Lê o esquema e associa cada campo à função que o resolve.
+	 *
+	 * @throws IOException Caso o esquema não possa ser lido.
+	 */
+	@PostConstruct
+	public void inicializa() throws IOException {
+		RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+				.type("Query", t -> t
+						.dataFetcher("chamado", this::chamado)
+						.dataFetcher("chamados", this::chamados)
+						.dataFetcher("tecnico", env -> carrega(env, TECNICOS, env.getArgument("id")))
+						.dataFetcher("tecnicos", env -> pessoas(env, "Tecnico", TecnicoService.CAMPOS, TecnicoDTO::new))
+						.dataFetcher("cliente", env -> carrega(env, CLIENTES, env.getArgument("id")))
+						.dataFetcher("clientes", env -> pessoas(env, "Cliente", ClienteService.CAMPOS, ClienteDTO::new)))
+				.type("Chamado", t -> t
+						.dataFetcher("tecnico", env -> carrega(env, TECNICOS, env.<ChamadoDTO>getSource().getTecnico()))
+						.dataFetcher("cliente", env -> carrega(env, CLIENTES, env.<ChamadoDTO>getSource().getCliente())))
+				.type("Tecnico", t -> t
+						.dataFetcher("perfis", env -> carrega(env, PERFIS, env.<TecnicoDTO>getSource().getId()))
+						.dataFetcher("chamados", env -> chamadosDaPessoa(env, CHAMADOS_DO_TECNICO,
+								env.<TecnicoDTO>getSource().getId())))
+				.type("Cliente", t -> t
+						.dataFetcher("perfis", env -> carrega(env, PERFIS, env.<ClienteDTO>getSource().getId()))
+						.dataFetcher("chamados", env -> chamadosDaPessoa(env, CHAMADOS_DO_CLIENTE,
+								env.<ClienteDTO>getSource().getId())))
+				.build();
+
+		try (Reader esquema = new InputStreamReader(new ClassPathResource("graphql/helpdesk.graphqls").getInputStream(),
+				StandardCharsets.UTF_8)) {
+			graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(esquema), wiring))
+					.instrumentation(new ChainedInstrumentation(List.of(
+							new MaxQueryDepthInstrumentation(profundidadeMaxima),
+							new MaxQueryComplexityInstrumentation(complexidadeMaxima, this::complexidade),
+							new DataLoaderDispatcherInstrumentation())))
+					.build();
+		}
+	}
+
+	/**
+	 * Executa uma consulta GraphQL.
+	 *
+	 * @param query         texto da consulta
+	 * @param operationName operação a executar, se a consulta tiver mais de uma
+	 * @param variables     valores das variáveis da consulta
+	 * @return a resposta no formato da especificação ({@code data} e {@code errors})
+	 * @throws DataIntegrityViolationException Caso a consulta não seja informada.
+	 */
+	public Map<String, Object> executa(String query, String operationName, Map<String, Object> variables) {
+		if (query == null || query.isBlank()) {
+			throw new DataIntegrityViolationException("Informe a consulta em query");
+		}
+		ExecutionInput entrada = ExecutionInput.newExecutionInput()
+				.query(query)
+				.operationName(operationName)
+				.variables(variables != null ? variables : Map.of())
+				.dataLoaderRegistry(carregadores())
+				.build();
+		return graphQL.execute(entrada).toSpecification();
+	}
+
+	/** Cria os carregadores de uma requisição; o cache de cada um vale só para ela. */
+	private DataLoaderRegistry carregadores() {
+		DataLoaderRegistry registro = new DataLoaderRegistry();
+		registro.register(TECNICOS, DataLoader.newMappedDataLoader(this::tecnicos));
+		registro.register(CLIENTES, DataLoader.newMappedDataLoader(this::clientes));
+		registro.register(PERFIS, DataLoader.newMappedDataLoader(this::perfis));
+		registro.register(CHAMADOS_DO_TECNICO, DataLoader.newMappedDataLoader(this::chamadosDosTecnicos));
+		registro.register(CHAMADOS_DO_CLIENTE, DataLoader.newMappedDataLoader(this::chamadosDosClientes));
+		return registro;
+	}
+
+	/**
+	 * Complexidade de um campo: ele mesmo mais os filhos, vezes o {@code limite} se for uma lista.
+	 */
+	private int complexidade(FieldComplexityEnvironment env, int filhos) {
+		Object limite = env.getArguments().get("limite");
+		return (limite instanceof Integer ? (Integer) limite : 1) * (1 + filhos);
+	}
+
+	private static <K> CompletableFuture<Object> carrega(DataFetchingEnvironment env, String carregador, K chave) {
+		if (chave == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return env.<K, Object>getDataLoader(carregador).load(chave);
+	}
+
+	private int limite(DataFetchingEnvironment env) {
+		Integer limite = env.getArgument("limite");
+		if (limite == null || limite < 1 || limite > limiteMaximo) {
+			throw new DataIntegrityViolationException("limite deve estar entre 1 e " + limiteMaximo);
+		}
+		return limite;
+	}
+
+	/** Campos de chamado pedidos na consulta, mais o ID. */
+	private static Set<String> camposDoChamado(DataFetchingEnvironment env) {
+		Set<String> campos = new LinkedHashSet<>();
+		campos.add("id");
+		for (SelectedField campo : env.getSelectionSet().getImmediateFields()) {
+			if (ChamadoService.CAMPOS.nomes().contains(campo.getName())) {
+				campos.add(campo.getName());
+			}
+		}
+		return campos;
+	}
+
+	private static ChamadoDTO chamado(Set<String> campos, Object[] linha) {
+		return ChamadoService.CAMPOS.preenche(new ChamadoDTO(), campos, linha);
+	}
+
+	/** {@code chamado(id)}: procura na tabela ativa e, se não encontrar, na de arquivo. */
+	private ChamadoDTO chamado(DataFetchingEnvironment env) {
+		Set<String> campos = camposDoChamado(env);
+		List<Integer> ids = List.of(env.<Integer>getArgument("id"));
+		List<Object[]> linhas = ChamadoService.CAMPOS.consulta(em, "Chamado", campos, ids);
+		if (linhas.isEmpty()) {
+			linhas = ChamadoService.CAMPOS.consulta(em, "ChamadoArquivado", campos, ids);
+		}
+		return linhas.isEmpty() ? null : chamado(campos, linhas.get(0));
+	}
+
+	/** {@code chamados(status, prioridade, aposId, limite)}: chamados ativos em ordem de ID. */
+	private List<ChamadoDTO> chamados(DataFetchingEnvironment env) {
+		Set<String> campos = camposDoChamado(env);
+		StringBuilder condicao = new StringBuilder("obj.id > :aposId");
+		Map<String, Object> parametros = new HashMap<>();
+		parametros.put("aposId", env.getArgument("aposId"));
+		for (String filtro : List.of("status", "prioridade")) {
+			if (env.getArgument(filtro) != null) {
+				condicao.append(" and obj.").append(filtro).append(" = :").append(filtro);
+				parametros.put(filtro, env.getArgument(filtro));
+			}
+		}
+		List<ChamadoDTO> lista = new ArrayList<>();
+		for (Object[] linha : ChamadoService.CAMPOS.consulta(em, "Chamado", campos, condicao.toString(), parametros,
+				limite(env))) {
+			lista.add(chamado(campos, linha));
+		}
+		return lista;
+	}
+
+	/** {@code tecnicos} e {@code clientes}: pessoas em ordem de ID. */
+	private <T> List<T> pessoas(DataFetchingEnvironment env, String entidade, Campos campos, Supplier<T> dto) {
+		List<T> lista = new ArrayList<>();
+		for (Object[] linha : campos.consulta(em, entidade, CAMPOS_PESSOA, "obj.id > :aposId",
+				Map.of("aposId", env.getArgument("aposId")), limite(env))) {
+			lista.add(campos.preenche(dto.get(), CAMPOS_PESSOA, linha));
+		}
+		return lista;
+	}
+
+	/** {@code chamados} de um técnico ou cliente, agrupados com os das demais pessoas do mesmo nível. */
+	private CompletableFuture<Object> chamadosDaPessoa(DataFetchingEnvironment env, String carregador, Integer pessoa) {
+		Boolean abertos = env.getArgument("abertos");
+		return carrega(env, carregador, new Fila(pessoa, env.getArgument("status"), Boolean.TRUE.equals(abertos),
+				camposDoChamado(env), limite(env)));
+	}
+
+	private CompletionStage<Map<Integer, TecnicoDTO>> tecnicos(Set<Integer> ids) {
+		return CompletableFuture.completedFuture(porId("Tecnico", TecnicoService.CAMPOS, ids, TecnicoDTO::new));
+	}
+
+	private CompletionStage<Map<Integer, ClienteDTO>> clientes(Set<Integer> ids) {
+		return CompletableFuture.completedFuture(porId("Cliente", ClienteService.CAMPOS, ids, ClienteDTO::new));
+	}
+
+	private <T> Map<Integer, T> porId(String entidade, Campos campos, Set<Integer> ids, Supplier<T> dto) {
+		Map<Integer, T> encontrados = new HashMap<>();
+		for (Object[] linha : campos.consulta(em, entidade, CAMPOS_PESSOA, ids)) {
+			encontrados.put((Integer) linha[0], campos.preenche(dto.get(), CAMPOS_PESSOA, linha));
+		}
+		return encontrados;
+	}
+
+	private CompletionStage<Map<Integer, Set<Integer>>> perfis(Set<Integer> ids) {
+		Map<Integer, Set<Integer>> perfis = new HashMap<>();
+		for (Integer id : ids) {
+			perfis.put(id, new LinkedHashSet<>());
+		}
+		for (Object[] linha : pessoaRepository.findPerfisByIdIn(ids)) {
+			perfis.get((Integer) linha[0]).add((Integer) linha[1]);
+		}
+		return CompletableFuture.completedFuture(perfis);
+	}
+
+	private CompletionStage<Map<Fila, List<ChamadoDTO>>> chamadosDosTecnicos(Set<Fila> filas) {
+		return CompletableFuture.completedFuture(chamadosPorPessoa("tecnico", filas));
+	}
+
+	private CompletionStage<Map<Fila, List<ChamadoDTO>>> chamadosDosClientes(Set<Fila> filas) {
+		return CompletableFuture.completedFuture(chamadosPorPessoa("cliente", filas));
+	}
+
+	/**
+	 * Carrega os chamados de várias pessoas: para cada combinação de filtros e campos pedidos
+	 * (normalmente, uma só), uma consulta nativa escolhe os IDs dos primeiros chamados de cada
+	 * pessoa ({@code row_number()} por pessoa, até o maior {@code limite} do grupo) e uma
+	 * consulta {@code IN} lê os campos pedidos só desses chamados. Assim, o total lido fica
+	 * limitado a pessoas × limite, por mais chamados que cada pessoa tenha.
+	 *
+	 * @param papel {@code tecnico} ou {@code cliente}
+	 * @param filas pessoas e filtros pedidos
+	 * @return os chamados de cada fila, limitados ao {@code limite} dela
+	 */
+	private Map<Fila, List<ChamadoDTO>> chamadosPorPessoa(String papel, Set<Fila> filas) {
+		Map<List<Object>, List<Fila>> grupos = new LinkedHashMap<>();
+		for (Fila fila : filas) {
+			grupos.computeIfAbsent(Arrays.asList(fila.status, fila.abertos, fila.campos), k -> new ArrayList<>()).add(fila);
+		}
+
+		Map<Fila, List<ChamadoDTO>> resultado = new HashMap<>();
+		for (List<Fila> grupo : grupos.values()) {
+			Fila modelo = grupo.get(0);
+			Set<String> campos = new LinkedHashSet<>(modelo.campos);
+			campos.add(papel);
+
+			Set<Integer> pessoas = new LinkedHashSet<>();
+			int limite = 0;
+			for (Fila fila : grupo) {
+				pessoas.add(fila.pessoa);
+				limite = Math.max(limite, fila.limite);
+			}
+			List<Integer> ids = primeirosChamados(papel, pessoas, modelo.status, modelo.abertos, limite);
+
+			Map<Integer, List<ChamadoDTO>> porPessoa = new HashMap<>();
+			List<Object[]> linhas = ids.isEmpty() ? List.of()
+					: ChamadoService.CAMPOS.consulta(em, "Chamado", campos, ids);
+			for (Object[] linha : linhas) {
+				ChamadoDTO dto = chamado(campos, linha);
+				Integer pessoa = papel.equals("tecnico") ? dto.getTecnico() : dto.getCliente();
+				porPessoa.computeIfAbsent(pessoa, k -> new ArrayList<>()).add(dto);
+			}
+			for (Fila fila : grupo) {
+				List<ChamadoDTO> chamados = porPessoa.getOrDefault(fila.pessoa, List.of());
+				resultado.put(fila, chamados.subList(0, Math.min(fila.limite, chamados.size())));
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * IDs dos primeiros chamados (em ordem de ID) de cada pessoa, no máximo {@code limite} por pessoa.
+	 *
+	 * @param papel {@code tecnico} ou {@code cliente}
+	 * @param pessoas IDs das pessoas
+	 * @param status status exigido, ou {@code null} para todos
+	 * @param abertos se {@code true}, ignora os chamados encerrados
+	 * @param limite quantidade máxima de chamados por pessoa
+	 * @return os IDs encontrados
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Integer> primeirosChamados(String papel, Set<Integer> pessoas, Integer status, boolean abertos,
+			int limite) {
+		String coluna = "c." + papel + "_id";
+		StringBuilder sql = new StringBuilder("select x.id from (select c.id, row_number() over (partition by ")
+				.append(coluna).append(" order by c.id) as posicao from chamado c where ").append(coluna)
+				.append(" in (:pessoas)");
+		if (status != null) {
+			sql.append(" and c.status = :status");
+		}
+		if (abertos) {
+			sql.append(" and c.status <> :encerrado");
+		}
+		sql.append(") x where x.posicao <= :limite");
+
+		Query query = em.createNativeQuery(sql.toString());
+		query.setParameter("pessoas", pessoas);
+		query.setParameter("limite", limite);
+		if (status != null) {
+			query.setParameter("status", status);
+		}
+		if (abertos) {
+			query.setParameter("encerrado", Status.ENCERRADO.getCodigo());
+		}
+		List<Integer> ids = new ArrayList<>();
+		for (Object id : (List<Object>) query.getResultList()) {
+			ids.add(((Number) id).intValue());
+		}
+		return ids;
+	}
+
+	/** Chave do carregador de chamados de uma pessoa: a pessoa e os argumentos do campo. */
+	private static final class Fila {
+
+		private final Integer pessoa;
+		private final Integer status;
+		private final boolean abertos;
+		private final Set<String> campos;
+		private final int limite;
+
+		Fila(Integer pessoa, Integer status, boolean abertos, Set<String> campos, int limite) {
+			this.pessoa = pessoa;
+			this.status = status;
+			this.abertos = abertos;
+			this.campos = campos;
+			this.limite = limite;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Fila)) {
+				return false;
+			}
+			Fila outra = (Fila) obj;
+			return pessoa.equals(outra.pessoa) && Objects.equals(status, outra.status) && abertos == outra.abertos
+					&& campos.equals(outra.campos) && limite == outra.limite;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(pessoa, status, abertos, campos, limite);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.turmab.helpdesk.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Utilitário para as buscas de vários registros por ID ({@code ?ids=}).
+ * 
+ * @author Gustavo Barros
+ */
+public final class Lotes {
+
+	private Lotes() {
+	}
+
+	/**
+	 * Remove IDs nulos e repetidos, mantendo a ordem da primeira ocorrência, e valida o tamanho.
+	 * 
+	 * @param ids    IDs pedidos
+	 * @param maximo quantidade máxima de IDs distintos
+	 * @return os IDs distintos, na ordem pedida
+	 * @throws DataIntegrityViolationException Caso nenhum ID seja informado ou o máximo seja excedido.
+	 */
+	public static List<Integer> ids(List<Integer> ids, int maximo) {
+		LinkedHashSet<Integer> distintos = new LinkedHashSet<>();
+		for (Integer id : ids) {
+			if (id != null) {
+				distintos.add(id);
+			}
+		}
+		if (distintos.isEmpty()) {
+			throw new DataIntegrityViolationException("Informe ao menos um ID em ids");
+		}
+		if (distintos.size() > maximo) {
+			throw new DataIntegrityViolationException("No máximo " + maximo + " IDs por requisição");
+		}
+		return new ArrayList<>(distintos);
+	}
+
+	/**
+	 * Monta o resultado na ordem dos IDs pedidos, separando os não encontrados.
+	 * 
+	 * @param ids         IDs pedidos, já distintos
+	 * @param encontrados registros encontrados, por ID
+	 * @return o {@link LoteDTO}
+	 */
+	public static <T> LoteDTO<T> monta(List<Integer> ids, Map<Integer, T> encontrados) {
+		List<T> itens = new ArrayList<>(encontrados.size());
+		List<Integer> naoEncontrados = new ArrayList<>();
+		for (Integer id : ids) {
+			T dto = encontrados.get(id);
+			if (dto != null) {
+				itens.add(dto);
+			} else {
+				naoEncontrados.add(id);
+			}
+		}
+		return new LoteDTO<>(itens, naoEncontrados);
+	}
+}
@@ -0,0 +1,263 @@
+package com.turmab.helpdesk.service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+
+import javax.annotation.PreDestroy;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.ResolucaoSnapshot;
+import com.turmab.helpdesk.domain.dtos.PercentisDTO;
+import com.turmab.helpdesk.domain.dtos.ResolucaoDTO;
+import com.turmab.helpdesk.repositories.ResolucaoSnapshotRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Classe de serviço que calcula percentis do tempo de resolução de chamados
+ * (do instante de abertura ao de fechamento), por técnico e por prioridade.
+ *
+ * <p>Cada fechamento confirmado é registrado em um histograma do HdrHistogram, em
+ * segundos, mantido em memória por dia, dimensão e chave. Histogramas podem ser somados
+ * sem perda de precisão, então os de instâncias e dias diferentes são combinados para
+ * responder a qualquer período.</p>
+ *
+ * <p>Periodicamente ({@code helpdesk.resolucao.snapshot-ms}, padrão 1 minuto) o que foi
+ * registrado desde a última gravação é somado à linha da instância em
+ * {@link ResolucaoSnapshot}. A consulta combina as linhas de todas as instâncias com o
+ * que esta instância ainda não gravou. Em memória ficam só os registros ainda não
+ * gravados: a gravação retira o histograma de cada janela do mapa de uma vez, e os
+ * registros seguintes criam um novo. A consulta lê as linhas gravadas e os pendentes sob
+ * o mesmo monitor da gravação, para não perder nem contar duas vezes uma janela que
+ * esteja sendo gravada. A instância é identificada por
+ * {@code helpdesk.resolucao.instancia} (padrão: variável {@code HOSTNAME}).</p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+@Service
+public class ResolucaoService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResolucaoService.class);
+
+	/** Dimensão dos histogramas por técnico. */
+	public static final String TECNICO = "tecnico";
+
+	/** Dimensão dos histogramas por prioridade. */
+	public static final String PRIORIDADE = "prioridade";
+
+	/** Dígitos significativos dos histogramas (erro relativo de até 1%). */
+	private static final int DIGITOS = 2;
+
+	/** Maior período aceito na consulta, em dias. */
+	private static final int MAXIMO_DIAS = 366;
+
+	/** Repositório dos histogramas gravados. */
+	@Autowired
+	private ResolucaoSnapshotRepository repository;
+
+	@Value("${helpdesk.resolucao.instancia:${HOSTNAME:local}}")
+	private String instancia;
+
+	/** Registros ainda não gravados, por janela; só alterados dentro de operações atômicas do mapa. */
+	private final Map<Janela, Histogram> registros = new ConcurrentHashMap<>();
+
+	/**
+	 * Registra o tempo de resolução de um chamado encerrado, após o commit da transação
+	 * ativa (se houver). Chamados sem instante de abertura ou fechamento são ignorados.
+	 *
+	 * @param obj chamado recém-encerrado
+	 */
+	public void registra(Chamado obj) {
+		if (obj.getAbertoEm() == null || obj.getFechadoEm() == null) {
+			return;
+		}
+		long segundos = Math.max(0, Duration.between(obj.getAbertoEm(), obj.getFechadoEm()).getSeconds());
+		LocalDate dia = obj.getDataFechamento();
+		Integer prioridade = obj.getPrioridade();
+		Integer tecnico = (obj.getTecnico() != null) ? obj.getTecnico().getId() : null;
+		Transacoes.aposCommit(() -> {
+			registra(new Janela(dia, PRIORIDADE, prioridade), segundos);
+			if (tecnico != null) {
+				registra(new Janela(dia, TECNICO, tecnico), segundos);
+			}
+		});
+	}
+
+	/**
+	 * Calcula os percentis do tempo de resolução dos chamados encerrados nos últimos dias.
+	 *
+	 * @param dias quantidade de dias, incluindo o atual
+	 * @return um {@link ResolucaoDTO} com os percentis por técnico e por prioridade
+	 * @throws DataIntegrityViolationException Caso o período seja inválido.
+	 */
+	public ResolucaoDTO resolucao(int dias) {
+		if (dias < 1 || dias > MAXIMO_DIAS) {
+			throw new DataIntegrityViolationException("Período deve estar entre 1 e " + MAXIMO_DIAS + " dias");
+		}
+		LocalDate inicio = LocalDate.now().minusDays(dias - 1);
+		// gravados e pendentes lidos sob o monitor de grava(), para que um registro não
+		// saia da memória entre as duas leituras (nem seja contado nas duas)
+		List<ResolucaoSnapshot> gravados;
+		Map<Janela, Histogram> pendentes;
+		synchronized (this) {
+			gravados = repository.findByDiaGreaterThanEqual(inicio);
+			pendentes = pendentes();
+		}
+		Map<String, Map<Integer, Histogram>> soma = new HashMap<>();
+		for (ResolucaoSnapshot snapshot : gravados) {
+			acumula(soma, snapshot.getDimensao(), snapshot.getChave(), decodifica(snapshot.getHistograma()));
+		}
+		for (Map.Entry<Janela, Histogram> e : pendentes.entrySet()) {
+			if (!e.getKey().dia.isBefore(inicio)) {
+				acumula(soma, e.getKey().dimensao, e.getKey().chave, e.getValue());
+			}
+		}
+		return new ResolucaoDTO(dias, percentis(soma.get(TECNICO)), percentis(soma.get(PRIORIDADE)));
+	}
+
+	/**
+	 * Soma aos histogramas gravados desta instância o que foi registrado desde a última
+	 * gravação. Se a gravação de uma janela falhar, o que foi retirado volta para a memória.
+	 */
+	@Scheduled(initialDelayString = "${helpdesk.resolucao.snapshot-ms:60000}",
+			fixedDelayString = "${helpdesk.resolucao.snapshot-ms:60000}")
+	public synchronized void grava() {
+		for (Janela janela : new ArrayList<>(registros.keySet())) {
+			Histogram delta = registros.remove(janela);
+			if (delta == null) {
+				continue;
+			}
+			try {
+				ResolucaoSnapshot snapshot = repository
+						.findByInstanciaAndDimensaoAndChaveAndDia(instancia, janela.dimensao, janela.chave, janela.dia)
+						.orElseGet(() -> new ResolucaoSnapshot(instancia, janela.dimensao, janela.chave, janela.dia));
+				Histogram total = delta.copy();
+				if (snapshot.getHistograma() != null) {
+					total.add(decodifica(snapshot.getHistograma()));
+				}
+				snapshot.setHistograma(codifica(total));
+				snapshot.setAtualizadoEm(Instant.now());
+				repository.save(snapshot);
+			} catch (RuntimeException e) {
+				registros.merge(janela, delta, (atual, retirado) -> {
+					atual.add(retirado);
+					return atual;
+				});
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Grava os registros pendentes antes de a aplicação ser encerrada.
+	 */
+	@PreDestroy
+	public void encerra() {
+		try {
+			grava();
+		} catch (RuntimeException e) {
+			LOG.warn("Não foi possível gravar os tempos de resolução pendentes", e);
+		}
+	}
+
+	private void registra(Janela janela, long segundos) {
+		registros.compute(janela, (k, histograma) -> {
+			Histogram result = (histograma != null) ? histograma : new Histogram(DIGITOS);
+			result.recordValue(segundos);
+			return result;
+		});
+	}
+
+	/** Cópias dos histogramas registrados e ainda não gravados, por janela. */
+	private synchronized Map<Janela, Histogram> pendentes() {
+		Map<Janela, Histogram> result = new HashMap<>();
+		for (Janela janela : registros.keySet()) {
+			registros.computeIfPresent(janela, (k, histograma) -> {
+				result.put(janela, histograma.copy());
+				return histograma;
+			});
+		}
+		return result;
+	}
+
+	private static void acumula(Map<String, Map<Integer, Histogram>> soma, String dimensao, Integer chave,
+			Histogram histograma) {
+		soma.computeIfAbsent(dimensao, x -> new HashMap<>())
+				.computeIfAbsent(chave, x -> new Histogram(DIGITOS))
+				.add(histograma);
+	}
+
+	private static Map<Integer, PercentisDTO> percentis(Map<Integer, Histogram> histogramas) {
+		Map<Integer, PercentisDTO> result = new TreeMap<>();
+		if (histogramas != null) {
+			histogramas.forEach((chave, h) -> result.put(chave, new PercentisDTO(h.getTotalCount(),
+					h.getValueAtPercentile(50), h.getValueAtPercentile(90), h.getValueAtPercentile(99), h.getMaxValue())));
+		}
+		return result;
+	}
+
+	private static byte[] codifica(Histogram histograma) {
+		ByteBuffer buffer = ByteBuffer.allocate(histograma.getNeededByteBufferCapacity());
+		int tamanho = histograma.encodeIntoCompressedByteBuffer(buffer);
+		byte[] result = new byte[tamanho];
+		buffer.flip();
+		buffer.get(result);
+		return result;
+	}
+
+	private static Histogram decodifica(byte[] bytes) {
+		try {
+			return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Histograma de resolução inválido", e);
+		}
+	}
+
+	/** Identificação de um histograma: dia do fechamento, dimensão e chave. */
+	private static final class Janela {
+
+		private final LocalDate dia;
+		private final String dimensao;
+		private final Integer chave;
+
+		private Janela(LocalDate dia, String dimensao, Integer chave) {
+			this.dia = dia;
+			this.dimensao = dimensao;
+			this.chave = chave;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Janela))
+				return false;
+			Janela other = (Janela) obj;
+			return Objects.equals(dia, other.dia) && Objects.equals(dimensao, other.dimensao)
+					&& Objects.equals(chave, other.chave);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(dia, dimensao, chave);
+		}
+	}
+}
@@ -1,12 +1,19 @@
 package com.turmab.helpdesk.service;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -14,10 +21,13 @@ import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.Tecnico;
 import com.turmab.helpdesk.domain.dtos.TecnicoCreateDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
 import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.repositories.TecnicoRepository;
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.PreconditionFailedException;
 
 /**
  * Classe de serviço responsável por conter as regras de negócio relacionadas à
@@ -32,7 +42,24 @@ import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
  */
 @Service
 public class TecnicoService {
-	
+
+	/** Campos aceitos em {@code ?fields=} e no GraphQL; os perfis são lidos em uma consulta à parte. */
+	static final Campos CAMPOS = new Campos()
+			.campo("id", "obj.id")
+			.campo("nome", "obj.nome")
+			.campo("cpf", "obj.cpf")
+			.campo("email", "obj.email")
+			.campo("perfis", null)
+			.campo("dataCriacao", "obj.dataCriacao");
+
+	/** Usado nas consultas de {@code ?fields=}, montadas conforme os campos pedidos. */
+	@PersistenceContext
+	private EntityManager em;
+
+	/** Quantidade máxima de IDs em {@code ?ids=}. */
+	@Value("${helpdesk.lote.tamanho-maximo:100}")
+	private int tamanhoMaximoLote;
+
 	/** Repositório responsável pelas operações de persistência de {@link Tecnico}. */
 	@Autowired
 	private TecnicoRepository repository; // como estende do JpaRepository já vão ter métodos que poderemos utilizar
@@ -41,6 +68,10 @@ public class TecnicoService {
 	@Autowired
 	private PessoaRepository pessoaRepository;
 	
+	/** Repositório de chamados arquivados, consultado antes da exclusão. */
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+	
 	/** Responsável pela criptografia das senhas antes do armazenamento. */
 	@Autowired
 	private BCryptPasswordEncoder encoder;
@@ -61,15 +92,106 @@ public class TecnicoService {
 	}
 	
 	/**
-     * Retorna uma lista de todos os técnicos cadastrados no sistema.
+     * Busca apenas a versão atual de um técnico, sem carregar a entidade.
+     * 
+     * <p>Usado para revalidar ETags com uma única consulta pela chave primária.</p>
      * 
-     * @return Uma lista de {@link TecnicoDTO} contendo todos os técnicos.
+     * @param id Identificador do técnico.
+     * @return A versão atual do técnico.
+     * @throws ObjectNotFoundException Caso o técnico não seja encontrado no banco.
      */
-	public List<TecnicoDTO> findAll() {
-	    List<Tecnico> list = repository.findAll();
-	    return list.stream()
-	               .map(TecnicoDTO::new)  
-	               .collect(Collectors.toList());
+	public Integer findVersao(Integer id) {
+		return repository.findVersaoById(id)
+				.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! id: " + id));
+	}
+
+	/**
+	 * Busca um técnico pelo seu ID, lendo do banco apenas os campos pedidos.
+	 * 
+	 * @param id     Identificador do técnico.
+	 * @param fields Campos pedidos, separados por vírgula (opcional).
+	 * @return O {@link TecnicoDTO} com os campos pedidos e a versão do técnico.
+	 * @throws ObjectNotFoundException Caso o técnico não seja encontrado no banco.
+	 * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+	 */
+	public Campos.Linha<TecnicoDTO> findById(Integer id, String fields) {
+		Set<String> campos = CAMPOS.le(fields);
+		if (campos == null) {
+			Tecnico obj = findById(id);
+			return new Campos.Linha<>(new TecnicoDTO(obj), obj.getVersao());
+		}
+		List<Object[]> linhas = CAMPOS.consulta(em, "Tecnico", campos, List.of(id));
+		if (linhas.isEmpty()) {
+			throw new ObjectNotFoundException("Objeto não encontrado! id: " + id);
+		}
+		return new Campos.Linha<>(projeta(campos, linhas).get(0), (Integer) linhas.get(0)[1]);
+	}
+
+	/**
+	 * Retorna uma lista com todos os técnicos cadastrados no sistema.
+	 * 
+	 * <p>Com {@code fields}, apenas as colunas dos campos pedidos são lidas; os perfis
+	 * só são consultados quando pedidos.</p>
+	 * 
+	 * @param fields Campos pedidos, separados por vírgula (opcional).
+	 * @return Uma lista de {@link TecnicoDTO} representando os técnicos cadastrados.
+	 * @throws DataIntegrityViolationException Caso algum campo pedido não exista.
+	 */
+	public List<TecnicoDTO> findAll(String fields) {
+		Set<String> campos = CAMPOS.le(fields);
+		if (campos != null) {
+			return projeta(campos, CAMPOS.consulta(em, "Tecnico", campos, null));
+		}
+		List<Tecnico> list = repository.findAll();
+		return list.stream()
+				.map(TecnicoDTO::new)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Busca vários técnicos pelo ID, com uma única consulta {@code IN}.
+	 * 
+	 * @param ids    IDs pedidos; repetidos são ignorados.
+	 * @param fields Campos pedidos, separados por vírgula (opcional).
+	 * @return Um {@link LoteDTO} com os técnicos na ordem pedida e os IDs não encontrados.
+	 * @throws DataIntegrityViolationException Caso a quantidade de IDs exceda o máximo ou algum campo não exista.
+	 */
+	public LoteDTO<TecnicoDTO> findAllById(List<Integer> ids, String fields) {
+		Set<String> campos = CAMPOS.le(fields);
+		List<Integer> distintos = Lotes.ids(ids, tamanhoMaximoLote);
+		Map<Integer, TecnicoDTO> porId = new HashMap<>();
+		if (campos != null) {
+			List<Object[]> linhas = CAMPOS.consulta(em, "Tecnico", campos, distintos);
+			List<TecnicoDTO> dtos = projeta(campos, linhas);
+			for (int i = 0; i < linhas.size(); i++) {
+				porId.put((Integer) linhas.get(i)[0], dtos.get(i));
+			}
+		} else {
+			for (Tecnico obj : repository.findAllComPerfisById(distintos)) {
+				porId.put(obj.getId(), new TecnicoDTO(obj));
+			}
+		}
+		return Lotes.monta(distintos, porId);
+	}
+
+	/**
+	 * Converte as linhas de {@link Campos#consulta} em DTOs, buscando os perfis se pedidos.
+	 */
+	private List<TecnicoDTO> projeta(Set<String> campos, List<Object[]> linhas) {
+		Map<Integer, Set<Integer>> perfis = new HashMap<>();
+		if (campos.contains("perfis") && !linhas.isEmpty()) {
+			List<Integer> ids = linhas.stream().map(x -> (Integer) x[0]).collect(Collectors.toList());
+			for (Object[] x : pessoaRepository.findPerfisByIdIn(ids)) {
+				perfis.computeIfAbsent((Integer) x[0], k -> new HashSet<>()).add((Integer) x[1]);
+			}
+		}
+		return linhas.stream().map(x -> {
+			TecnicoDTO dto = CAMPOS.preenche(new TecnicoDTO(), campos, x);
+			if (campos.contains("perfis")) {
+				dto.setPerfis(perfis.getOrDefault((Integer) x[0], new HashSet<>()));
+			}
+			return dto;
+		}).collect(Collectors.toList());
 	}
 
 	/**
@@ -126,13 +248,16 @@ public class TecnicoService {
      * 
      * @param id     Identificador do técnico a ser atualizado.
      * @param objDTO Objeto {@link TecnicoCreateDTO} com os novos dados.
+     * @param versoes Versões aceitas (If-Match), ou {@code null} para não verificar.
      * @return O técnico atualizado.
      * @throws ObjectNotFoundException Caso o técnico não exista.
      * @throws DataIntegrityViolationException Caso CPF ou e-mail entrem em conflito.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      */
-	public Tecnico update(Integer id, TecnicoCreateDTO objDTO) {
+	public Tecnico update(Integer id, TecnicoCreateDTO objDTO, Set<Integer> versoes) {
 	    objDTO.setId(id);
 	    Tecnico oldObj = findById(id);
+	    PreconditionFailedException.verificaVersao(oldObj.getVersao(), versoes);
 	    validaPorCpfEEmail(objDTO);
 	    
 	    oldObj.setNome(objDTO.getNome());
@@ -153,13 +278,16 @@ public class TecnicoService {
      * Caso possua, a exclusão é bloqueada.</p>
      * 
      * @param id Identificador do técnico a ser removido.
+     * @param versoes Versões aceitas (If-Match), ou {@code null} para não verificar.
      * @throws DataIntegrityViolationException Caso o técnico possua chamados vinculados.
+     * @throws PreconditionFailedException Caso a versão informada não seja a atual.
      * @throws ObjectNotFoundException Caso o técnico não seja encontrado.
      */
-	public void delete(Integer id) {
+	public void delete(Integer id, Set<Integer> versoes) {
 	    Tecnico obj = findById(id);
+	    PreconditionFailedException.verificaVersao(obj.getVersao(), versoes);
 	    
-	    if (obj.getChamados().size() > 0) {
+	    if (obj.getChamados().size() > 0 || arquivadoRepository.existsByTecnicoId(id)) {
 	        throw new DataIntegrityViolationException("Técnico possui chamados e não pode ser deletado!");
 	    }
 	    
@@ -0,0 +1,35 @@
+package com.turmab.helpdesk.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitário para executar ações secundárias (índices, contadores, auditoria)
+ * somente depois que a transação corrente for confirmada.
+ * 
+ * @author Gustavo Barros
+ */
+public final class Transacoes {
+
+	private Transacoes() {
+	}
+
+	/**
+	 * Executa a ação após o commit da transação ativa ou, se não houver transação,
+	 * imediatamente. Se a transação for desfeita, a ação não é executada.
+	 * 
+	 * @param acao ação a executar
+	 */
+	public static void aposCommit(Runnable acao) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					acao.run();
+				}
+			});
+		} else {
+			acao.run();
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.turmab.helpdesk.service.exceptions;
+
+import java.util.Set;
+
+/**
+ * Exceção personalizada lançada quando a versão informada pelo cliente
+ * (cabeçalho {@code If-Match}) não corresponde à versão atual do registro.
+ *
+ * <p>
+ * Indica que o registro foi alterado por outra requisição desde a última leitura
+ * do cliente. É tratada pela classe {@code ResourceExceptionHandle}, que retorna
+ * o status HTTP 412 (Precondition Failed).
+ * </p>
+ *
+ * @author Gustavo Barros
+ * @version 1.0
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+     * Construtor que permite especificar uma mensagem detalhada e a causa original do erro.
+     *
+     * @param message mensagem descritiva da exceção
+     * @param cause causa original que gerou a exceção
+     */
+	public PreconditionFailedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	/**
+     * Construtor que permite especificar apenas a mensagem descritiva da exceção.
+     *
+     * @param message mensagem explicando o motivo da exceção
+     */
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+
+	/**
+     * Verifica se a versão atual do registro está entre as aceitas pelo cliente.
+     *
+     * @param atual versão atual do registro
+     * @param aceitas versões informadas pelo cliente, ou {@code null} se não houver pré-condição
+     * @throws PreconditionFailedException caso a versão atual não seja nenhuma das aceitas
+     */
+	public static void verificaVersao(Integer atual, Set<Integer> aceitas) {
+		if (aceitas != null && !aceitas.contains(atual)) {
+			throw new PreconditionFailedException("O registro foi alterado por outra requisição! versão atual: " + atual);
+		}
+	}
+}
@@ -0,0 +1,6 @@
+-- Versão para o controle de concorrência otimista (@Version, ETag e If-Match).
+-- Registros existentes começam na versão 0.
+
+alter table pessoa add column versao integer not null default 0;
+
+alter table chamado add column versao integer not null default 0;
@@ -0,0 +1,21 @@
+-- Tabela de arquivo dos chamados encerrados (ArquivamentoService) e índice usado para
+-- selecionar os candidatos ao arquivamento.
+
+create table chamado_arquivado (
+    id integer not null,
+    versao integer,
+    data_abertura date,
+    data_fechamento date,
+    data_arquivamento date,
+    observacoes varchar(255),
+    prioridade integer,
+    status integer,
+    titulo varchar(255),
+    cliente_id integer,
+    tecnico_id integer,
+    primary key (id),
+    constraint fk_chamado_arquivado_cliente foreign key (cliente_id) references pessoa (id),
+    constraint fk_chamado_arquivado_tecnico foreign key (tecnico_id) references pessoa (id)
+);
+
+create index idx_chamado_status_fechamento on chamado (status, data_fechamento);
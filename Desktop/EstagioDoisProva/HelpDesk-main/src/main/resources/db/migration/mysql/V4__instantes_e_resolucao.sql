@@ -0,0 +1,23 @@
+-- Instantes de abertura e fechamento dos chamados e snapshots dos histogramas de tempo de
+-- resolução (ResolucaoService). Os registros existentes recebem o início do dia das
+-- datas que já tinham.
+
+alter table chamado add column aberto_em datetime(6);
+alter table chamado add column fechado_em datetime(6);
+update chamado set aberto_em = data_abertura, fechado_em = data_fechamento;
+
+alter table chamado_arquivado add column aberto_em datetime(6);
+alter table chamado_arquivado add column fechado_em datetime(6);
+update chamado_arquivado set aberto_em = data_abertura, fechado_em = data_fechamento;
+
+create table resolucao_snapshot (
+    id integer not null auto_increment,
+    instancia varchar(255),
+    dimensao varchar(255),
+    chave integer,
+    dia date,
+    histograma longblob,
+    atualizado_em datetime(6),
+    primary key (id),
+    constraint uk_resolucao_snapshot unique (instancia, dimensao, chave, dia)
+);
@@ -0,0 +1,15 @@
+-- Anexos dos chamados; o conteúdo fica em disco, endereçado pelo hash.
+
+create table anexo (
+    id integer not null auto_increment,
+    chamado_id integer not null,
+    nome varchar(255),
+    tipo varchar(255),
+    tamanho bigint,
+    hash varchar(64) not null,
+    criado_em datetime(6),
+    primary key (id)
+);
+
+create index idx_anexo_chamado on anexo (chamado_id);
+create index idx_anexo_hash on anexo (hash);
@@ -0,0 +1,12 @@
+-- Comentários dos chamados, paginados por (chamado_id, id).
+
+create table comentario (
+    id integer not null auto_increment,
+    chamado_id integer not null,
+    autor varchar(255),
+    texto varchar(4000) not null,
+    criado_em datetime(6),
+    primary key (id)
+);
+
+create index idx_comentario_chamado_id on comentario (chamado_id, id);
@@ -0,0 +1,7 @@
+-- Observações gravadas em binário por TextoComprimidoConverter. Na conversão de texto para
+-- binário, o MySQL preserva os bytes: os valores existentes ficam com o texto UTF-8 sem
+-- cabeçalho, que o conversor lê como texto legado.
+
+alter table chamado modify column observacoes longblob;
+
+alter table chamado_arquivado modify column observacoes longblob;
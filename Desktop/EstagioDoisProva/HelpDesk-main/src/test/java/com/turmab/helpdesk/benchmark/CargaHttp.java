@@ -0,0 +1,282 @@
+package com.turmab.helpdesk.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.turmab.helpdesk.HelpdeskturmabApplication;
+import com.turmab.helpdesk.config.CargaConfig;
+import com.turmab.helpdesk.service.DBService;
+
+/**
+ * Teste de carga HTTP: sobe a aplicação no perfil {@code carga} (H2 em arquivo no modo
+ * MySQL, populado por {@link DBService}, veja {@link CargaConfig}), autentica usuários virtuais em {@code /login}
+ * e mede a vazão e os percentis de latência (HdrHistogram) de cada operação.
+ *
+ * <p>Cada usuário virtual é um técnico diferente e repete, sem pausa, uma operação
+ * sorteada pelo peso de {@code mix}:</p>
+ * <ul>
+ *   <li>{@code listar}: página de 20 chamados de um status, a partir de um ID sorteado ({@code POST /graphql});</li>
+ *   <li>{@code detalhe}: {@code GET /chamados/{id}};</li>
+ *   <li>{@code criar}: {@code POST /chamados};</li>
+ *   <li>{@code atualizar}: {@code PUT /chamados/{id}} com título, observações e prioridade novos;</li>
+ *   <li>{@code assumir}: {@code PATCH /chamados/{id}}, passando o chamado para o técnico do usuário, em andamento.</li>
+ * </ul>
+ *
+ * <p>Como cada usuário só envia a próxima requisição depois da resposta, os percentis
+ * subestimam a latência de uma carga de chegada constante quando o servidor satura.
+ * Respostas que não são 2xx (412, 404 etc.) contam como erro da operação. Com o
+ * perfil {@code carga} do Maven:</p>
+ *
+ * <pre>
+ * mvn -Pcarga verify -DskipTests -Dcarga.usuarios=64 -Dcarga.segundos=120
+ * </pre>
+ *
+ * <p>Ou, depois de {@code mvn test-compile}, como os outros benchmarks:</p>
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Dusuarios=32 -Dsegundos=60 \
+ *      -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.turmab.helpdesk.benchmark.CargaHttp
+ * </pre>
+ *
+ * <p>Propriedades: {@code usuarios} (concorrência, padrão 32), {@code segundos} (duração
+ * da medição, padrão 60), {@code aquecimento} (segundos antes da medição, padrão 15) e
+ * {@code mix} (pesos, padrão {@code listar=35,detalhe=35,criar=10,atualizar=10,assumir=10}).
+ * O tamanho da base vem de {@code helpdesk.dados.*}, que pode ser passado como
+ * propriedade do sistema. Não é executado pelos testes.</p>
+ *
+ * @author Gustavo Barros
+ */
+public class CargaHttp {
+
+	private static final String[] OPERACOES = { "listar", "detalhe", "criar", "atualizar", "assumir" };
+
+	private static final long LATENCIA_MAXIMA_NS = 60_000_000_000L;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+	private final String base;
+	private final int maiorId;
+	private final int clientes;
+	private final int[] pesos = new int[OPERACOES.length];
+	private final Recorder[] latencias = new Recorder[OPERACOES.length];
+	private final LongAdder[] erros = new LongAdder[OPERACOES.length];
+
+	private CargaHttp(String base, int maiorId, int clientes, String mix) {
+		this.base = base;
+		this.maiorId = maiorId;
+		this.clientes = clientes;
+		for (String item : mix.split(",")) {
+			String[] partes = item.trim().split("=");
+			pesos[indice(partes[0])] = Integer.parseInt(partes[1]);
+		}
+		for (int i = 0; i < OPERACOES.length; i++) {
+			latencias[i] = new Recorder(LATENCIA_MAXIMA_NS, 3);
+			erros[i] = new LongAdder();
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int usuarios = Integer.parseInt(System.getProperty("usuarios", "32"));
+		long segundos = Long.parseLong(System.getProperty("segundos", "60"));
+		long aquecimento = Long.parseLong(System.getProperty("aquecimento", "15"));
+		String mix = System.getProperty("mix", "listar=35,detalhe=35,criar=10,atualizar=10,assumir=10");
+
+		// Sem o reinício do devtools, que executaria a aplicação em outra thread e classloader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext contexto = SpringApplication.run(HelpdeskturmabApplication.class,
+				"--spring.profiles.active=carga", "--server.port=" + System.getProperty("porta", "0"));
+		try {
+			JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+			int maiorId = jdbc.queryForObject("select max(id) from chamado", Integer.class);
+			List<Integer> idsClientes = jdbc.queryForList("select id from pessoa where dtype = 'Cliente'", Integer.class);
+			List<Map<String, Object>> tecnicos = jdbc.queryForList(
+					"select id, email from pessoa where dtype = 'Tecnico' order by id limit ?", usuarios);
+			if (tecnicos.size() < usuarios) {
+				throw new IllegalStateException("Há só " + tecnicos.size() + " técnicos para " + usuarios + " usuários");
+			}
+
+			String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+			CargaHttp carga = new CargaHttp(base, maiorId, idsClientes.size(), mix);
+			List<Usuario> lista = new ArrayList<>();
+			for (Map<String, Object> tecnico : tecnicos) {
+				lista.add(carga.new Usuario(((Number) tecnico.get("id")).intValue(), carga.login((String) tecnico.get("email")),
+						idsClientes));
+			}
+			System.out.printf("%d usuários autenticados; base com %d chamados; aquecimento de %d s%n", usuarios, maiorId,
+					aquecimento);
+			carga.executa(lista, aquecimento, segundos);
+		} finally {
+			contexto.close();
+		}
+	}
+
+	private void executa(List<Usuario> usuarios, long aquecimento, long segundos) throws InterruptedException {
+		long fimAquecimento = System.nanoTime() + aquecimento * 1_000_000_000L;
+		long fim = fimAquecimento + segundos * 1_000_000_000L;
+		CountDownLatch terminados = new CountDownLatch(usuarios.size());
+		for (Usuario usuario : usuarios) {
+			Thread thread = new Thread(() -> {
+				try {
+					usuario.executa(fim);
+				} finally {
+					terminados.countDown();
+				}
+			}, "carga-" + usuario.tecnico);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		Thread.sleep(Math.max(0, (fimAquecimento - System.nanoTime()) / 1_000_000));
+		Histogram[] medidos = new Histogram[OPERACOES.length];
+		long[] errosAntes = new long[OPERACOES.length];
+		for (int i = 0; i < OPERACOES.length; i++) {
+			latencias[i].getIntervalHistogram();
+			errosAntes[i] = erros[i].sum();
+		}
+		long inicio = System.nanoTime();
+		terminados.await();
+		double duracao = (System.nanoTime() - inicio) / 1e9;
+
+		Histogram total = new Histogram(LATENCIA_MAXIMA_NS, 3);
+		System.out.printf("%n%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n", "Operação", "Requisições", "Erros", "Req/s",
+				"p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+		for (int i = 0; i < OPERACOES.length; i++) {
+			medidos[i] = latencias[i].getIntervalHistogram();
+			total.add(medidos[i]);
+			imprime(OPERACOES[i], medidos[i], erros[i].sum() - errosAntes[i], duracao);
+		}
+		imprime("total", total, -1, duracao);
+	}
+
+	private static void imprime(String nome, Histogram h, long erros, double duracao) {
+		System.out.printf("%-10s %11d %8s %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", nome, h.getTotalCount(),
+				erros < 0 ? "" : String.valueOf(erros), h.getTotalCount() / duracao, ms(h, 50), ms(h, 90), ms(h, 99),
+				ms(h, 99.9), h.getTotalCount() > 0 ? h.getMaxValue() / 1e6 : 0);
+	}
+
+	private static double ms(Histogram h, double percentil) {
+		return h.getTotalCount() > 0 ? h.getValueAtPercentile(percentil) / 1e6 : 0;
+	}
+
+	private String login(String email) throws Exception {
+		HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"email\":\"" + email + "\",\"senha\":\"" + DBService.SENHA + "\"}"))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		return resposta.headers().firstValue("Authorization")
+				.orElseThrow(() -> new IllegalStateException("Login recusado para " + email + ": " + resposta.statusCode()));
+	}
+
+	private static int indice(String operacao) {
+		for (int i = 0; i < OPERACOES.length; i++) {
+			if (OPERACOES[i].equals(operacao)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Operação desconhecida no mix: " + operacao);
+	}
+
+	/** Usuário virtual: um técnico autenticado que envia requisições em sequência. */
+	private class Usuario {
+
+		private final int tecnico;
+		private final String token;
+		private final List<Integer> idsClientes;
+		private final int somaPesos;
+
+		Usuario(int tecnico, String token, List<Integer> idsClientes) {
+			this.tecnico = tecnico;
+			this.token = token;
+			this.idsClientes = idsClientes;
+			int soma = 0;
+			for (int peso : pesos) {
+				soma += peso;
+			}
+			this.somaPesos = soma;
+		}
+
+		void executa(long fim) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			while (System.nanoTime() < fim) {
+				int operacao = sorteia(random.nextInt(somaPesos));
+				HttpRequest requisicao = requisicao(operacao, random);
+				long inicio = System.nanoTime();
+				int status;
+				try {
+					status = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+				} catch (Exception e) {
+					status = -1;
+				}
+				latencias[operacao].recordValue(Math.min(System.nanoTime() - inicio, LATENCIA_MAXIMA_NS));
+				if (status < 200 || status >= 300) {
+					erros[operacao].increment();
+				}
+			}
+		}
+
+		private int sorteia(int sorteio) {
+			for (int i = 0; i < pesos.length; i++) {
+				sorteio -= pesos[i];
+				if (sorteio < 0) {
+					return i;
+				}
+			}
+			return pesos.length - 1;
+		}
+
+		private HttpRequest requisicao(int operacao, ThreadLocalRandom random) {
+			int id = 1 + random.nextInt(maiorId);
+			switch (OPERACOES[operacao]) {
+			case "listar":
+				return json("/graphql", "POST", "{\"query\":\"{ chamados(status: " + random.nextInt(3) + ", aposId: "
+						+ random.nextInt(maiorId) + ", limite: 20) { id titulo status prioridade tecnico { nome } "
+						+ "cliente { nome } } }\"}");
+			case "detalhe":
+				return HttpRequest.newBuilder(URI.create(base + "/chamados/" + id)).header("Authorization", token).GET()
+						.build();
+			case "criar":
+				return json("/chamados", "POST", chamado(null, random));
+			case "atualizar":
+				return json("/chamados/" + id, "PUT", chamado(id, random));
+			default:
+				return HttpRequest.newBuilder(URI.create(base + "/chamados/" + id))
+						.header("Authorization", token)
+						.header("Content-Type", "application/merge-patch+json")
+						.method("PATCH", HttpRequest.BodyPublishers.ofString("{\"tecnico\":" + tecnico + ",\"status\":1}"))
+						.build();
+			}
+		}
+
+		private String chamado(Integer id, ThreadLocalRandom random) {
+			return "{" + (id != null ? "\"id\":" + id + "," : "") + "\"prioridade\":" + random.nextInt(3)
+					+ ",\"status\":" + (id != null ? 1 : 0) + ",\"titulo\":\"Carga " + random.nextInt(1_000_000)
+					+ "\",\"observacoes\":\"Gerado pelo teste de carga\",\"tecnico\":" + tecnico + ",\"cliente\":"
+					+ idsClientes.get(random.nextInt(clientes)) + "}";
+		}
+
+		private HttpRequest json(String caminho, String metodo, String corpo) {
+			return HttpRequest.newBuilder(URI.create(base + caminho))
+					.header("Authorization", token)
+					.header("Content-Type", "application/json")
+					.method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+					.build();
+		}
+	}
+}
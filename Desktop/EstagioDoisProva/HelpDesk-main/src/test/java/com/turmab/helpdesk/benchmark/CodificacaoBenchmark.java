@@ -0,0 +1,135 @@
+package com.turmab.helpdesk.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.turmab.helpdesk.config.JacksonConfig;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+
+/**
+ * Benchmark de tamanho e de tempo de serialização/leitura de páginas de {@link ChamadoDTO}
+ * em JSON, Smile e CBOR.
+ *
+ * <p>Os {@code ObjectMapper}s são montados como na aplicação ({@link JacksonConfig}); as
+ * páginas são geradas com semente fixa, com títulos, observações e nomes de tamanhos
+ * variados. Para cada tamanho de página e formato, informa os bytes e o tempo médio por
+ * página para escrever e para ler. Depois de {@code mvn test-compile}:</p>
+ *
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Dpaginas=20,100,1000 -Dsegundos=2 \
+ *      -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.turmab.helpdesk.benchmark.CodificacaoBenchmark
+ * </pre>
+ *
+ * <p>Propriedades: {@code paginas} (tamanhos de página, padrão {@code 20,100,1000}),
+ * {@code segundos} (duração de cada medição, padrão 2) e {@code observacoes} (inclui as
+ * observações, padrão {@code true}). Não é executado pelos testes.</p>
+ *
+ * @author Gustavo Barros
+ */
+public class CodificacaoBenchmark {
+
+	private static final TypeReference<List<ChamadoDTO>> PAGINA = new TypeReference<List<ChamadoDTO>>() {
+	};
+
+	private static final String[] PALAVRAS = { "impressora", "rede", "senha", "acesso", "sistema", "lento", "erro",
+			"travando", "e-mail", "VPN", "monitor", "teclado", "atualização", "backup", "servidor", "licença" };
+
+	public static void main(String[] args) throws Exception {
+		String[] paginas = System.getProperty("paginas", "20,100,1000").split(",");
+		long duracao = (long) (Double.parseDouble(System.getProperty("segundos", "2")) * 1e9);
+		boolean observacoes = Boolean.parseBoolean(System.getProperty("observacoes", "true"));
+
+		String[] nomes = { "JSON", "Smile", "CBOR" };
+		ObjectMapper[] mappers = { mapper(new JsonFactory()), mapper(new SmileFactory()), mapper(new CBORFactory()) };
+
+		System.out.printf("%-8s %-6s %10s %8s %14s %14s%n", "Página", "Formato", "Bytes", "% JSON", "Escrita (µs)",
+				"Leitura (µs)");
+		for (String p : paginas) {
+			List<ChamadoDTO> pagina = pagina(Integer.parseInt(p.trim()), observacoes);
+			int bytesJson = 0;
+			for (int f = 0; f < mappers.length; f++) {
+				ObjectMapper mapper = mappers[f];
+				byte[] bytes = mapper.writeValueAsBytes(pagina);
+				if (!mapper.readValue(bytes, PAGINA).get(0).getTitulo().equals(pagina.get(0).getTitulo())) {
+					throw new IllegalStateException("Leitura divergente em " + nomes[f]);
+				}
+				if (f == 0) {
+					bytesJson = bytes.length;
+				}
+				double escrita = mede(duracao, () -> mapper.writeValueAsBytes(pagina));
+				double leitura = mede(duracao, () -> mapper.readValue(bytes, PAGINA));
+				System.out.printf("%-8s %-7s %10d %7.0f%% %14.1f %14.1f%n", p.trim(), nomes[f], bytes.length,
+						100.0 * bytes.length / bytesJson, escrita / 1e3, leitura / 1e3);
+			}
+		}
+	}
+
+	private static ObjectMapper mapper(JsonFactory factory) {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().factory(factory);
+		new JacksonConfig().filtroPadrao().customize(builder);
+		return builder.build();
+	}
+
+	/** Gera uma página de chamados com semente fixa. */
+	private static List<ChamadoDTO> pagina(int tamanho, boolean observacoes) {
+		Random random = new Random(42);
+		List<ChamadoDTO> pagina = new ArrayList<>(tamanho);
+		LocalDate hoje = LocalDate.of(2026, 1, 1);
+		for (int i = 1; i <= tamanho; i++) {
+			ChamadoDTO dto = new ChamadoDTO();
+			dto.setId(i);
+			dto.setDataAbertura(hoje.minusDays(random.nextInt(365)));
+			dto.setDataFechamento(random.nextBoolean() ? dto.getDataAbertura().plusDays(random.nextInt(30)) : null);
+			dto.setPrioridade(random.nextInt(3));
+			dto.setStatus(random.nextInt(3));
+			dto.setTitulo(texto(random, 3 + random.nextInt(6)));
+			dto.setObservacoes(observacoes ? texto(random, 10 + random.nextInt(60)) : null);
+			dto.setTecnico(1 + random.nextInt(20));
+			dto.setCliente(1 + random.nextInt(500));
+			dto.setNomeTecnico("Técnico " + dto.getTecnico());
+			dto.setNomeCliente("Cliente da Silva " + dto.getCliente());
+			pagina.add(dto);
+		}
+		return pagina;
+	}
+
+	private static String texto(Random random, int palavras) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < palavras; i++) {
+			sb.append(i > 0 ? " " : "").append(PALAVRAS[random.nextInt(PALAVRAS.length)]);
+		}
+		return sb.toString();
+	}
+
+	private interface Operacao {
+		Object executa() throws Exception;
+	}
+
+	/** Executa a operação repetidamente (após um aquecimento) e retorna o tempo médio em ns. */
+	private static double mede(long duracao, Operacao operacao) throws Exception {
+		long fim = System.nanoTime() + duracao / 2;
+		while (System.nanoTime() < fim) {
+			operacao.executa();
+		}
+		long execucoes = 0;
+		long inicio = System.nanoTime();
+		fim = inicio + duracao;
+		long agora;
+		do {
+			operacao.executa();
+			execucoes++;
+		} while ((agora = System.nanoTime()) < fim);
+		return (double) (agora - inicio) / execucoes;
+	}
+}
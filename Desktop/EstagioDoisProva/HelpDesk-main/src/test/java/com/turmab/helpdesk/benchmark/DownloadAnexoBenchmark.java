@@ -0,0 +1,136 @@
+package com.turmab.helpdesk.benchmark;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de vazão para downloads concorrentes de anexos grandes.
+ *
+ * <p>Com a aplicação em execução, envia um anexo aleatório para um chamado existente,
+ * faz downloads simultâneos dele e informa a vazão total e a latência por download.
+ * Usa apenas o JDK; depois de {@code mvn test-compile}:</p>
+ *
+ * <pre>
+ * java -Dclientes=8 -Drepeticoes=4 -Dtamanho-mb=64 \
+ *      -cp target/test-classes com.turmab.helpdesk.benchmark.DownloadAnexoBenchmark
+ * </pre>
+ *
+ * <p>Propriedades: {@code base} (padrão {@code http://localhost:8080}), {@code email},
+ * {@code senha}, {@code chamado} (padrão 1), {@code tamanho-mb}, {@code clientes} e
+ * {@code repeticoes} (downloads por cliente). Não é executado pelos testes.</p>
+ *
+ * @author Gustavo Barros
+ */
+public class DownloadAnexoBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		String base = System.getProperty("base", "http://localhost:8080");
+		String email = System.getProperty("email", "bill@mail.com");
+		String senha = System.getProperty("senha", "123");
+		int chamado = Integer.getInteger("chamado", 1);
+		int tamanhoMb = Integer.getInteger("tamanho-mb", 64);
+		int clientes = Integer.getInteger("clientes", 8);
+		int repeticoes = Integer.getInteger("repeticoes", 4);
+
+		HttpClient http = HttpClient.newHttpClient();
+		HttpResponse<Void> login = http.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+				.POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"senha\":\"" + senha + "\"}"))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		String token = login.headers().firstValue("Authorization")
+				.orElseThrow(() -> new IllegalStateException("Login falhou: HTTP " + login.statusCode()));
+
+		Path arquivo = Files.createTempFile("benchmark-anexo", ".bin");
+		try {
+			Random random = new Random(42);
+			byte[] bloco = new byte[1024 * 1024];
+			try (OutputStream out = Files.newOutputStream(arquivo)) {
+				for (int i = 0; i < tamanhoMb; i++) {
+					random.nextBytes(bloco);
+					out.write(bloco);
+				}
+			}
+			HttpResponse<String> envio = http.send(HttpRequest.newBuilder(
+					URI.create(base + "/chamados/" + chamado + "/anexos?nome=benchmark.bin"))
+					.header("Authorization", token).header("Content-Type", "application/octet-stream")
+					.POST(HttpRequest.BodyPublishers.ofFile(arquivo)).build(), HttpResponse.BodyHandlers.ofString());
+			Matcher m = Pattern.compile("\"id\":(\\d+)").matcher(envio.body());
+			if (envio.statusCode() != 201 || !m.find()) {
+				throw new IllegalStateException("Envio falhou: HTTP " + envio.statusCode() + " " + envio.body());
+			}
+			URI download = URI.create(base + "/chamados/" + chamado + "/anexos/" + m.group(1));
+
+			try {
+				executa(http, token, download, 1, 1);
+				System.out.printf("Anexo de %d MB, %d clientes x %d downloads%n", tamanhoMb, clientes, repeticoes);
+				executa(http, token, download, clientes, repeticoes);
+			} finally {
+				http.send(HttpRequest.newBuilder(download).header("Authorization", token).DELETE().build(),
+						HttpResponse.BodyHandlers.discarding());
+			}
+		} finally {
+			Files.deleteIfExists(arquivo);
+		}
+	}
+
+	private static void executa(HttpClient http, String token, URI download, int clientes, int repeticoes)
+			throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(clientes);
+		List<Future<long[]>> resultados = new ArrayList<>();
+		long inicio = System.nanoTime();
+		for (int c = 0; c < clientes; c++) {
+			resultados.add(executor.submit(() -> {
+				long[] medidas = new long[repeticoes + 1];
+				byte[] buffer = new byte[64 * 1024];
+				for (int r = 0; r < repeticoes; r++) {
+					long t = System.nanoTime();
+					HttpResponse<InputStream> resposta = http.send(HttpRequest.newBuilder(download)
+							.header("Authorization", token).build(), HttpResponse.BodyHandlers.ofInputStream());
+					try (InputStream in = resposta.body()) {
+						int lidos;
+						while ((lidos = in.read(buffer)) != -1) {
+							medidas[repeticoes] += lidos;
+						}
+					}
+					medidas[r] = System.nanoTime() - t;
+				}
+				return medidas;
+			}));
+		}
+		long bytes = 0;
+		List<Long> latencias = new ArrayList<>();
+		for (Future<long[]> f : resultados) {
+			long[] medidas = f.get();
+			bytes += medidas[repeticoes];
+			for (int r = 0; r < repeticoes; r++) {
+				latencias.add(medidas[r]);
+			}
+		}
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+		executor.shutdown();
+
+		if (clientes * repeticoes > 1) {
+			long[] ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(ordenadas);
+			System.out.printf("Total: %.1f MB em %.2f s = %.1f MB/s%n", bytes / 1048576.0, segundos,
+					bytes / 1048576.0 / segundos);
+			System.out.printf("Latência por download: p50 %.0f ms, p99 %.0f ms, máx %.0f ms%n",
+					ordenadas[ordenadas.length / 2] / 1e6, ordenadas[(int) (ordenadas.length * 0.99)] / 1e6,
+					ordenadas[ordenadas.length - 1] / 1e6);
+		}
+	}
+}
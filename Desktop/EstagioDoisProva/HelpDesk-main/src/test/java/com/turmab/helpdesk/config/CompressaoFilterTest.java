@@ -0,0 +1,254 @@
+package com.turmab.helpdesk.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Decisão de comprimir do {@link CompressaoFilter}: limite de tamanho, respostas parciais,
+ * ETags, sendfile, requisições assíncronas e escrita não bloqueante.
+ *
+ * @author Gustavo Barros
+ */
+class CompressaoFilterTest {
+
+	private static final int LIMITE = 1024;
+
+	private final CompressaoFilter filtro = new CompressaoFilter();
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/chamados");
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@BeforeEach
+	void configura() {
+		ReflectionTestUtils.setField(filtro, "habilitada", true);
+		ReflectionTestUtils.setField(filtro, "tamanhoMinimo", LIMITE);
+		ReflectionTestUtils.setField(filtro, "nivel", 6);
+		ReflectionTestUtils.setField(filtro, "tipos", MediaType.parseMediaTypes("application/json,text/*"));
+		filtro.inicializa();
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+	}
+
+	private static byte[] corpo(int tamanho) {
+		byte[] corpo = new byte[tamanho];
+		for (int i = 0; i < tamanho; i++) {
+			corpo[i] = (byte) ('a' + i % 26);
+		}
+		return corpo;
+	}
+
+	private static FilterChain escreve(String tipo, byte[] corpo) {
+		return (req, resp) -> {
+			resp.setContentType(tipo);
+			resp.getOutputStream().write(corpo);
+		};
+	}
+
+	private static byte[] descomprime(byte[] gzip) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			return in.readAllBytes();
+		}
+	}
+
+	@Test
+	void abaixoDoLimiteSemCompressaoComContentLength() throws Exception {
+		byte[] corpo = corpo(LIMITE - 1);
+		filtro.doFilter(request, response, escreve("application/json", corpo));
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(LIMITE - 1, response.getContentLength());
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+		assertEquals(1, filtro.estatisticas().getRespostasAbaixoDoLimite());
+		assertEquals(0, filtro.estatisticas().getRespostasComprimidas());
+	}
+
+	@Test
+	void noLimiteComprimido() throws Exception {
+		byte[] corpo = corpo(LIMITE * 8);
+		filtro.doFilter(request, response, escreve("application/json", corpo));
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+		assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+		assertArrayEquals(corpo, descomprime(response.getContentAsByteArray()));
+		assertEquals(1, filtro.estatisticas().getRespostasComprimidas());
+		assertEquals(corpo.length, filtro.estatisticas().getBytesOriginais());
+		assertEquals(response.getContentAsByteArray().length, filtro.estatisticas().getBytesComprimidos());
+	}
+
+	@Test
+	void tamanhoDeclaradoAbaixoDoLimiteNaoAcumula() throws Exception {
+		byte[] corpo = corpo(100);
+		filtro.doFilter(request, response, (req, resp) -> {
+			resp.setContentType("text/plain");
+			resp.setContentLength(corpo.length);
+			resp.getOutputStream().write(corpo);
+		});
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(corpo.length, response.getContentLength());
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void tipoNaoCompressivelInalterado() throws Exception {
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(request, response, escreve("image/png", corpo));
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void semAcceptEncodingInalterado() throws Exception {
+		MockHttpServletRequest semGzip = new MockHttpServletRequest("GET", "/chamados");
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(semGzip, response, escreve("application/json", corpo));
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void respostaParcialInalterada() throws Exception {
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(request, response, (req, resp) -> {
+			HttpServletResponse http = (HttpServletResponse) resp;
+			http.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+			http.setHeader(HttpHeaders.CONTENT_RANGE, "bytes 0-" + (corpo.length - 1) + "/" + corpo.length * 2);
+			http.setContentType("text/plain");
+			http.setContentLengthLong(corpo.length);
+			http.getOutputStream().write(corpo);
+		});
+
+		assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(corpo.length, response.getContentLength());
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void etagForteSemCompressao() throws Exception {
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(request, response, (req, resp) -> {
+			((HttpServletResponse) resp).setHeader(HttpHeaders.ETAG, "\"3\"");
+			resp.setContentType("application/json");
+			resp.getOutputStream().write(corpo);
+		});
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("\"3\"", response.getHeader(HttpHeaders.ETAG));
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void etagFracaComprimida() throws Exception {
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(request, response, (req, resp) -> {
+			((HttpServletResponse) resp).setHeader(HttpHeaders.ETAG, "W/\"3\"");
+			resp.setContentType("application/json");
+			resp.getOutputStream().write(corpo);
+		});
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("W/\"3\"", response.getHeader(HttpHeaders.ETAG));
+		assertArrayEquals(corpo, descomprime(response.getContentAsByteArray()));
+	}
+
+	@Test
+	void sendfileMantemContentLengthSemCorpo() throws Exception {
+		// como AnexoResource: declara o tamanho e deixa a cópia para o Tomcat
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		filtro.doFilter(request, response, (req, resp) -> {
+			resp.setContentType("text/plain");
+			resp.setContentLengthLong(LIMITE * 4);
+			req.setAttribute("org.apache.tomcat.sendfile.filename", "/tmp/anexo.txt");
+		});
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(LIMITE * 4, response.getContentLength());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void assincronoConcluidoNoUltimoDespacho() throws Exception {
+		byte[] corpo = corpo(LIMITE * 4);
+		request.setAsyncSupported(true);
+		filtro.doFilter(request, response, (req, resp) -> {
+			req.startAsync(req, resp);
+			resp.setContentType("application/json");
+			resp.getOutputStream().write(corpo, 0, LIMITE / 2);
+		});
+		// ainda acumulando: nada foi enviado nem concluído
+		assertEquals(0, response.getContentAsByteArray().length);
+
+		HttpServletResponse embrulhada = (HttpServletResponse) request.getAsyncContext().getResponse();
+		request.setAsyncStarted(false);
+		filtro.doFilter(request, embrulhada, (req, resp) -> {
+			assertSame(embrulhada, resp);
+			resp.getOutputStream().write(corpo, LIMITE / 2, corpo.length - LIMITE / 2);
+		});
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(corpo, descomprime(response.getContentAsByteArray()));
+		assertEquals(1, filtro.estatisticas().getRespostasComprimidas());
+	}
+
+	@Test
+	void escritaNaoBloqueanteSemCompressao() throws Exception {
+		WriteListener[] registrado = new WriteListener[1];
+		ServletOutputStream saida = new DelegatingServletOutputStream(response.getOutputStream()) {
+			@Override
+			public void setWriteListener(WriteListener listener) {
+				registrado[0] = listener;
+			}
+		};
+		HttpServletResponse naoBloqueante = new HttpServletResponseWrapper(response) {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return saida;
+			}
+		};
+		WriteListener listener = new WriteListener() {
+			@Override
+			public void onWritePossible() {
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+		};
+		byte[] corpo = corpo(LIMITE * 4);
+		filtro.doFilter(request, naoBloqueante, (req, resp) -> {
+			resp.setContentType("application/json");
+			ServletOutputStream out = resp.getOutputStream();
+			out.setWriteListener(listener);
+			assertTrue(out.isReady());
+			out.write(corpo);
+		});
+
+		assertSame(listener, registrado[0]);
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(corpo, response.getContentAsByteArray());
+	}
+}
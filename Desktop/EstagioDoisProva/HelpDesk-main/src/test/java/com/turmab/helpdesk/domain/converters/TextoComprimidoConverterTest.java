@@ -0,0 +1,88 @@
+package com.turmab.helpdesk.domain.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Formato gravado por {@link TextoComprimidoConverter} e leitura dos valores legados.
+ *
+ * @author Gustavo Barros
+ */
+class TextoComprimidoConverterTest {
+
+	private final TextoComprimidoConverter converter = new TextoComprimidoConverter();
+
+	private static String repete(String trecho, int bytes) {
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < bytes) {
+			sb.append(trecho);
+		}
+		return sb.toString();
+	}
+
+	@Test
+	void nulo() {
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null));
+	}
+
+	@Test
+	void textoAbaixoDoLimiteNaoEComprimido() {
+		String texto = "Impressora não imprime após atualização";
+		byte[] gravado = converter.convertToDatabaseColumn(texto);
+		assertEquals(0, gravado[0]);
+		assertEquals(texto.getBytes(StandardCharsets.UTF_8).length + 1, gravado.length);
+		assertEquals(texto, converter.convertToEntityAttribute(gravado));
+		assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+	}
+
+	@Test
+	void textoAcimaDoLimiteEComprimido() {
+		String texto = repete("usuário relata erro ao abrir o sistema; ", TextoComprimidoConverter.LIMITE * 4);
+		byte[] gravado = converter.convertToDatabaseColumn(texto);
+		assertEquals(1, gravado[0]);
+		assertTrue(gravado.length < texto.length() / 2);
+		assertEquals(texto, converter.convertToEntityAttribute(gravado));
+	}
+
+	@Test
+	void limiteEmBytesUtf8() {
+		String abaixo = "a".repeat(TextoComprimidoConverter.LIMITE - 1);
+		assertEquals(0, converter.convertToDatabaseColumn(abaixo)[0]);
+		assertEquals(abaixo, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(abaixo)));
+
+		// 256 caracteres de 2 bytes: alcança o limite em bytes, não em caracteres
+		String noLimite = "ã".repeat(TextoComprimidoConverter.LIMITE / 2);
+		assertEquals(1, converter.convertToDatabaseColumn(noLimite)[0]);
+		assertEquals(noLimite, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(noLimite)));
+	}
+
+	@Test
+	void valorLegadoSemCabecalhoELidoInteiro() {
+		String texto = "Primeiro chamado";
+		assertEquals(texto, converter.convertToEntityAttribute(texto.getBytes(StandardCharsets.UTF_8)));
+		assertEquals("Árvore", converter.convertToEntityAttribute("Árvore".getBytes(StandardCharsets.UTF_8)));
+		assertEquals("", converter.convertToEntityAttribute(new byte[0]));
+	}
+
+	@Test
+	void deflateTruncadoFalha() {
+		byte[] gravado = converter.convertToDatabaseColumn(repete("backup do servidor falhou; ", 4096));
+		assertThrows(IllegalStateException.class,
+				() -> converter.convertToEntityAttribute(Arrays.copyOf(gravado, gravado.length / 2)));
+		assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(new byte[] { 1 }));
+	}
+
+	@Test
+	void deflateInvalidoFalha() {
+		assertThrows(IllegalStateException.class,
+				() -> converter.convertToEntityAttribute(new byte[] { 1, (byte) 0xFF, (byte) 0xFF, 0x13, 0x37 }));
+	}
+}
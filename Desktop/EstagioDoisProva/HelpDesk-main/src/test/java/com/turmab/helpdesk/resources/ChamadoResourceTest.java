@@ -0,0 +1,235 @@
+package com.turmab.helpdesk.resources;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.servlet.Filter;
+
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.turmab.helpdesk.config.ContadorSql;
+import com.turmab.helpdesk.repositories.ChamadoArquivadoRepository;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.sql.ContadorSqlExtension;
+
+/**
+ * Comportamento dos endpoints de escrita e leitura condicional de chamados: PATCH parcial,
+ * {@code If-None-Match}, {@code If-Match}, leitura do arquivo e visibilidade na busca.
+ * Cada teste cria os seus chamados, sem depender da base gerada.
+ *
+ * @author Gustavo Barros
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(ContadorSqlExtension.class)
+class ChamadoResourceTest {
+
+	private static final String MERGE_PATCH = "application/merge-patch+json";
+
+	/** Tempo máximo de espera pela busca, acima de {@code helpdesk.busca.atraso-maximo-ms}. */
+	private static final long ESPERA_BUSCA_MS = 5000;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	@Qualifier("springSecurityFilterChain")
+	private Filter springSecurityFilterChain;
+
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	@Autowired
+	private ChamadoArquivadoRepository arquivadoRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private MockMvc mvc;
+
+	private String token;
+
+	@BeforeEach
+	void login() throws Exception {
+		mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+		token = mvc.perform(post("/login").content("{\"email\":\"bill@mail.com\",\"senha\":\"123\"}"))
+				.andReturn().getResponse().getHeader("Authorization");
+	}
+
+	private MockHttpServletRequestBuilder autenticada(MockHttpServletRequestBuilder requisicao) {
+		return requisicao.header("Authorization", token);
+	}
+
+	/** Cria um chamado aberto do técnico 1 e do cliente 2 e retorna o seu ID. */
+	private int cria(String titulo) throws Exception {
+		MvcResult resultado = mvc.perform(autenticada(post("/chamados")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":0,\"status\":0,\"titulo\":\"" + titulo
+						+ "\",\"observacoes\":\"Observação original\",\"tecnico\":1,\"cliente\":2}"))
+				.andExpect(status().isCreated()).andReturn();
+		String location = resultado.getResponse().getHeader(HttpHeaders.LOCATION);
+		return Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+	}
+
+	private String etag(int id) throws Exception {
+		return mvc.perform(autenticada(get("/chamados/" + id))).andExpect(status().isOk()).andReturn()
+				.getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	/** Repete a busca até o resultado satisfazer o critério, dentro do atraso máximo do índice. */
+	private void aguardaBusca(String q, Matcher<Iterable<? super Integer>> criterio) throws Exception {
+		long limite = System.currentTimeMillis() + ESPERA_BUSCA_MS;
+		while (true) {
+			try {
+				mvc.perform(autenticada(get("/chamados/search").param("q", q)))
+						.andExpect(jsonPath("$.content[*].id", criterio));
+				return;
+			} catch (AssertionError e) {
+				if (System.currentTimeMillis() > limite) {
+					throw e;
+				}
+				Thread.sleep(50);
+			}
+		}
+	}
+
+	@Test
+	void patchAlteraSoOsCamposEnviados(ContadorSql.Contagem sql) throws Exception {
+		int id = cria("Impressora sem toner");
+
+		sql.zera();
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH).content("{\"prioridade\":2}"))
+				.andExpect(status().isOk());
+
+		List<String> atualizacoes = sql.getPorForma().keySet().stream()
+				.filter(forma -> forma.startsWith("update chamado ")).collect(Collectors.toList());
+		assertEquals(1, atualizacoes.size(), () -> "Instruções SQL executadas: " + sql.getPorForma());
+		String update = atualizacoes.get(0);
+		assertTrue(update.contains("prioridade=?"), update);
+		assertTrue(!update.contains("titulo") && !update.contains("observacoes") && !update.contains("status"), update);
+
+		mvc.perform(autenticada(get("/chamados/" + id))).andExpect(jsonPath("$.prioridade").value(2))
+				.andExpect(jsonPath("$.status").value(0)).andExpect(jsonPath("$.titulo").value("Impressora sem toner"))
+				.andExpect(jsonPath("$.observacoes").value("Observação original"))
+				.andExpect(jsonPath("$.tecnico").value(1)).andExpect(jsonPath("$.cliente").value(2));
+	}
+
+	@Test
+	void patchComCodigoInvalidoRecusado() throws Exception {
+		int id = cria("Monitor piscando");
+
+		for (String corpo : List.of("{\"prioridade\":7}", "{\"status\":2.7}", "{\"status\":\"2\"}",
+				"{\"prioridade\":99999999999}")) {
+			mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH).content(corpo))
+					.andExpect(status().isBadRequest());
+		}
+		mvc.perform(autenticada(get("/chamados/" + id))).andExpect(jsonPath("$.prioridade").value(0))
+				.andExpect(jsonPath("$.status").value(0));
+	}
+
+	@Test
+	void ifNoneMatchAtualRetorna304() throws Exception {
+		int id = cria("Teclado sem resposta");
+		String etag = etag(id);
+
+		mvc.perform(autenticada(get("/chamados/" + id)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified()).andExpect(content().string(""));
+
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH).content("{\"prioridade\":1}"))
+				.andExpect(status().isOk());
+		mvc.perform(autenticada(get("/chamados/" + id)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	void ifMatchDesatualizadoRetorna412() throws Exception {
+		int id = cria("Rede lenta no setor");
+		String antiga = etag(id);
+
+		String atual = mvc.perform(autenticada(patch("/chamados/" + id)).header(HttpHeaders.IF_MATCH, antiga)
+				.contentType(MERGE_PATCH).content("{\"prioridade\":1}")).andExpect(status().isOk()).andReturn()
+				.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(autenticada(patch("/chamados/" + id)).header(HttpHeaders.IF_MATCH, antiga)
+				.contentType(MERGE_PATCH).content("{\"prioridade\":2}")).andExpect(status().isPreconditionFailed());
+		mvc.perform(autenticada(delete("/chamados/" + id)).header(HttpHeaders.IF_MATCH, antiga))
+				.andExpect(status().isPreconditionFailed());
+		mvc.perform(autenticada(get("/chamados/" + id))).andExpect(jsonPath("$.prioridade").value(1))
+				.andExpect(header().string(HttpHeaders.ETAG, atual));
+	}
+
+	@Test
+	void chamadoArquivadoEncontradoPeloId() throws Exception {
+		int id = cria("Licença expirada");
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH).content("{\"status\":2}"))
+				.andExpect(status().isOk());
+		String etag = etag(id);
+
+		// como ArquivamentoService, só para este chamado
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			arquivadoRepository.copiaDeChamado(List.of(id), LocalDate.now());
+			chamadoRepository.deleteByIdIn(List.of(id));
+		});
+
+		mvc.perform(autenticada(get("/chamados/" + id))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.titulo").value("Licença expirada")).andExpect(jsonPath("$.status").value(2))
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		mvc.perform(autenticada(get("/chamados/" + id)).param("fields", "id,titulo"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.titulo").value("Licença expirada"));
+		mvc.perform(autenticada(get("/chamados/" + id)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH).content("{\"prioridade\":1}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(autenticada(get("/chamados/" + Integer.MAX_VALUE))).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void buscaEnxergaEscritasConfirmadas() throws Exception {
+		int id = cria("Projetor xilografado");
+		aguardaBusca("xilografado", hasItem(id));
+
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH)
+				.content("{\"titulo\":\"Projetor calibrado\"}")).andExpect(status().isOk());
+		aguardaBusca("calibrado", hasItem(id));
+		aguardaBusca("xilografado", not(hasItem(id)));
+
+		// técnico inexistente: o patch é desfeito e o título não chega ao índice
+		mvc.perform(autenticada(patch("/chamados/" + id)).contentType(MERGE_PATCH)
+				.content("{\"titulo\":\"Projetor quixotesco\",\"tecnico\":" + Integer.MAX_VALUE + "}"))
+				.andExpect(status().isBadRequest());
+
+		mvc.perform(autenticada(delete("/chamados/" + id))).andExpect(status().isNoContent());
+		aguardaBusca("calibrado", not(hasItem(id)));
+		mvc.perform(autenticada(get("/chamados/search").param("q", "quixotesco")))
+				.andExpect(jsonPath("$.content[*].id", not(hasItem(id))));
+	}
+}
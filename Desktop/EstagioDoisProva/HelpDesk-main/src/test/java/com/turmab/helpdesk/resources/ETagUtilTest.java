@@ -0,0 +1,61 @@
+package com.turmab.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.turmab.helpdesk.service.exceptions.PreconditionFailedException;
+
+/**
+ * Interpretação do cabeçalho {@code If-Match} por {@link ETagUtil#versoes(String)}.
+ *
+ * @author Gustavo Barros
+ */
+class ETagUtilTest {
+
+	@Test
+	void semPreCondicao() {
+		assertNull(ETagUtil.versoes(null));
+		assertNull(ETagUtil.versoes(" * "));
+	}
+
+	@Test
+	void etagForte() {
+		assertEquals(Set.of(3), ETagUtil.versoes("\"3\""));
+	}
+
+	@Test
+	void listaComEtagsFortesEFracas() {
+		assertEquals(Set.of(3, 7), ETagUtil.versoes("\"3\", W/\"4\" ,\"7\""));
+	}
+
+	@Test
+	void etagFracaNuncaCorresponde() {
+		// If-Match usa a comparação forte (RFC 7232, seção 3.1)
+		assertEquals(Collections.emptySet(), ETagUtil.versoes("W/\"4\""));
+		assertThrows(PreconditionFailedException.class,
+				() -> PreconditionFailedException.verificaVersao(4, ETagUtil.versoes("W/\"4\"")));
+	}
+
+	@Test
+	void entradasQueNaoSaoVersoesNaoCorrespondem() {
+		assertEquals(Set.of(5), ETagUtil.versoes("\"abc\", \"5\", \"\""));
+		assertEquals(Collections.emptySet(), ETagUtil.versoes("\"abc\""));
+		assertEquals(Collections.emptySet(), ETagUtil.versoes("3"));
+	}
+
+	@Test
+	void versaoAtualEmQualquerEntradaDaLista() {
+		PreconditionFailedException.verificaVersao(4, ETagUtil.versoes("\"3\", \"4\""));
+		PreconditionFailedException.verificaVersao(4, ETagUtil.versoes(null));
+		assertThrows(PreconditionFailedException.class,
+				() -> PreconditionFailedException.verificaVersao(5, ETagUtil.versoes("\"3\", \"4\"")));
+		assertThrows(PreconditionFailedException.class,
+				() -> PreconditionFailedException.verificaVersao(5, ETagUtil.versoes("\"abc\"")));
+	}
+}
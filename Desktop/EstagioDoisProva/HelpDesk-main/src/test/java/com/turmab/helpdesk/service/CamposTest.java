@@ -0,0 +1,114 @@
+package com.turmab.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Leitura do parâmetro {@code ?fields=} e cópia das linhas para o DTO por {@link Campos}.
+ *
+ * @author Gustavo Barros
+ */
+class CamposTest {
+
+	/** DTO que guarda como texto um valor lido como número. */
+	public static class Registro {
+
+		private Integer id;
+		private String codigo;
+		private List<String> itens;
+		private LocalDate data;
+
+		public Integer getId() { return id; }
+		public void setId(Integer id) { this.id = id; }
+
+		public String getCodigo() { return codigo; }
+		public void setCodigo(String codigo) { this.codigo = codigo; }
+
+		public List<String> getItens() { return itens; }
+		public void setItens(List<String> itens) { this.itens = itens; }
+
+		public LocalDate getData() { return data; }
+		public void setData(LocalDate data) { this.data = data; }
+	}
+
+	private final Campos campos = new Campos()
+			.campo("id", "obj.id")
+			.campo("codigo", "obj.codigo")
+			.campo("itens", null)
+			.campo("data", "obj.data");
+
+	@Test
+	void ausenteOuVazioSignificaTodos() {
+		assertNull(ChamadoService.CAMPOS.le(null));
+		assertNull(ChamadoService.CAMPOS.le(""));
+		assertNull(ChamadoService.CAMPOS.le("  "));
+		assertNull(ChamadoService.CAMPOS.le(" , ,"));
+	}
+
+	@Test
+	void mantemAOrdemSemRepetir() {
+		assertEquals(List.of("titulo", "id", "status"),
+				List.copyOf(ChamadoService.CAMPOS.le(" titulo,id, status,titulo,,")));
+	}
+
+	@Test
+	void campoForaDaListaFalha() {
+		DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+				() -> ChamadoService.CAMPOS.le("id,senha"));
+		assertTrue(e.getMessage().startsWith("Campo inválido: senha"));
+
+		// nomes de coluna ou expressões JPQL não são aceitos
+		assertThrows(DataIntegrityViolationException.class, () -> ChamadoService.CAMPOS.le("obj.titulo"));
+		assertThrows(DataIntegrityViolationException.class, () -> ChamadoService.CAMPOS.le("Titulo"));
+	}
+
+	@Test
+	void preencheNaOrdemDaConsulta() {
+		Set<String> pedidos = ChamadoService.CAMPOS.le("status,id,titulo");
+		// id, versão e, em seguida, os campos pedidos com expressão (exceto o id)
+		Object[] linha = { 7, 3, 2, "Impressora" };
+		ChamadoDTO dto = ChamadoService.CAMPOS.preenche(new ChamadoDTO(), pedidos, linha);
+
+		assertEquals(7, dto.getId());
+		assertEquals(2, dto.getStatus());
+		assertEquals("Impressora", dto.getTitulo());
+		assertNull(dto.getObservacoes());
+		assertNull(dto.getPrioridade());
+	}
+
+	@Test
+	void preencheConverteParaTexto() {
+		Set<String> pedidos = campos.le("codigo,data");
+		LocalDate hoje = LocalDate.of(2024, 5, 17);
+		Registro registro = campos.preenche(new Registro(), pedidos, new Object[] { 1, 0, 42L, hoje });
+
+		assertNull(registro.getId());
+		assertEquals("42", registro.getCodigo());
+		assertSame(hoje, registro.getData());
+	}
+
+	@Test
+	void preencheIgnoraCamposSemExpressao() {
+		// "itens" não ocupa coluna: "data" é lida logo após "codigo"
+		Set<String> pedidos = campos.le("id,itens,codigo,data");
+		LocalDate hoje = LocalDate.of(2024, 5, 17);
+		Registro registro = campos.preenche(new Registro(), pedidos, new Object[] { 9, 0, null, hoje });
+
+		assertEquals(9, registro.getId());
+		assertNull(registro.getItens());
+		assertNull(registro.getCodigo());
+		assertSame(hoje, registro.getData());
+	}
+}
@@ -0,0 +1,74 @@
+package com.turmab.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Correção dos contadores de {@link Contagem} pela conferência com o banco: a diferença é
+ * medida contra a cópia tirada no início, e o que foi somado depois dela é preservado.
+ *
+ * @author Gustavo Barros
+ */
+class ContagemTest {
+
+	/** Transações que não acessam banco algum, para executar a conferência isolada. */
+	private static final TransactionTemplate TRANSACAO = new TransactionTemplate(new PlatformTransactionManager() {
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	});
+
+	private final Contagem<String> contagem = new Contagem<>();
+
+	private Map<String, Long> valores() {
+		Map<String, Long> valores = new TreeMap<>();
+		contagem.forEach(valores::put);
+		return valores;
+	}
+
+	@Test
+	void divergenciaCorrigida() {
+		contagem.soma("aberto", 5);
+		contagem.soma("encerrado", 2);
+		contagem.soma("perdido", 1);
+
+		long diferenca = Contagem.confere(TRANSACAO, contagem::fotografa,
+				() -> contagem.ajusta(Map.of("aberto", 4L, "encerrado", 2L, "novo", 3L)));
+
+		assertEquals(1 + 1 + 3, diferenca);
+		assertEquals(Map.of("aberto", 4L, "encerrado", 2L, "novo", 3L), valores());
+		assertEquals(9, contagem.total());
+	}
+
+	@Test
+	void escritaDepoisDaCopiaPreservada() {
+		contagem.soma("aberto", 5);
+
+		long diferenca = Contagem.confere(TRANSACAO, contagem::fotografa, () -> {
+			// commit confirmado enquanto as consultas agrupadas rodam: fora da leitura do banco
+			Contagem.aposCommit(() -> contagem.soma("aberto", 2));
+			return contagem.ajusta(Map.of("aberto", 5L));
+		});
+
+		assertEquals(0, diferenca);
+		assertEquals(Map.of("aberto", 7L), valores());
+	}
+}
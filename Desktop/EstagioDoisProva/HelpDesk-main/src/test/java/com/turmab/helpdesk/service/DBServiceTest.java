@@ -0,0 +1,168 @@
+package com.turmab.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * A base gerada por {@link DBService} depende só da semente e das quantidades: a
+ * quantidade de threads e o tamanho dos lotes não mudam nenhum valor gravado.
+ *
+ * <p>As inserções são capturadas em vez de enviadas a um banco e comparadas como
+ * conjuntos de linhas por instrução, já que a ordem entre os lotes varia.</p>
+ *
+ * @author Gustavo Barros
+ */
+class DBServiceTest {
+
+	/** JDBC que guarda as linhas de cada inserção em lote, com o banco vazio. */
+	private static class Insercoes extends JdbcTemplate {
+
+		private final Map<String, ConcurrentLinkedQueue<String>> linhas = new ConcurrentHashMap<>();
+		private final List<String> instrucoes = new ArrayList<>();
+		private final ConcurrentLinkedQueue<String> threads = new ConcurrentLinkedQueue<>();
+		/** Tamanho de cada lote de chamados. */
+		private final ConcurrentLinkedQueue<Integer> lotes = new ConcurrentLinkedQueue<>();
+
+		@Override
+		public <T> T queryForObject(String sql, Class<T> requiredType) {
+			return requiredType.cast(0L);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T execute(ConnectionCallback<T> action) {
+			return (T) "H2";
+		}
+
+		@Override
+		public synchronized void execute(String sql) {
+			instrucoes.add(sql);
+		}
+
+		@Override
+		public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+			ConcurrentLinkedQueue<String> destino = linhas.computeIfAbsent(sql, x -> new ConcurrentLinkedQueue<>());
+			for (Object[] linha : batchArgs) {
+				destino.add(Arrays.deepToString(linha));
+			}
+			threads.add(Thread.currentThread().getName());
+			if (sql.startsWith("insert into chamado")) {
+				lotes.add(batchArgs.size());
+			}
+			return new int[batchArgs.size()];
+		}
+
+		/** Linhas de cada instrução, ordenadas. */
+		Map<String, List<String>> base() {
+			Map<String, List<String>> base = new TreeMap<>();
+			linhas.forEach((sql, valores) -> {
+				List<String> ordenadas = new ArrayList<>(valores);
+				ordenadas.sort(null);
+				base.put(sql, ordenadas);
+			});
+			return base;
+		}
+	}
+
+	/** Transações sem banco. */
+	private static class SemTransacao implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+	/** Codificador com hash fixo: o BCrypt usa um sal aleatório a cada chamada. */
+	private static class HashFixo extends BCryptPasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return "hash-" + rawPassword;
+		}
+	}
+
+	private static Insercoes gera(long semente, int threads, int lote) {
+		Insercoes jdbc = new Insercoes();
+		DBService service = new DBService(new SemTransacao());
+		ReflectionTestUtils.setField(service, "jdbc", jdbc);
+		ReflectionTestUtils.setField(service, "encoder", new HashFixo());
+		ReflectionTestUtils.setField(service, "tecnicos", 7);
+		ReflectionTestUtils.setField(service, "clientes", 60);
+		ReflectionTestUtils.setField(service, "chamados", 500);
+		ReflectionTestUtils.setField(service, "semente", semente);
+		ReflectionTestUtils.setField(service, "threads", threads);
+		ReflectionTestUtils.setField(service, "lote", lote);
+		ReflectionTestUtils.setField(service, "dias", 365);
+		ReflectionTestUtils.setField(service, "referencia", "2026-01-01");
+		service.instanciaDB();
+		return jdbc;
+	}
+
+	@Test
+	void mesmaBaseQualquerQueSejaOParalelismo() {
+		Insercoes sequencial = gera(42, 1, 5000);
+		Map<String, List<String>> esperada = sequencial.base();
+		assertEquals(3, esperada.size());
+		assertEquals(List.of(500), new ArrayList<>(sequencial.lotes));
+
+		int[][] variacoes = { { 4, 7 }, { 3, 1 }, { 8, 64 }, { 1, 13 } };
+		for (int[] variacao : variacoes) {
+			Insercoes paralela = gera(42, variacao[0], variacao[1]);
+			assertEquals(esperada, paralela.base(), "threads=" + variacao[0] + ", lote=" + variacao[1]);
+			assertEquals(sequencial.instrucoes, paralela.instrucoes);
+			assertTrue(paralela.lotes.stream().allMatch(x -> x <= variacao[1]));
+			assertEquals((500 + variacao[1] - 1) / variacao[1], paralela.lotes.size());
+		}
+	}
+
+	@Test
+	void lotesParalelosUsamVariasThreads() {
+		Insercoes paralela = gera(42, 4, 7);
+		assertTrue(paralela.threads.stream().distinct().count() > 1);
+	}
+
+	@Test
+	void registrosDeExemploEIdentidades() {
+		Insercoes jdbc = gera(42, 4, 7);
+		List<String> pessoas = jdbc.base().entrySet().stream().filter(x -> x.getKey().startsWith("insert into pessoa"))
+				.findFirst().orElseThrow().getValue();
+		assertEquals(67, pessoas.size());
+		assertTrue(pessoas.stream().anyMatch(x -> x.startsWith("[Tecnico, 1, 0, Bill Gates, 76045777093, bill@mail.com")));
+		assertTrue(pessoas.stream().anyMatch(x -> x.startsWith("[Cliente, 8, 0, Linus Torvalds, 70511744013, linus@mail.com")));
+		assertEquals(List.of("alter table pessoa alter column id restart with 68",
+				"alter table chamado alter column id restart with 501"), jdbc.instrucoes);
+	}
+
+	@Test
+	void sementeDiferenteGeraOutraBase() {
+		assertNotEquals(gera(42, 1, 5000).base(), gera(43, 1, 5000).base());
+	}
+}
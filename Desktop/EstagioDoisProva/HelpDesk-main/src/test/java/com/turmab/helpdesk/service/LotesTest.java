@@ -0,0 +1,63 @@
+package com.turmab.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.turmab.helpdesk.domain.dtos.LoteDTO;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+
+/**
+ * Validação dos IDs de {@code ?ids=} e montagem do resultado por {@link Lotes}.
+ *
+ * @author Gustavo Barros
+ */
+class LotesTest {
+
+	@Test
+	void removeNulosERepetidosMantendoAOrdem() {
+		assertEquals(List.of(3, 1, 2), Lotes.ids(Arrays.asList(3, 1, null, 3, 2, 1), 10));
+	}
+
+	@Test
+	void semIdsFalha() {
+		assertThrows(DataIntegrityViolationException.class, () -> Lotes.ids(List.of(), 10));
+		assertThrows(DataIntegrityViolationException.class, () -> Lotes.ids(Arrays.asList(null, null), 10));
+	}
+
+	@Test
+	void maximoContaIdsDistintos() {
+		List<Integer> cem = IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+		assertEquals(cem, Lotes.ids(cem, 100));
+
+		// repetidos não contam para o máximo
+		List<Integer> repetidos = IntStream.range(0, 300).map(i -> i % 100 + 1).boxed().collect(Collectors.toList());
+		assertEquals(cem, Lotes.ids(repetidos, 100));
+
+		List<Integer> centoEUm = IntStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+		DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+				() -> Lotes.ids(centoEUm, 100));
+		assertEquals("No máximo 100 IDs por requisição", e.getMessage());
+	}
+
+	@Test
+	void montaNaOrdemPedidaSeparandoNaoEncontrados() {
+		LoteDTO<String> lote = Lotes.monta(List.of(5, 2, 9, 1), Map.of(1, "um", 2, "dois", 5, "cinco"));
+		assertEquals(List.of("cinco", "dois", "um"), lote.getItens());
+		assertEquals(List.of(9), lote.getNaoEncontrados());
+	}
+
+	@Test
+	void montaSemEncontrados() {
+		LoteDTO<String> lote = Lotes.monta(List.of(4, 3), Map.of());
+		assertEquals(List.of(), lote.getItens());
+		assertEquals(List.of(4, 3), lote.getNaoEncontrados());
+	}
+}
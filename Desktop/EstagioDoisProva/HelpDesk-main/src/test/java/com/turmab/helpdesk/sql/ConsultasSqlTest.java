@@ -0,0 +1,107 @@
+package com.turmab.helpdesk.sql;
+
+import static com.turmab.helpdesk.sql.ContadorSqlExtension.assertInstrucoes;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import javax.servlet.Filter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.turmab.helpdesk.config.ContadorSql;
+import com.turmab.helpdesk.config.ContadorSqlFilter;
+
+/**
+ * Quantidade de instruções SQL de cada endpoint de leitura, para detectar N+1 introduzidos
+ * por refatorações. Cada requisição autenticada inclui as 2 consultas do usuário do token
+ * (pessoa e perfis). Roda no perfil {@code test} (H2 em memória), sem depender do perfil
+ * ativo no {@code application.properties}.
+ *
+ * @author Gustavo Barros
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(ContadorSqlExtension.class)
+class ConsultasSqlTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ContadorSqlFilter contadorSqlFilter;
+
+	@Autowired
+	@Qualifier("springSecurityFilterChain")
+	private Filter springSecurityFilterChain;
+
+	private MockMvc mvc;
+
+	private String token;
+
+	@BeforeEach
+	void login() throws Exception {
+		mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(contadorSqlFilter, springSecurityFilterChain).build();
+		token = mvc.perform(post("/login").content("{\"email\":\"bill@mail.com\",\"senha\":\"123\"}"))
+				.andReturn().getResponse().getHeader("Authorization");
+	}
+
+	private ResultActions executa(MockHttpServletRequestBuilder requisicao, ContadorSql.Contagem sql) throws Exception {
+		sql.zera();
+		ResultActions resultado = mvc.perform(requisicao.header("Authorization", token)).andExpect(status().isOk());
+		return resultado.andExpect(header().string(ContadorSqlFilter.CABECALHO, String.valueOf(sql.getTotal())));
+	}
+
+	@Test
+	void listaChamados(ContadorSql.Contagem sql) throws Exception {
+		executa(get("/chamados"), sql);
+		assertInstrucoes(5, sql);
+	}
+
+	@Test
+	void buscaChamado(ContadorSql.Contagem sql) throws Exception {
+		executa(get("/chamados/1"), sql);
+		assertInstrucoes(5, sql);
+	}
+
+	@Test
+	void buscaChamadosPorId(ContadorSql.Contagem sql) throws Exception {
+		executa(get("/chamados").param("ids", "1,2,3"), sql);
+		assertInstrucoes(6, sql);
+	}
+
+	@Test
+	void listaTecnicos(ContadorSql.Contagem sql) throws Exception {
+		executa(get("/tecnicos"), sql);
+		assertInstrucoes(4, sql);
+	}
+
+	@Test
+	void listaClientesComCampos(ContadorSql.Contagem sql) throws Exception {
+		executa(get("/clientes").param("fields", "id,nome,perfis"), sql);
+		assertInstrucoes(4, sql);
+	}
+
+	@Test
+	void consultaGraphQL(ContadorSql.Contagem sql) throws Exception {
+		executa(post("/graphql").contentType(MediaType.APPLICATION_JSON).content("{\"query\":\"{ chamados(limite: 20) "
+				+ "{ id titulo tecnico { nome perfis } cliente { nome chamados(abertos: true) { id } } } }\"}"), sql)
+				.andExpect(jsonPath("$.errors").doesNotExist());
+		// os chamados dos clientes custam duas: os IDs limitados por cliente e os campos
+		assertInstrucoes(8, sql);
+	}
+}
@@ -0,0 +1,67 @@
+package com.turmab.helpdesk.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import com.turmab.helpdesk.config.ContadorSql;
+
+/**
+ * Extensão JUnit que conta as instruções SQL executadas durante cada teste.
+ *
+ * <p>A contagem começa antes de cada teste e é recebida como parâmetro do método de teste
+ * ({@link ContadorSql.Contagem}). As requisições feitas com {@code MockMvc} rodam na
+ * thread do teste, então suas instruções entram na contagem:</p>
+ *
+ * <pre>
+ * &#64;ExtendWith(ContadorSqlExtension.class)
+ * class ExemploTest {
+ *     &#64;Test
+ *     void listaChamados(ContadorSql.Contagem sql) throws Exception {
+ *         mvc.perform(get("/chamados").header("Authorization", token));
+ *         ContadorSqlExtension.assertInstrucoes(3, sql);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Gustavo Barros
+ */
+public class ContadorSqlExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ContadorSqlExtension.class);
+
+	/**
+	 * Verifica a quantidade exata de instruções contadas; se for diferente, a mensagem
+	 * lista as execuções de cada forma de instrução.
+	 *
+	 * @param esperado quantidade esperada
+	 * @param contagem contagem do teste
+	 */
+	public static void assertInstrucoes(int esperado, ContadorSql.Contagem contagem) {
+		assertEquals(esperado, contagem.getTotal(), () -> "Instruções SQL executadas: " + contagem.getPorForma());
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		context.getStore(NAMESPACE).put(ContadorSql.Contagem.class, ContadorSql.inicia());
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		ContadorSql.termina();
+	}
+
+	@Override
+	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return parameterContext.getParameter().getType() == ContadorSql.Contagem.class;
+	}
+
+	@Override
+	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return extensionContext.getStore(NAMESPACE).get(ContadorSql.Contagem.class);
+	}
+}